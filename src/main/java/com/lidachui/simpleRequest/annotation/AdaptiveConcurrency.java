@@ -0,0 +1,46 @@
+package com.lidachui.simpleRequest.annotation;
+
+import com.lidachui.simpleRequest.constants.LimitAlgorithm;
+
+import java.lang.annotation.*;
+
+/**
+ * AdaptiveConcurrency 自适应并发限制，根据观测到的 RTT 动态调整客户端允许的在途请求数，超出时快速拒绝
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 15:00
+ * @version: 1.0
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface AdaptiveConcurrency {
+
+    /**
+     * 调整算法
+     *
+     * @return {@code LimitAlgorithm }
+     */
+    LimitAlgorithm algorithm() default LimitAlgorithm.GRADIENT;
+
+    /**
+     * 初始并发限制
+     *
+     * @return int
+     */
+    int initialLimit() default 20;
+
+    /**
+     * 最小并发限制
+     *
+     * @return int
+     */
+    int minLimit() default 1;
+
+    /**
+     * 最大并发限制
+     *
+     * @return int
+     */
+    int maxLimit() default 200;
+}
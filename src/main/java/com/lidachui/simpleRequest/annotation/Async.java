@@ -12,4 +12,18 @@ import java.lang.annotation.*;
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
 public @interface Async {
+
+    /**
+     * 发送请求使用的 {@link java.util.concurrent.Executor} Bean 名称，为空时使用 {@link RestClient#executor()}
+     *
+     * @return {@code String }
+     */
+    String executor() default "";
+
+    /**
+     * 执行回调（或完成返回的 Future）使用的 Executor Bean 名称，为空时使用 {@link RestClient#callbackExecutor()}
+     *
+     * @return {@code String }
+     */
+    String callbackExecutor() default "";
 }
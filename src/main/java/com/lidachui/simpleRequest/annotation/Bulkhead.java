@@ -0,0 +1,53 @@
+package com.lidachui.simpleRequest.annotation;
+
+import com.lidachui.simpleRequest.constants.BulkheadType;
+
+import java.lang.annotation.*;
+
+/**
+ * Bulkhead 舱壁隔离，可标注在客户端接口（所有方法共用）或方法上（方法级优先），饱和时快速拒绝
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 14:00
+ * @version: 1.0
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Bulkhead {
+
+    /**
+     * 舱壁名称，同名共用一个舱壁；默认客户端级为接口全名，方法级为 接口全名#方法名
+     *
+     * @return {@code String }
+     */
+    String name() default "";
+
+    /**
+     * 隔离方式
+     *
+     * @return {@code BulkheadType }
+     */
+    BulkheadType type() default BulkheadType.SEMAPHORE;
+
+    /**
+     * 最大并发调用数，线程池模式下即线程数
+     *
+     * @return int
+     */
+    int maxConcurrentCalls() default 25;
+
+    /**
+     * 信号量模式下同步调用等待许可的最长时间（毫秒），0 表示不等待；异步调用始终不等待
+     *
+     * @return long
+     */
+    long maxWaitDuration() default 0;
+
+    /**
+     * 线程池模式下的队列容量，0 表示不排队
+     *
+     * @return int
+     */
+    int queueCapacity() default 100;
+}
@@ -21,4 +21,25 @@ public @interface Cacheable {
     TimeUnit timeUnit() default TimeUnit.SECONDS; // 时间单位，默认秒
 
     Class<? extends CacheStrategy> strategy() default LocalCacheStrategy.class; // 缓存策略类
+
+    /**
+     * 写入后超过该时间（单位同 {@link #timeUnit()}）的命中仍返回缓存值，同时在后台刷新，为 0 时不提前刷新。应小于 {@link #expire()}
+     *
+     * @return long
+     */
+    long refreshAfter() default 0;
+
+    /**
+     * 过期后仍可直接返回旧值的时长（单位同 {@link #timeUnit()}），期间的命中会触发后台刷新，为 0 时过期即失效
+     *
+     * @return long
+     */
+    long staleWhileRevalidate() default 0;
+
+    /**
+     * 过期后同步刷新失败时仍可返回旧值的时长（单位同 {@link #timeUnit()}），为 0 时刷新失败直接抛出异常
+     *
+     * @return long
+     */
+    long staleIfError() default 0;
 }
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.lidachui.simpleRequest.annotation;
+
+import com.lidachui.simpleRequest.constants.SlidingWindowType;
+
+import java.lang.annotation.*;
+
+/**
+ * CircuitBreaker 熔断器，可标注在客户端接口（所有方法共用一个熔断器）或方法上（方法级优先）
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 13:10
+ * @version: 1.0
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CircuitBreaker {
+
+    /**
+     * 熔断器名称，同名共用一个熔断器；默认客户端级为接口全名，方法级为 接口全名#方法名
+     *
+     * @return {@code String }
+     */
+    String name() default "";
+
+    /**
+     * 失败率阈值（百分比），达到后打开熔断器
+     *
+     * @return float
+     */
+    float failureRateThreshold() default 50;
+
+    /**
+     * 慢调用率阈值（百分比），达到后打开熔断器
+     *
+     * @return float
+     */
+    float slowCallRateThreshold() default 100;
+
+    /**
+     * 慢调用耗时阈值（毫秒）
+     *
+     * @return long
+     */
+    long slowCallDurationThreshold() default 60000;
+
+    /**
+     * 滑动窗口类型
+     *
+     * @return {@code SlidingWindowType }
+     */
+    SlidingWindowType slidingWindowType() default SlidingWindowType.COUNT_BASED;
+
+    /**
+     * 滑动窗口大小：按次数时为调用次数，按时间时为秒数
+     *
+     * @return int
+     */
+    int slidingWindowSize() default 100;
+
+    /**
+     * 计算失败率所需的最少调用次数
+     *
+     * @return int
+     */
+    int minimumNumberOfCalls() default 10;
+
+    /**
+     * 打开状态持续时间（毫秒），之后进入半开状态
+     *
+     * @return long
+     */
+    long waitDurationInOpenState() default 60000;
+
+    /**
+     * 半开状态允许的探测请求数
+     *
+     * @return int
+     */
+    int permittedCallsInHalfOpenState() default 10;
+
+    /**
+     * 记为失败的异常类型，其他异常既不算失败也不算成功，不计入窗口
+     *
+     * @return 类<？ 扩展throwable>[]
+     */
+    Class<? extends Throwable>[] recordFor() default Exception.class;
+}
@@ -0,0 +1,18 @@
+package com.lidachui.simpleRequest.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Coalesce 合并同时进行的相同请求：方法和参数都相同的并发调用共享同一个在途请求，结果分发给所有等待者。
+ *
+ * <p>只适用于幂等请求；参数按与缓存键相同的规范编码比较，{@link Callback} 参数不参与比较。带 {@link ResponseHeader}
+ * 参数的方法不会合并，每个调用方都单独发出请求，拿到自己的响应头
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 16:00
+ * @version: 1.0
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Coalesce {}
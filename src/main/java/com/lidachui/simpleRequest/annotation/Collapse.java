@@ -0,0 +1,61 @@
+package com.lidachui.simpleRequest.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Collapse 请求折叠：把短时间内对单条数据的调用攒成一批，通过同一客户端上的批量方法一次取回，再按 key 分发给各调用方。
+ *
+ * <p>被标注的方法除 {@link Callback}、{@link ResponseHeader} 外只能有一个参数，即数据的 key；批量方法只能有一个集合或数组参数，
+ * 返回 Map（key 到数据）或集合（需指定 {@link #keyProperty()}）
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 16:30
+ * @version: 1.0
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Collapse {
+
+    /**
+     * 同一客户端接口上的批量方法名
+     *
+     * @return {@code String }
+     */
+    String batchMethod();
+
+    /**
+     * 单批最多的 key 数，达到后立即发出
+     *
+     * @return int
+     */
+    int maxBatchSize() default 50;
+
+    /**
+     * 攒批窗口（毫秒），从一批中的第一个调用开始计时
+     *
+     * @return long
+     */
+    long window() default 10;
+
+    /**
+     * 单个调用方等待结果的最长时间（毫秒）
+     *
+     * @return long
+     */
+    long timeout() default 5000;
+
+    /**
+     * 批量方法返回集合时，元素上存放 key 的属性名
+     *
+     * @return {@code String }
+     */
+    String keyProperty() default "";
+
+    /**
+     * 批量结果中没有对应 key 时是否抛出 {@link java.util.NoSuchElementException}，否则返回 null
+     *
+     * @return boolean
+     */
+    boolean failOnMissing() default false;
+}
@@ -0,0 +1,46 @@
+package com.lidachui.simpleRequest.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Hedge 对冲请求：首个请求在指定延迟内未返回时再发送一个相同请求，取先返回者，另一个被取消。
+ *
+ * <p>只适用于幂等请求
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 11:40
+ * @version: 1.0
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Hedge {
+
+    /**
+     * 固定对冲延迟（毫秒），0 表示使用该方法观测到的延迟分位数
+     *
+     * @return long
+     */
+    long delay() default 0;
+
+    /**
+     * 延迟分位数，{@link #delay()} 为 0 时生效
+     *
+     * @return double
+     */
+    double percentile() default 95;
+
+    /**
+     * 样本不足时使用的对冲延迟（毫秒）
+     *
+     * @return long
+     */
+    long initialDelay() default 100;
+
+    /**
+     * 对冲预算：允许对冲的请求占比（百分比），最大 100，即最多使负载翻倍
+     *
+     * @return double
+     */
+    double budgetPercent() default 10;
+}
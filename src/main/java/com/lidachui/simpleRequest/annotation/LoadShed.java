@@ -0,0 +1,32 @@
+package com.lidachui.simpleRequest.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * LoadShed 基于排队时延的过载丢弃（CoDel）：请求在发出前的排队时间持续超过目标值一个间隔以上时，新请求直接被拒绝
+ *
+ * <p>排队时间指请求被接收到真正交给传输层之间的等待，包括优先级调度排队和异步线程池排队
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 17:30
+ * @version: 1.0
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface LoadShed {
+
+    /**
+     * 目标排队时延（毫秒）
+     *
+     * @return long
+     */
+    long targetDelay() default 5;
+
+    /**
+     * 观察间隔（毫秒），排队时延在整个间隔内都高于目标值才开始丢弃
+     *
+     * @return long
+     */
+    long interval() default 100;
+}
@@ -0,0 +1,25 @@
+package com.lidachui.simpleRequest.annotation;
+
+import com.lidachui.simpleRequest.constants.RequestPriority;
+
+import java.lang.annotation.*;
+
+/**
+ * Priority 请求优先级，可标注在客户端接口或方法上（方法级优先），仅在客户端标注了 {@link PriorityDispatch} 时生效
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 17:00
+ * @version: 1.0
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Priority {
+
+    /**
+     * 优先级
+     *
+     * @return {@code RequestPriority }
+     */
+    RequestPriority value() default RequestPriority.NORMAL;
+}
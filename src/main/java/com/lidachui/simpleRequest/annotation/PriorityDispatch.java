@@ -0,0 +1,39 @@
+package com.lidachui.simpleRequest.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * PriorityDispatch 为客户端启用优先级调度：超出并发上限的请求按 {@link Priority} 分通道排队，
+ * 高优先级通道严格优先，同一通道内按 {@link TenantKey} 加权公平放行
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 17:00
+ * @version: 1.0
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface PriorityDispatch {
+
+    /**
+     * 最大并发请求数；0 表示跟随 {@link AdaptiveConcurrency} 的当前限制
+     *
+     * @return int
+     */
+    int maxConcurrentCalls() default 0;
+
+    /**
+     * 所有通道合计的最大排队数，超出时抛出 {@link
+     * com.lidachui.simpleRequest.resilience.DispatchQueueFullException}
+     *
+     * @return int
+     */
+    int maxQueueSize() default 1000;
+
+    /**
+     * 最长排队时间（毫秒），超时抛出 {@link java.util.concurrent.TimeoutException}
+     *
+     * @return long
+     */
+    long maxQueueWait() default 10000;
+}
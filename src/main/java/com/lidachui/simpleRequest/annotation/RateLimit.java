@@ -0,0 +1,46 @@
+package com.lidachui.simpleRequest.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * RateLimit 客户端令牌桶限流，可标注在客户端接口（所有方法共用）或方法上（方法级优先）
+ *
+ * <p>每次实际发出的请求（包括重试和对冲请求）都消耗一个许可。
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 14:30
+ * @version: 1.0
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RateLimit {
+
+    /**
+     * 限流器名称，同名共用一个限流器；默认客户端级为接口全名，方法级为 接口全名#方法名
+     *
+     * @return {@code String }
+     */
+    String name() default "";
+
+    /**
+     * 每秒许可数
+     *
+     * @return double
+     */
+    double permitsPerSecond();
+
+    /**
+     * 桶容量，即允许的突发请求数；0 表示取每秒许可数
+     *
+     * @return int
+     */
+    int burst() default 0;
+
+    /**
+     * 等待许可的最长时间（毫秒），0 表示拿不到许可立即失败
+     *
+     * @return long
+     */
+    long timeout() default 0;
+}
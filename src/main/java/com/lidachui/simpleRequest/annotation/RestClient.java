@@ -60,4 +60,20 @@ public @interface RestClient {
      * @return 类<？ 扩展序列化程序>
      */
     Class<? extends Serializer> serializer() default JacksonSerializer.class;
+
+    /**
+     * 异步请求使用的 {@link java.util.concurrent.Executor} Bean 名称，为空时使用默认执行器（JDK 21 及以上为虚拟线程，
+     * 否则为 ForkJoinPool 公共池）
+     *
+     * @return {@code String }
+     */
+    String executor() default "";
+
+    /**
+     * 执行 {@link com.lidachui.simpleRequest.async.ResponseCallback} 和完成返回 Future 的 Executor Bean 名称。
+     * 为空时回调在完成请求的线程上执行；慢回调会占用发送线程，此时应配置独立的执行器
+     *
+     * @return {@code String }
+     */
+    String callbackExecutor() default "";
 }
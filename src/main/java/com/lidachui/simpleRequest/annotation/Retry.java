@@ -39,9 +39,16 @@ public @interface Retry {
     Class<? extends Throwable>[] retryFor() default Exception.class;
 
     /**
-     * 固定间隔或指数退避
+     * 退避策略：固定间隔、指数退避或带抖动的指数退避
      *
      * @return BackoffStrategy
      */
     BackoffStrategy backoff() default BackoffStrategy.FIXED;
+
+    /**
+     * 重试延迟上限，默认不限制
+     *
+     * @return long
+     */
+    long maxDelay() default Long.MAX_VALUE;
 }
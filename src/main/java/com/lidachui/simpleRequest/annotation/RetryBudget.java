@@ -0,0 +1,37 @@
+package com.lidachui.simpleRequest.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * RetryBudget 客户端级重试预算，限制重试量占近期请求量的比例
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 11:05
+ * @version: 1.0
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryBudget {
+
+    /**
+     * 重试量占请求量的百分比
+     *
+     * @return double
+     */
+    double percent() default 20;
+
+    /**
+     * 每秒保底可重试次数，保证低流量时仍能重试
+     *
+     * @return int
+     */
+    int minRetriesPerSecond() default 10;
+
+    /**
+     * 最多可累积的重试令牌数
+     *
+     * @return int
+     */
+    int maxTokens() default 100;
+}
@@ -0,0 +1,19 @@
+package com.lidachui.simpleRequest.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * TenantKey 标注租户参数，同一优先级内按租户加权公平排队；参数本身不会作为请求参数发送
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 17:00
+ * @version: 1.0
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface TenantKey {}
@@ -0,0 +1,193 @@
+package com.lidachui.simpleRequest.async;
+
+import com.lidachui.simpleRequest.annotation.Async;
+import com.lidachui.simpleRequest.annotation.RestClient;
+import com.lidachui.simpleRequest.util.SpringUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * AsyncExecutors 异步请求执行器
+ *
+ * <p>异步请求、请求折叠等需要线程执行阻塞调用的地方统一从这里取执行器：
+ *
+ * <ul>
+ *   <li>{@link Async#executor()} 指定了 Bean 名称时使用该方法独立的执行器；
+ *   <li>{@link RestClient#executor()} 指定了 Bean 名称时使用该客户端独立的执行器；
+ *   <li>否则在 JDK 21 及以上使用虚拟线程执行器（可通过系统属性 {@value #VIRTUAL_THREADS_PROPERTY}=false
+ *       关闭）；
+ *   <li>其余情况回退到 {@link ForkJoinPool#commonPool()}。
+ * </ul>
+ *
+ * <p>回调执行器与发送执行器分开配置，见 {@link #forCallback(Method)}。
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 17:20
+ * @version: 1.0
+ */
+@Slf4j
+public final class AsyncExecutors {
+
+    /** 是否在支持的运行时上启用虚拟线程，默认启用 */
+    public static final String VIRTUAL_THREADS_PROPERTY = "simple-request.virtual-threads";
+
+    private static volatile Executor defaultExecutor;
+
+    /** 按 Bean 名称缓存的执行器 */
+    private static final Map<String, Executor> NAMED_EXECUTORS = new ConcurrentHashMap<>();
+
+    /** 方法级发送执行器，未单独配置时为 empty，使用客户端级执行器 */
+    private static final Map<Method, Optional<Executor>> METHOD_EXECUTORS =
+            new ConcurrentHashMap<>();
+
+    /** 方法级回调执行器，未配置时为 empty，回调在完成线程上执行 */
+    private static final Map<Method, Optional<Executor>> CALLBACK_EXECUTORS =
+            new ConcurrentHashMap<>();
+
+    private AsyncExecutors() {}
+
+    /**
+     * 获取默认执行器
+     *
+     * @return {@code Executor }
+     */
+    public static Executor getDefault() {
+        Executor executor = defaultExecutor;
+        if (executor == null) {
+            synchronized (AsyncExecutors.class) {
+                executor = defaultExecutor;
+                if (executor == null) {
+                    executor = createDefault();
+                    defaultExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * 替换默认执行器，未单独配置执行器的客户端都会使用它
+     *
+     * @param executor 执行器
+     */
+    public static void setDefault(Executor executor) {
+        defaultExecutor = executor;
+    }
+
+    /**
+     * 是否正在使用虚拟线程
+     *
+     * @return boolean
+     */
+    public static boolean isVirtualThreadsEnabled() {
+        return VirtualThreads.isSupported()
+                && Boolean.parseBoolean(System.getProperty(VIRTUAL_THREADS_PROPERTY, "true"));
+    }
+
+    /**
+     * 获取客户端使用的执行器
+     *
+     * @param clientType 客户端接口
+     * @return {@code Executor }
+     */
+    public static Executor forClient(Class<?> clientType) {
+        RestClient restClient = clientType.getAnnotation(RestClient.class);
+        if (restClient == null || restClient.executor().isEmpty()) {
+            return getDefault();
+        }
+        return named(restClient.executor());
+    }
+
+    /**
+     * 获取方法发送请求使用的执行器，{@link Async#executor()} 优先于客户端配置
+     *
+     * @param method 方法
+     * @return {@code Executor }
+     */
+    public static Executor forMethod(Method method) {
+        Optional<Executor> executor =
+                METHOD_EXECUTORS.computeIfAbsent(
+                        method,
+                        k -> {
+                            Async async = method.getAnnotation(Async.class);
+                            return async == null || async.executor().isEmpty()
+                                    ? Optional.empty()
+                                    : Optional.of(named(async.executor()));
+                        });
+        return executor.orElseGet(() -> forClient(method.getDeclaringClass()));
+    }
+
+    /**
+     * 获取方法的回调执行器，{@link Async#callbackExecutor()} 优先于 {@link RestClient#callbackExecutor()}
+     *
+     * @param method 方法
+     * @return 回调执行器，未配置时为 null，回调在完成请求的线程上执行
+     */
+    public static Executor forCallback(Method method) {
+        return CALLBACK_EXECUTORS
+                .computeIfAbsent(
+                        method,
+                        k -> {
+                            Async async = method.getAnnotation(Async.class);
+                            if (async != null && !async.callbackExecutor().isEmpty()) {
+                                return Optional.of(named(async.callbackExecutor()));
+                            }
+                            RestClient restClient =
+                                    method.getDeclaringClass().getAnnotation(RestClient.class);
+                            if (restClient != null && !restClient.callbackExecutor().isEmpty()) {
+                                return Optional.of(named(restClient.callbackExecutor()));
+                            }
+                            return Optional.empty();
+                        })
+                .orElse(null);
+    }
+
+    /**
+     * 在回调执行器上执行任务；执行器拒绝时退回当前线程执行，保证回调不会丢失
+     *
+     * @param executor 回调执行器，为 null 时直接在当前线程执行
+     * @param task 任务
+     */
+    public static void runCallback(Executor executor, Runnable task) {
+        if (executor == null) {
+            task.run();
+            return;
+        }
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("Callback executor rejected task, running on completing thread");
+            task.run();
+        }
+    }
+
+    private static Executor named(String beanName) {
+        return NAMED_EXECUTORS.computeIfAbsent(beanName, AsyncExecutors::lookupExecutor);
+    }
+
+    private static Executor lookupExecutor(String beanName) {
+        Executor executor =
+                SpringUtil.isSpringContextActive()
+                        ? SpringUtil.getBean(Executor.class, beanName)
+                        : null;
+        if (executor == null) {
+            throw new IllegalStateException("未找到名为 " + beanName + " 的 Executor Bean");
+        }
+        return executor;
+    }
+
+    private static Executor createDefault() {
+        if (isVirtualThreadsEnabled()) {
+            return VirtualThreads.newExecutor("simple-request-vt-");
+        }
+        return ForkJoinPool.commonPool();
+    }
+}
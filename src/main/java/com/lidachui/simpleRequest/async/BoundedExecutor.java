@@ -0,0 +1,138 @@
+package com.lidachui.simpleRequest.async;
+
+import com.lidachui.simpleRequest.constants.RejectionPolicy;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * BoundedExecutor 带有界队列和拒绝策略的执行器，可注册为 Bean 供 {@code @RestClient(executor / callbackExecutor)} 或
+ * {@code @Async(executor / callbackExecutor)} 引用
+ *
+ * <pre>{@code
+ * @Bean
+ * public BoundedExecutor orderCallbackExecutor() {
+ *     return new BoundedExecutor("order-callback", 4, 1000, RejectionPolicy.CALLER_RUNS);
+ * }
+ * }</pre>
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 19:10
+ * @version: 1.0
+ */
+public class BoundedExecutor implements Executor {
+
+    private final String name;
+    private final int queueCapacity;
+    private final RejectionPolicy rejectionPolicy;
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public BoundedExecutor(
+            String name, int threads, int queueCapacity, RejectionPolicy rejectionPolicy) {
+        this.name = name;
+        this.queueCapacity = queueCapacity;
+        this.rejectionPolicy = rejectionPolicy;
+        BlockingQueue<Runnable> queue =
+                queueCapacity > 0
+                        ? new ArrayBlockingQueue<>(queueCapacity)
+                        : new SynchronousQueue<>();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor =
+                new ThreadPoolExecutor(
+                        threads,
+                        threads,
+                        60,
+                        TimeUnit.SECONDS,
+                        queue,
+                        runnable -> {
+                            Thread thread =
+                                    new Thread(
+                                            runnable,
+                                            "simple-request-"
+                                                    + name
+                                                    + "-"
+                                                    + threadIndex.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        },
+                        createHandler(rejectionPolicy));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    private RejectedExecutionHandler createHandler(RejectionPolicy policy) {
+        RejectedExecutionHandler delegate =
+                policy == RejectionPolicy.CALLER_RUNS
+                        ? new ThreadPoolExecutor.CallerRunsPolicy()
+                        : new ThreadPoolExecutor.AbortPolicy();
+        return (runnable, pool) -> {
+            rejectedCount.increment();
+            delegate.rejectedExecution(runnable, pool);
+        };
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+
+    /** 停止接收新任务，Spring 销毁 Bean 时自动调用 */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public RejectionPolicy getRejectionPolicy() {
+        return rejectionPolicy;
+    }
+
+    /**
+     * 当前排队的任务数
+     *
+     * @return int
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * 队列容量
+     *
+     * @return int
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * 正在执行任务的线程数
+     *
+     * @return int
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * 已完成的任务数
+     *
+     * @return long
+     */
+    public long getCompletedCount() {
+        return executor.getCompletedTaskCount();
+    }
+
+    /**
+     * 触发拒绝策略的次数（包括 CALLER_RUNS 回退到提交线程执行的次数）
+     *
+     * @return long
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+}
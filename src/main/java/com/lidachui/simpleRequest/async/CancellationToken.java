@@ -0,0 +1,132 @@
+package com.lidachui.simpleRequest.async;
+
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * CancellationToken 取消令牌
+ *
+ * <p>可以作为 {@code @RestRequest} 方法的参数传入，取消后会取消对应的异步结果、停止后续重试并中止正在进行的传输调用。 框架内部也为每次发送创建令牌，传输层通过
+ * {@link #onCancel(Runnable)} 注册中止动作（如 OkHttp 的 {@code Call#cancel}）。
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 18:40
+ * @version: 1.0
+ */
+public class CancellationToken {
+
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    private final Set<Runnable> callbacks = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 取消，已注册的回调各执行一次
+     *
+     * @return 本次调用是否触发了取消
+     */
+    public boolean cancel() {
+        if (!cancelled.compareAndSet(false, true)) {
+            return false;
+        }
+        for (Runnable callback : callbacks) {
+            if (callbacks.remove(callback)) {
+                callback.run();
+            }
+        }
+        return true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    /** 已取消时抛出 {@link CancellationException} */
+    public void throwIfCancelled() {
+        if (cancelled.get()) {
+            throw new CancellationException("Request cancelled");
+        }
+    }
+
+    /**
+     * 注册取消回调，已取消时立即执行
+     *
+     * @param callback 回调
+     * @return 注销句柄，调用结束后应注销，避免长期复用的令牌积累回调
+     */
+    public Registration onCancel(Runnable callback) {
+        // 每次注册包一层，同一个回调注册多次也互不影响
+        Runnable registered = callback::run;
+        callbacks.add(registered);
+        if (cancelled.get() && callbacks.remove(registered)) {
+            registered.run();
+        }
+        return () -> callbacks.remove(registered);
+    }
+
+    /**
+     * 本令牌取消时同时取消 {@code child}，{@code child} 自身的取消不影响本令牌
+     *
+     * @param child 子令牌，通常属于单次发送
+     * @return 注销句柄，子令牌对应的调用结束后应注销
+     */
+    public Registration link(CancellationToken child) {
+        return onCancel(child::cancel);
+    }
+
+    /**
+     * 令牌取消时取消 Future，Future 完成后自动注销
+     *
+     * @param future Future
+     */
+    public void cancelOnCancel(CompletableFuture<?> future) {
+        Registration registration = onCancel(() -> future.cancel(true));
+        future.whenComplete((result, throwable) -> registration.remove());
+    }
+
+    /**
+     * 在当前线程执行阻塞调用，期间令牌被取消则中断当前线程。
+     *
+     * <p>用于没有中止接口的阻塞传输；调用结束后会清除因取消而设置的中断标记，避免影响线程池中的后续任务。
+     *
+     * @param call 阻塞调用
+     * @return 调用结果
+     */
+    public <T> T runInterruptibly(Supplier<T> call) {
+        throwIfCancelled();
+        Thread worker = Thread.currentThread();
+        // 0 执行中，1 已结束，2 正在中断，3 已中断
+        AtomicInteger state = new AtomicInteger();
+        Registration registration =
+                onCancel(
+                        () -> {
+                            if (state.compareAndSet(0, 2)) {
+                                worker.interrupt();
+                                state.set(3);
+                            }
+                        });
+        try {
+            return call.get();
+        } finally {
+            registration.remove();
+            if (!state.compareAndSet(0, 1)) {
+                while (state.get() != 3) {
+                    Thread.yield();
+                }
+                Thread.interrupted();
+            }
+        }
+    }
+
+    /** 回调注销句柄 */
+    @FunctionalInterface
+    public interface Registration {
+
+        /** 注销回调 */
+        void remove();
+    }
+}
@@ -0,0 +1,150 @@
+package com.lidachui.simpleRequest.async;
+
+import com.lidachui.simpleRequest.util.ExceptionUtil;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Futures 可传播取消的 Future 组合
+ *
+ * <p>{@link CompletableFuture#thenCompose} 返回的 Future 被取消时不会通知上游和内层 Future，这里的组合方法会把取消一路传递下去。
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 18:40
+ * @version: 1.0
+ */
+public final class Futures {
+
+    private Futures() {}
+
+    /**
+     * 与 {@link CompletableFuture#thenCompose} 相同，但返回的 Future 被取消时同时取消上游和内层 Future
+     *
+     * @param source 上游
+     * @param next 后续异步动作
+     * @return {@code CompletableFuture<U> }
+     */
+    public static <T, U> CompletableFuture<U> thenCompose(
+            CompletableFuture<T> source, Function<? super T, CompletableFuture<U>> next) {
+        return thenCompose(source, next, null);
+    }
+
+    /**
+     * 与 {@link #thenCompose(CompletableFuture, Function)} 相同。上游成功完成时返回的 Future 已被取消，{@code next}
+     * 不会执行，上游的结果交给 {@code onAbandoned} 处理，用于归还上游已经分配的许可等资源
+     *
+     * @param source 上游
+     * @param next 后续异步动作
+     * @param onAbandoned 上游结果被放弃时的处理，可以为 null
+     * @return {@code CompletableFuture<U> }
+     */
+    public static <T, U> CompletableFuture<U> thenCompose(
+            CompletableFuture<T> source,
+            Function<? super T, CompletableFuture<U>> next,
+            Consumer<? super T> onAbandoned) {
+        CompletableFuture<U> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<U>> inner = new AtomicReference<>();
+        source.whenComplete(
+                (value, throwable) -> {
+                    if (throwable != null) {
+                        result.completeExceptionally(ExceptionUtil.unwrap(throwable));
+                        return;
+                    }
+                    if (result.isDone()) {
+                        if (onAbandoned != null) {
+                            onAbandoned.accept(value);
+                        }
+                        return;
+                    }
+                    CompletableFuture<U> future;
+                    try {
+                        future = next.apply(value);
+                    } catch (Throwable t) {
+                        result.completeExceptionally(t);
+                        return;
+                    }
+                    inner.set(future);
+                    if (result.isCancelled()) {
+                        future.cancel(true);
+                        return;
+                    }
+                    future.whenComplete(
+                            (r, t) -> {
+                                if (t != null) {
+                                    result.completeExceptionally(ExceptionUtil.unwrap(t));
+                                } else {
+                                    result.complete(r);
+                                }
+                            });
+                });
+        result.whenComplete(
+                (r, t) -> {
+                    if (result.isCancelled()) {
+                        source.cancel(true);
+                        CompletableFuture<U> future = inner.get();
+                        if (future != null) {
+                            future.cancel(true);
+                        }
+                    }
+                });
+        return result;
+    }
+
+    /**
+     * 与 {@link #thenCompose(CompletableFuture, Function)} 相同，但上游在其他线程上完成时 {@code next} 切到指定执行器执行。
+     * 用于上游在共享定时器线程上完成的场景，后续的排队、舱壁和发送不占用定时线程；上游已完成时直接在当前线程执行
+     *
+     * @param source 上游
+     * @param next 后续异步动作
+     * @param executor 执行 {@code next} 的执行器，拒绝执行时返回的 Future 以该异常失败
+     * @return {@code CompletableFuture<U> }
+     */
+    public static <T, U> CompletableFuture<U> thenComposeAsync(
+            CompletableFuture<T> source,
+            Function<? super T, CompletableFuture<U>> next,
+            Executor executor) {
+        if (source.isDone()) {
+            return thenCompose(source, next);
+        }
+        CompletableFuture<T> handoff = new CompletableFuture<>();
+        CompletableFuture<U> result = thenCompose(handoff, next);
+        propagateCancel(result, source);
+        source.whenComplete(
+                (value, throwable) -> {
+                    if (throwable != null) {
+                        handoff.completeExceptionally(ExceptionUtil.unwrap(throwable));
+                        return;
+                    }
+                    if (handoff.isDone()) {
+                        return;
+                    }
+                    try {
+                        executor.execute(() -> handoff.complete(value));
+                    } catch (RejectedExecutionException e) {
+                        handoff.completeExceptionally(e);
+                    }
+                });
+        return result;
+    }
+
+    /**
+     * {@code from} 被取消时取消 {@code to}
+     *
+     * @param from 被观察的 Future
+     * @param to 需要联动取消的 Future
+     */
+    public static void propagateCancel(CompletableFuture<?> from, Future<?> to) {
+        from.whenComplete(
+                (r, t) -> {
+                    if (from.isCancelled()) {
+                        to.cancel(true);
+                    }
+                });
+    }
+}
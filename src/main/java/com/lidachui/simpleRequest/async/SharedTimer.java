@@ -0,0 +1,95 @@
+package com.lidachui.simpleRequest.async;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SharedTimer 全局共享的延迟调度器
+ *
+ * <p>重试等待等延迟逻辑统一交给该定时器，到期后再提交后续动作，调用线程无需休眠。 定时线程只负责触发，提交的任务应当足够轻量；
+ * {@link #delay(long)} 返回的 Future 在定时线程上完成，后续动作应通过 {@code thenRunAsync} 等异步方法切回执行器。
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 10:40
+ * @version: 1.0
+ */
+public final class SharedTimer {
+
+    private static final ScheduledThreadPoolExecutor SCHEDULER = createScheduler();
+
+    private SharedTimer() {}
+
+    private static ScheduledThreadPoolExecutor createScheduler() {
+        ScheduledThreadPoolExecutor scheduler =
+                new ScheduledThreadPoolExecutor(
+                        1,
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "simple-request-timer");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    /**
+     * 延迟执行任务
+     *
+     * @param task 任务
+     * @param delay 延迟
+     * @param timeUnit 时间单位
+     * @return {@code ScheduledFuture<?> }
+     */
+    public static ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit timeUnit) {
+        return SCHEDULER.schedule(task, delay, timeUnit);
+    }
+
+    /**
+     * 在当前线程等待指定毫秒，令牌被取消时立即以 {@link CancellationException} 结束。用于同步重试的退避，等待仍占用调用线程，但可以被取消
+     *
+     * @param delayMillis 延迟毫秒数
+     * @param token 取消令牌，可以为 null
+     */
+    public static void await(long delayMillis, CancellationToken token) {
+        CompletableFuture<Void> delay = delay(delayMillis);
+        if (token != null) {
+            token.cancelOnCancel(delay);
+        }
+        try {
+            delay.get();
+        } catch (InterruptedException e) {
+            delay.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * 返回一个在指定毫秒后完成的 Future
+     *
+     * @param delayMillis 延迟毫秒数
+     * @return {@code CompletableFuture<Void> }
+     */
+    public static CompletableFuture<Void> delay(long delayMillis) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        if (delayMillis <= 0) {
+            future.complete(null);
+            return future;
+        }
+        ScheduledFuture<?> scheduled =
+                schedule(() -> future.complete(null), delayMillis, TimeUnit.MILLISECONDS);
+        future.whenComplete(
+                (v, t) -> {
+                    if (future.isCancelled()) {
+                        scheduled.cancel(false);
+                    }
+                });
+        return future;
+    }
+}
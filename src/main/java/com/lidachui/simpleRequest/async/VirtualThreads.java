@@ -0,0 +1,37 @@
+package com.lidachui.simpleRequest.async;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * VirtualThreads 虚拟线程支持探测
+ *
+ * <p>Java 8 基线版本始终返回不支持；JDK 21 及以上运行时会加载多版本 jar 中 {@code
+ * META-INF/versions/21} 下的同名实现。
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 17:20
+ * @version: 1.0
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {}
+
+    /**
+     * 当前运行时是否支持虚拟线程
+     *
+     * @return boolean
+     */
+    static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * 创建每任务一个虚拟线程的执行器
+     *
+     * @param namePrefix 线程名前缀
+     * @return {@code ExecutorService }
+     */
+    static ExecutorService newExecutor(String namePrefix) {
+        throw new UnsupportedOperationException("虚拟线程需要 JDK 21 及以上版本");
+    }
+}
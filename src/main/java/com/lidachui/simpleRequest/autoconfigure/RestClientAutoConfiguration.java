@@ -1,20 +1,34 @@
 package com.lidachui.simpleRequest.autoconfigure;
 
 import com.lidachui.simpleRequest.cache.DefaultCacheManager;
+import com.lidachui.simpleRequest.cache.InvalidationBus;
+import com.lidachui.simpleRequest.cache.LocalCacheConfig;
 import com.lidachui.simpleRequest.cache.LocalCacheStrategy;
+import com.lidachui.simpleRequest.cache.LocalInvalidationBus;
+import com.lidachui.simpleRequest.cache.NearCacheConfig;
+import com.lidachui.simpleRequest.cache.NearCacheStrategy;
 import com.lidachui.simpleRequest.cache.RedisCacheStrategy;
+import com.lidachui.simpleRequest.cache.RedisInvalidationBus;
+import com.lidachui.simpleRequest.cache.RedisValueCodec;
 import com.lidachui.simpleRequest.core.HttpClientProxyFactory;
 import com.lidachui.simpleRequest.filter.DefaultRequestFilter;
+import com.lidachui.simpleRequest.handler.OkHttpClientConfig;
 import com.lidachui.simpleRequest.handler.OkHttpHandler;
 import com.lidachui.simpleRequest.handler.RestTemplateHandler;
+import com.lidachui.simpleRequest.resilience.BulkheadRegistry;
+import com.lidachui.simpleRequest.resilience.CircuitBreakerEventListener;
+import com.lidachui.simpleRequest.resilience.CircuitBreakerRegistry;
+import com.lidachui.simpleRequest.resilience.RateLimiterRegistry;
 import com.lidachui.simpleRequest.util.SpringUtil;
 import com.lidachui.simpleRequest.validator.DefaultResponseValidator;
 
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
 
 import java.util.*;
 
@@ -30,12 +44,36 @@ public class RestClientAutoConfiguration implements ApplicationContextAware {
     private ApplicationContext applicationContext;
 
     @Bean
-    public HttpClientProxyFactory httpClientProxyFactory() {
+    public HttpClientProxyFactory httpClientProxyFactory(
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            RateLimiterRegistry rateLimiterRegistry) {
         HttpClientProxyFactory factory = new HttpClientProxyFactory();
         factory.setApplicationContext(applicationContext);
+        factory.setCircuitBreakerRegistry(circuitBreakerRegistry);
+        factory.setBulkheadRegistry(bulkheadRegistry);
+        factory.setRateLimiterRegistry(rateLimiterRegistry);
         return factory;
     }
 
+    @Bean
+    public RateLimiterRegistry rateLimiterRegistry() {
+        return new RateLimiterRegistry();
+    }
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry() {
+        return new BulkheadRegistry();
+    }
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(
+            ObjectProvider<CircuitBreakerEventListener> listeners) {
+        CircuitBreakerRegistry registry = new CircuitBreakerRegistry();
+        listeners.orderedStream().forEach(registry::addListener);
+        return registry;
+    }
+
     @Bean
     public DefaultResponseValidator defaultResponseValidator() {
         return new DefaultResponseValidator();
@@ -51,6 +89,11 @@ public class RestClientAutoConfiguration implements ApplicationContextAware {
         return new OkHttpHandler();
     }
 
+    @Bean(name = "okhttpH2cClientHandler")
+    public OkHttpHandler okHttpH2cHandler(ObjectProvider<OkHttpClientConfig> config) {
+        return new OkHttpHandler(config.getIfAvailable(OkHttpClientConfig::h2c));
+    }
+
     @Bean
     public DefaultRequestFilter defaultRequestFilter() {
         return new DefaultRequestFilter();
@@ -62,19 +105,38 @@ public class RestClientAutoConfiguration implements ApplicationContextAware {
     }
 
     @Bean
-    public LocalCacheStrategy localCacheStrategy() {
-        return new LocalCacheStrategy();
+    public LocalCacheStrategy localCacheStrategy(ObjectProvider<LocalCacheConfig> config) {
+        return new LocalCacheStrategy(config.getIfAvailable(LocalCacheConfig::new));
+    }
+
+    @Bean
+    public RedisCacheStrategy redisCacheStrategy(ObjectProvider<RedisValueCodec> valueCodec) {
+        RedisCacheStrategy strategy = new RedisCacheStrategy();
+        strategy.setValueCodec(valueCodec.getIfAvailable());
+        return strategy;
     }
 
     @Bean
-    public RedisCacheStrategy redisCacheStrategy() {
-        return new RedisCacheStrategy();
+    public NearCacheStrategy nearCacheStrategy(
+            RedisCacheStrategy redisCacheStrategy,
+            ObjectProvider<RedisConnectionFactory> connectionFactory,
+            ObjectProvider<NearCacheConfig> config) {
+        NearCacheConfig nearCacheConfig = config.getIfAvailable(NearCacheConfig::new);
+        RedisConnectionFactory factory = connectionFactory.getIfAvailable();
+        InvalidationBus invalidationBus =
+                factory != null
+                        ? new RedisInvalidationBus(factory, nearCacheConfig.getChannel())
+                        : new LocalInvalidationBus(nearCacheConfig.getChannel());
+        return new NearCacheStrategy(redisCacheStrategy, invalidationBus, nearCacheConfig);
     }
 
     @Bean
     public DefaultCacheManager defaultCacheManager(
-            LocalCacheStrategy localCacheStrategy, RedisCacheStrategy redisCacheStrategy) {
-        return new DefaultCacheManager(Arrays.asList(localCacheStrategy, redisCacheStrategy));
+            LocalCacheStrategy localCacheStrategy,
+            RedisCacheStrategy redisCacheStrategy,
+            NearCacheStrategy nearCacheStrategy) {
+        return new DefaultCacheManager(
+                Arrays.asList(localCacheStrategy, redisCacheStrategy, nearCacheStrategy));
     }
 
     @Override
@@ -0,0 +1,561 @@
+package com.lidachui.simpleRequest.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * BoundedLocalCache 按条目数或权重限制容量、采用 W-TinyLFU 淘汰的并发哈希表
+ *
+ * <p>数据存放在 {@link ConcurrentHashMap} 中，读写本身不加锁。淘汰策略的维护是延迟、批量完成的：
+ *
+ * <ul>
+ *   <li>读操作把命中的条目写入按线程分段的有损环形缓冲区，缓冲区满时丢弃记录，不阻塞读；
+ *   <li>写操作把策略变更放入写缓冲区；
+ *   <li>写入后或读缓冲区写满时，拿到淘汰锁的线程一次性回放两个缓冲区并执行淘汰，拿不到锁的线程直接返回。
+ * </ul>
+ *
+ * <p>淘汰策略分为窗口区（约 1%）和主区，主区又分为试用段和保护段（80%）。新条目先进入窗口区，溢出的条目与试用段队首的淘汰候选者比较
+ * {@link FrequencySketch} 估计的访问频率，频率更高者留下。一次性扫描的大量冷数据因此无法把热点数据挤出缓存。
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 19:40
+ * @version: 1.0
+ */
+final class BoundedLocalCache {
+
+    private static final double WINDOW_RATIO = 0.01;
+    private static final double PROTECTED_RATIO = 0.8;
+
+    /** 未限制条目数、只限制权重时，频率估计器按该条目数估算容量 */
+    private static final long SKETCH_CAPACITY_FOR_WEIGHT = 1 << 16;
+
+    /** 写缓冲区积压超过该值时写线程阻塞等待淘汰锁，避免积压无限增长 */
+    private static final int WRITE_BUFFER_MAX_PENDING = 1024;
+
+    private static final int QUEUE_NONE = 0;
+    private static final int QUEUE_WINDOW = 1;
+    private static final int QUEUE_PROBATION = 2;
+    private static final int QUEUE_PROTECTED = 3;
+
+    private final ConcurrentHashMap<String, Node> data = new ConcurrentHashMap<>();
+
+    private final long maximumSize;
+    private final long maximumWeight;
+    private final CacheWeigher weigher;
+    private final Consumer<Node> evictionListener;
+    private final boolean bounded;
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final ReadBuffer[] readBuffers;
+    private final ConcurrentLinkedQueue<Runnable> writeBuffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+    private final LongAdder evictionCount = new LongAdder();
+
+    // 以下字段只在持有 evictionLock 时访问
+    private final FrequencySketch sketch;
+    private final AccessOrderDeque window = new AccessOrderDeque();
+    private final AccessOrderDeque probation = new AccessOrderDeque();
+    private final AccessOrderDeque protectedDeque = new AccessOrderDeque();
+    private final long maximum;
+    private final long maxWindow;
+    private final long maxProtected;
+    private final Consumer<Node> onAccess = this::onAccess;
+    private long windowWeight;
+    private long protectedWeight;
+    private long entryCount;
+    private long totalWeight;
+    private volatile long weightedSize;
+
+    BoundedLocalCache(LocalCacheConfig config, Consumer<Node> evictionListener) {
+        this.maximumSize = Math.max(config.getMaximumSize(), 0);
+        this.maximumWeight = Math.max(config.getMaximumWeight(), 0);
+        this.weigher =
+                maximumWeight > 0
+                        ? (config.getWeigher() != null
+                                ? config.getWeigher()
+                                : new SerializedSizeWeigher())
+                        : null;
+        this.evictionListener = evictionListener;
+        this.bounded = maximumSize > 0 || maximumWeight > 0;
+        this.maximum = maximumWeight > 0 ? maximumWeight : maximumSize;
+        this.maxWindow = maximum - (long) (maximum * (1 - WINDOW_RATIO));
+        this.maxProtected = (long) ((maximum - maxWindow) * PROTECTED_RATIO);
+        this.sketch =
+                bounded
+                        ? new FrequencySketch(
+                                maximumSize > 0 ? maximumSize : SKETCH_CAPACITY_FOR_WEIGHT)
+                        : null;
+        int stripes =
+                Integer.highestOneBit(Math.min(Runtime.getRuntime().availableProcessors(), 16));
+        this.readBuffers = new ReadBuffer[bounded ? stripes : 0];
+        for (int i = 0; i < readBuffers.length; i++) {
+            readBuffers[i] = new ReadBuffer();
+        }
+    }
+
+    /**
+     * 查询条目并记录访问，返回的条目可能已过期，由调用方判断
+     *
+     * @param key 钥匙
+     * @return {@code Node }
+     */
+    Node get(String key) {
+        Node node = data.get(key);
+        if (node != null && bounded) {
+            afterRead(node);
+        }
+        return node;
+    }
+
+    /**
+     * 写入条目，覆盖已有条目
+     *
+     * @param key 钥匙
+     * @param value 值
+     * @param expiryTime 过期时间点（毫秒）
+     * @return 被覆盖的条目
+     */
+    Node put(String key, Object value, long expiryTime) {
+        int weight = weigher == null ? 1 : Math.max(weigher.weigh(key, value), 0);
+        Node node = new Node(key, value, expiryTime, weight);
+        Node old = data.put(key, node);
+        if (old != null) {
+            old.retired = true;
+        }
+        if (bounded) {
+            if (old != null) {
+                afterWrite(() -> onRemove(old));
+            }
+            afterWrite(() -> onAdd(node));
+        }
+        return old;
+    }
+
+    /**
+     * 仅当键不存在或已过期时写入
+     *
+     * @param key 钥匙
+     * @param value 值
+     * @param expiryTime 过期时间点（毫秒）
+     * @return 写入的条目，键已存在且未过期时为 null
+     */
+    Node putIfAbsent(String key, Object value, long expiryTime) {
+        int weight = weigher == null ? 1 : Math.max(weigher.weigh(key, value), 0);
+        Node node = new Node(key, value, expiryTime, weight);
+        while (true) {
+            Node old = data.putIfAbsent(key, node);
+            if (old == null) {
+                if (bounded) {
+                    afterWrite(() -> onAdd(node));
+                }
+                return node;
+            }
+            if (!old.isExpired(System.currentTimeMillis())) {
+                return null;
+            }
+            if (data.replace(key, old, node)) {
+                old.retired = true;
+                if (bounded) {
+                    afterWrite(() -> onRemove(old));
+                    afterWrite(() -> onAdd(node));
+                }
+                return node;
+            }
+        }
+    }
+
+    /**
+     * 删除条目
+     *
+     * @param key 钥匙
+     * @return 被删除的条目
+     */
+    Node remove(String key) {
+        Node node = data.remove(key);
+        if (node != null) {
+            retire(node);
+        }
+        return node;
+    }
+
+    /**
+     * 仅当当前条目仍是 {@code node} 时删除
+     *
+     * @param node 条目
+     * @return 是否删除成功
+     */
+    boolean remove(Node node) {
+        if (data.remove(node.key, node)) {
+            retire(node);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 删除所有已过期的条目
+     *
+     * @param now 当前时间（毫秒）
+     * @param onExpired 过期条目回调
+     */
+    void removeExpired(long now, Consumer<Node> onExpired) {
+        for (Node node : data.values()) {
+            if (node.isExpired(now) && remove(node)) {
+                onExpired.accept(node);
+            }
+        }
+    }
+
+    /** 清空缓存 */
+    void clear() {
+        Iterator<Node> iterator = data.values().iterator();
+        while (iterator.hasNext()) {
+            Node node = iterator.next();
+            iterator.remove();
+            retire(node);
+        }
+    }
+
+    boolean isEmpty() {
+        return data.isEmpty();
+    }
+
+    long size() {
+        return data.size();
+    }
+
+    long weightedSize() {
+        return weigher == null ? size() : weightedSize;
+    }
+
+    long evictionCount() {
+        return evictionCount.sum();
+    }
+
+    /** 立即执行一次淘汰维护 */
+    void cleanUp() {
+        if (!bounded) {
+            return;
+        }
+        evictionLock.lock();
+        List<Node> evicted;
+        try {
+            evicted = maintenance();
+        } finally {
+            evictionLock.unlock();
+        }
+        notifyEvicted(evicted);
+    }
+
+    private void retire(Node node) {
+        node.retired = true;
+        if (bounded) {
+            afterWrite(() -> onRemove(node));
+        }
+    }
+
+    private void afterRead(Node node) {
+        int probe = (int) Thread.currentThread().getId() * 0x9E3779B9;
+        ReadBuffer buffer = readBuffers[(probe >>> 16) & (readBuffers.length - 1)];
+        if (!buffer.offer(node)) {
+            tryMaintenance();
+        }
+    }
+
+    private void afterWrite(Runnable task) {
+        writeBuffer.add(task);
+        if (pendingWrites.incrementAndGet() > WRITE_BUFFER_MAX_PENDING) {
+            cleanUp();
+        } else {
+            tryMaintenance();
+        }
+    }
+
+    private void tryMaintenance() {
+        while (evictionLock.tryLock()) {
+            List<Node> evicted;
+            try {
+                evicted = maintenance();
+            } finally {
+                evictionLock.unlock();
+            }
+            notifyEvicted(evicted);
+            if (writeBuffer.isEmpty()) {
+                return;
+            }
+        }
+    }
+
+    private void notifyEvicted(List<Node> evicted) {
+        if (evictionListener != null) {
+            for (Node node : evicted) {
+                evictionListener.accept(node);
+            }
+        }
+    }
+
+    private List<Node> maintenance() {
+        for (ReadBuffer buffer : readBuffers) {
+            buffer.drainTo(onAccess);
+        }
+        Runnable task;
+        while ((task = writeBuffer.poll()) != null) {
+            pendingWrites.decrementAndGet();
+            task.run();
+        }
+        List<Node> evicted = evictEntries();
+        weightedSize = totalWeight;
+        return evicted;
+    }
+
+    private void onAdd(Node node) {
+        if (node.retired || node.queue != QUEUE_NONE) {
+            return;
+        }
+        sketch.increment(node.key);
+        node.queue = QUEUE_WINDOW;
+        window.addLast(node);
+        windowWeight += policyWeight(node);
+        entryCount++;
+        totalWeight += node.weight;
+    }
+
+    private void onRemove(Node node) {
+        if (node.queue == QUEUE_NONE) {
+            return;
+        }
+        unlink(node);
+        entryCount--;
+        totalWeight -= node.weight;
+    }
+
+    private void onAccess(Node node) {
+        if (node.retired || node.queue == QUEUE_NONE) {
+            return;
+        }
+        sketch.increment(node.key);
+        if (node.queue == QUEUE_WINDOW) {
+            window.moveToBack(node);
+        } else if (node.queue == QUEUE_PROBATION) {
+            probation.unlink(node);
+            node.queue = QUEUE_PROTECTED;
+            protectedDeque.addLast(node);
+            protectedWeight += policyWeight(node);
+            while (protectedWeight > maxProtected && !protectedDeque.isEmpty()) {
+                Node demoted = protectedDeque.pollFirst();
+                protectedWeight -= policyWeight(demoted);
+                demoted.queue = QUEUE_PROBATION;
+                probation.addLast(demoted);
+            }
+        } else {
+            protectedDeque.moveToBack(node);
+        }
+    }
+
+    private void unlink(Node node) {
+        if (node.queue == QUEUE_WINDOW) {
+            window.unlink(node);
+            windowWeight -= policyWeight(node);
+        } else if (node.queue == QUEUE_PROBATION) {
+            probation.unlink(node);
+        } else if (node.queue == QUEUE_PROTECTED) {
+            protectedDeque.unlink(node);
+            protectedWeight -= policyWeight(node);
+        }
+        node.queue = QUEUE_NONE;
+    }
+
+    private List<Node> evictEntries() {
+        List<Node> evicted = Collections.emptyList();
+        // 窗口区溢出的条目进入试用段，容量超出时与试用段队首比较频率，淘汰频率较低的一方
+        while (windowWeight > maxWindow && !window.isEmpty()) {
+            Node candidate = window.pollFirst();
+            windowWeight -= policyWeight(candidate);
+            candidate.queue = QUEUE_PROBATION;
+            probation.addLast(candidate);
+            if (isOverCapacity()) {
+                Node victim = probation.peekFirst();
+                Node evict = victim == candidate || admit(candidate, victim) ? victim : candidate;
+                evicted = evict(evict, evicted);
+            }
+        }
+        // 权重较大的条目写入后仍可能超出容量，依次从试用段、保护段、窗口区队首淘汰
+        while (isOverCapacity()) {
+            Node victim = probation.peekFirst();
+            if (victim == null) {
+                victim = protectedDeque.peekFirst();
+            }
+            if (victim == null) {
+                victim = window.peekFirst();
+            }
+            if (victim == null) {
+                break;
+            }
+            evicted = evict(victim, evicted);
+        }
+        return evicted;
+    }
+
+    private boolean admit(Node candidate, Node victim) {
+        int candidateFrequency = sketch.frequency(candidate.key);
+        int victimFrequency = sketch.frequency(victim.key);
+        if (candidateFrequency > victimFrequency) {
+            return true;
+        }
+        // 频率已经较高的候选者偶尔放行，防止攻击者人为抬高受害者的频率后让缓存无法更新
+        return candidateFrequency > 5 && (ThreadLocalRandom.current().nextInt() & 127) == 0;
+    }
+
+    private List<Node> evict(Node node, List<Node> evicted) {
+        onRemove(node);
+        if (data.remove(node.key, node)) {
+            node.retired = true;
+            evictionCount.increment();
+            if (evicted.isEmpty()) {
+                evicted = new ArrayList<>();
+            }
+            evicted.add(node);
+        }
+        return evicted;
+    }
+
+    private boolean isOverCapacity() {
+        return (maximumSize > 0 && entryCount > maximumSize)
+                || (maximumWeight > 0 && totalWeight > maximumWeight);
+    }
+
+    private long policyWeight(Node node) {
+        return weigher == null ? 1 : node.weight;
+    }
+
+    /** 缓存条目，值不可变，覆盖写入会创建新条目 */
+    static final class Node {
+        final String key;
+        final Object value;
+        final long expiryTime;
+        final int weight;
+        volatile boolean retired;
+
+        // 以下字段只在持有 evictionLock 时访问
+        Node prev;
+        Node next;
+        int queue;
+
+        Node(String key, Object value, long expiryTime, int weight) {
+            this.key = key;
+            this.value = value;
+            this.expiryTime = expiryTime;
+            this.weight = weight;
+        }
+
+        boolean isExpired(long currentTime) {
+            return currentTime > expiryTime;
+        }
+
+        String getKey() {
+            return key;
+        }
+
+        Object getValue() {
+            return value;
+        }
+    }
+
+    /** 以哨兵节点实现的侵入式双向链表，队首为最久未访问的条目 */
+    private static final class AccessOrderDeque {
+        private final Node head = new Node(null, null, 0, 0);
+
+        AccessOrderDeque() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        boolean isEmpty() {
+            return head.next == head;
+        }
+
+        Node peekFirst() {
+            return isEmpty() ? null : head.next;
+        }
+
+        Node pollFirst() {
+            Node first = peekFirst();
+            if (first != null) {
+                unlink(first);
+            }
+            return first;
+        }
+
+        void addLast(Node node) {
+            node.prev = head.prev;
+            node.next = head;
+            head.prev.next = node;
+            head.prev = node;
+        }
+
+        void unlink(Node node) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+        }
+
+        void moveToBack(Node node) {
+            unlink(node);
+            addLast(node);
+        }
+    }
+
+    /** 单段读缓冲区，多个线程通过 CAS 写入，满了直接丢弃，只在持有淘汰锁时读取 */
+    private static final class ReadBuffer {
+        private static final int SIZE = 16;
+        private static final int MASK = SIZE - 1;
+
+        private final AtomicReferenceArray<Node> buffer = new AtomicReferenceArray<>(SIZE);
+        private final AtomicLong writeCounter = new AtomicLong();
+        private volatile long readCounter;
+
+        /**
+         * 写入一次访问记录
+         *
+         * @param node 条目
+         * @return 缓冲区已满时返回 false，调用方应尝试回放
+         */
+        boolean offer(Node node) {
+            long tail = writeCounter.get();
+            if (tail - readCounter >= SIZE) {
+                return false;
+            }
+            if (writeCounter.compareAndSet(tail, tail + 1)) {
+                buffer.lazySet((int) (tail & MASK), node);
+            }
+            return true;
+        }
+
+        void drainTo(Consumer<Node> consumer) {
+            long head = readCounter;
+            long tail = writeCounter.get();
+            for (; head < tail; head++) {
+                int index = (int) (head & MASK);
+                Node node = buffer.get(index);
+                if (node == null) {
+                    break;
+                }
+                buffer.lazySet(index, null);
+                consumer.accept(node);
+            }
+            readCounter = head;
+        }
+    }
+}
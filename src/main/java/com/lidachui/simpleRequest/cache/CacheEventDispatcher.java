@@ -0,0 +1,208 @@
+package com.lidachui.simpleRequest.cache;
+
+import com.lidachui.simpleRequest.constants.CacheEventType;
+import com.lidachui.simpleRequest.constants.OverflowPolicy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CacheEventDispatcher 缓存事件的异步分发器
+ *
+ * <p>监听器按 {@link CacheEventListener#supports(CacheEventType)} 登记到各事件类型下，某类事件没有监听器时 {@link #publish}
+ * 直接返回，不创建事件对象也不读取时钟。有监听器时事件写入有界缓冲区，由独立的守护线程批量取出后依次回调，监听器再慢也不会拖慢缓存读写。
+ * 缓冲区写满时按 {@link OverflowPolicy} 丢弃或阻塞，监听器在分发线程上发布的事件总是按丢弃处理。
+ *
+ * <p>同一分发器内事件按发布顺序投递，但投递晚于缓存操作本身完成
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 20:10
+ * @version: 1.0
+ */
+@Slf4j
+public class CacheEventDispatcher {
+
+    /** 默认缓冲区容量 */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private static final int BATCH_SIZE = 256;
+    private static final CacheEventListener[] NO_LISTENERS = new CacheEventListener[0];
+
+    private final String name;
+    private final BlockingQueue<CacheEvent> buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final List<CacheEventListener> listeners = new ArrayList<>();
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder deliveredCount = new LongAdder();
+
+    /** 按事件类型序号索引的监听器快照，注册变化时整体替换 */
+    private volatile CacheEventListener[][] listenersByType = emptyListeners();
+
+    private volatile Thread worker;
+    private volatile boolean closed;
+
+    public CacheEventDispatcher(String name) {
+        this(name, DEFAULT_BUFFER_SIZE, OverflowPolicy.DROP);
+    }
+
+    public CacheEventDispatcher(String name, int bufferSize, OverflowPolicy overflowPolicy) {
+        this.name = name;
+        this.buffer = new ArrayBlockingQueue<>(Math.max(bufferSize, 1));
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * 注册监听器
+     *
+     * @param listener 听众
+     */
+    public synchronized void addListener(CacheEventListener listener) {
+        listeners.add(listener);
+        rebuild();
+    }
+
+    /**
+     * 移除监听器
+     *
+     * @param listener 听众
+     */
+    public synchronized void removeListener(CacheEventListener listener) {
+        listeners.remove(listener);
+        rebuild();
+    }
+
+    /**
+     * 是否有监听器关注该类型的事件
+     *
+     * @param eventType 事件类型
+     * @return boolean
+     */
+    public boolean hasListeners(CacheEventType eventType) {
+        return listenersByType[eventType.ordinal()].length > 0;
+    }
+
+    /**
+     * 发布事件，没有对应监听器时不做任何事
+     *
+     * @param key 钥匙
+     * @param value 值
+     * @param eventType 事件类型
+     */
+    public void publish(String key, Object value, CacheEventType eventType) {
+        if (listenersByType[eventType.ordinal()].length == 0 || closed) {
+            return;
+        }
+        CacheEvent event = new CacheEvent(key, value, eventType);
+        ensureStarted();
+        // 监听器在分发线程上再发布事件时不能阻塞，否则没有人腾出缓冲区
+        if (overflowPolicy == OverflowPolicy.BLOCK && Thread.currentThread() != worker) {
+            try {
+                buffer.put(event);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                droppedCount.increment();
+            }
+        } else if (!buffer.offer(event)) {
+            droppedCount.increment();
+        }
+    }
+
+    /**
+     * 因缓冲区写满而丢弃的事件数
+     *
+     * @return long
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * 已投递的事件数
+     *
+     * @return long
+     */
+    public long getDeliveredCount() {
+        return deliveredCount.sum();
+    }
+
+    /**
+     * 缓冲区中等待投递的事件数
+     *
+     * @return int
+     */
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    /** 停止分发线程，尚未投递的事件被丢弃 */
+    public void shutdown() {
+        closed = true;
+        Thread thread = worker;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void rebuild() {
+        CacheEventType[] types = CacheEventType.values();
+        CacheEventListener[][] byType = new CacheEventListener[types.length][];
+        for (CacheEventType type : types) {
+            byType[type.ordinal()] =
+                    listeners.stream()
+                            .filter(listener -> listener.supports(type))
+                            .toArray(CacheEventListener[]::new);
+        }
+        listenersByType = byType;
+    }
+
+    private static CacheEventListener[][] emptyListeners() {
+        CacheEventListener[][] byType = new CacheEventListener[CacheEventType.values().length][];
+        Arrays.fill(byType, NO_LISTENERS);
+        return byType;
+    }
+
+    private void ensureStarted() {
+        if (started.get() || !started.compareAndSet(false, true)) {
+            return;
+        }
+        Thread thread = new Thread(this::drainLoop, "simple-request-cache-events-" + name);
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    private void drainLoop() {
+        List<CacheEvent> batch = new ArrayList<>(BATCH_SIZE);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(buffer.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            buffer.drainTo(batch, BATCH_SIZE - 1);
+            for (CacheEvent event : batch) {
+                deliver(event);
+            }
+            batch.clear();
+        }
+    }
+
+    private void deliver(CacheEvent event) {
+        for (CacheEventListener listener : listenersByType[event.getEventType().ordinal()]) {
+            try {
+                listener.onEvent(event);
+            } catch (Exception e) {
+                log.error("Error notifying listener: " + e.getMessage(), e);
+            }
+        }
+        deliveredCount.increment();
+    }
+}
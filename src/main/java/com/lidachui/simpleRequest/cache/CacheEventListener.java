@@ -1,5 +1,7 @@
 package com.lidachui.simpleRequest.cache;
 
+import com.lidachui.simpleRequest.constants.CacheEventType;
+
 /**
  * CacheEventListener
  *
@@ -15,4 +17,14 @@ public interface CacheEventListener {
      * @param event 事件
      */
     void onEvent(CacheEvent event);
+
+    /**
+     * 是否关注该类型的事件，不关注的事件不会被创建和投递。只关心写入和删除的监听器可以排除 {@code GET}，缓存命中时就没有额外开销
+     *
+     * @param eventType 事件类型
+     * @return boolean
+     */
+    default boolean supports(CacheEventType eventType) {
+        return true;
+    }
 }
@@ -1,5 +1,8 @@
 package com.lidachui.simpleRequest.cache;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -22,4 +25,42 @@ public interface CacheStrategy {
     void remove(String key);  // 新增删除方法
 
     void removeAll();
+
+    /**
+     * 批量读取，返回结果只包含命中的键。默认逐个读取，远端缓存应覆盖为一次往返
+     *
+     * @param keys 钥匙
+     * @return {@code Map<String, Object> }
+     */
+    default Map<String, Object> getAll(Collection<String> keys) {
+        Map<String, Object> result = new HashMap<>(keys.size() * 2);
+        for (String key : keys) {
+            Object value = get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 批量写入，所有条目使用相同的过期时间。默认逐个写入，远端缓存应覆盖为一次往返
+     *
+     * @param entries 条目
+     * @param expire 过期时间
+     * @param timeUnit 时间单位
+     */
+    default void putAll(Map<String, ?> entries, long expire, TimeUnit timeUnit) {
+        entries.forEach((key, value) -> put(key, value, expire, timeUnit));
+    }
+
+    /**
+     * 是否接受紧凑的二进制缓存键（{@code CacheKey#toBinaryString()}）。只在进程内使用的缓存才能开启，
+     * 远端缓存需要带框架前缀的可读键
+     *
+     * @return boolean
+     */
+    default boolean useBinaryKeys() {
+        return false;
+    }
 }
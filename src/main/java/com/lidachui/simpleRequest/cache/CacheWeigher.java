@@ -0,0 +1,21 @@
+package com.lidachui.simpleRequest.cache;
+
+/**
+ * CacheWeigher 缓存条目权重计算器，配合 {@link LocalCacheConfig#setMaximumWeight(long)} 按权重限制本地缓存
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 19:40
+ * @version: 1.0
+ */
+@FunctionalInterface
+public interface CacheWeigher {
+
+    /**
+     * 计算条目权重，写入时调用一次
+     *
+     * @param key 缓存键
+     * @param value 缓存值
+     * @return 非负权重
+     */
+    int weigh(String key, Object value);
+}
@@ -0,0 +1,66 @@
+package com.lidachui.simpleRequest.cache;
+
+import lombok.Getter;
+
+import java.io.Serializable;
+
+/**
+ * CachedValue 带时间信息的缓存值，用于提前刷新和过期后继续使用旧值
+ *
+ * <p>时间线：写入 → {@code refreshAt}（之后命中会触发后台刷新）→ {@code expireAt}（数据过期）→ {@code staleUntil}
+ * （之前仍可直接返回旧值并后台刷新）→ {@code errorUntil}（之前同步刷新失败时仍可返回旧值）。
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 20:40
+ * @version: 1.0
+ */
+@Getter
+public class CachedValue implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Object value;
+    private final long refreshAt;
+    private final long expireAt;
+    private final long staleUntil;
+    private final long errorUntil;
+
+    public CachedValue(
+            Object value, long refreshAt, long expireAt, long staleUntil, long errorUntil) {
+        this.value = value;
+        this.refreshAt = refreshAt;
+        this.expireAt = expireAt;
+        this.staleUntil = staleUntil;
+        this.errorUntil = errorUntil;
+    }
+
+    /**
+     * 是否无需刷新，可直接返回
+     *
+     * @param now 当前时间（毫秒）
+     * @return boolean
+     */
+    public boolean isFresh(long now) {
+        return now < refreshAt;
+    }
+
+    /**
+     * 是否可以直接返回，同时后台刷新
+     *
+     * @param now 当前时间（毫秒）
+     * @return boolean
+     */
+    public boolean isServable(long now) {
+        return now < staleUntil;
+    }
+
+    /**
+     * 同步刷新失败时是否可以退回该值
+     *
+     * @param now 当前时间（毫秒）
+     * @return boolean
+     */
+    public boolean isUsableOnError(long now) {
+        return now < errorUntil;
+    }
+}
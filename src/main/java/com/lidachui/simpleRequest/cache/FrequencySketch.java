@@ -0,0 +1,99 @@
+package com.lidachui.simpleRequest.cache;
+
+/**
+ * FrequencySketch TinyLFU 使用的访问频率估计器
+ *
+ * <p>4 位计数的 Count-Min Sketch，每个 long 存放 16 个计数器，每个键映射到 4 个计数器并取最小值。 累计增加次数达到 10 倍容量时全部计数减半，使频率随时间衰减，
+ * 旧的热点不会永久占据缓存。非线程安全，由 {@link BoundedLocalCache} 在淘汰锁内访问
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 19:40
+ * @version: 1.0
+ */
+final class FrequencySketch {
+
+    private static final long[] SEED = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int size;
+
+    FrequencySketch(long capacity) {
+        int maximum = (int) Math.min(Math.max(capacity, 1), 1 << 24);
+        int length = Math.max(Integer.highestOneBit(maximum - 1) << 1, 8);
+        this.table = new long[length];
+        this.tableMask = length - 1;
+        this.sampleSize = 10 * maximum;
+    }
+
+    /**
+     * 估计键的访问频率，最大为 15
+     *
+     * @param key 钥匙
+     * @return int
+     */
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hash, i);
+            int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * 记录一次访问
+     *
+     * @param key 钥匙
+     */
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            added |= incrementAt(indexOf(hash, i), start + i);
+        }
+        if (added && ++size >= sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int offset = counter << 2;
+        long mask = 0xfL << offset;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    private void reset() {
+        int odd = 0;
+        for (int i = 0; i < table.length; i++) {
+            odd += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size = (size >>> 1) - (odd >>> 2);
+    }
+
+    private int indexOf(int hash, int depth) {
+        long value = (hash + SEED[depth]) * SEED[depth];
+        value += value >>> 32;
+        return ((int) value) & tableMask;
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
@@ -0,0 +1,32 @@
+package com.lidachui.simpleRequest.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * InvalidationBus 近端缓存的失效消息通道，节点写入或删除缓存后通过它通知其他节点丢弃本地副本
+ *
+ * <p>消息至多投递一次，丢失的消息由本地副本的最长存活时间兜底
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 21:10
+ * @version: 1.0
+ */
+public interface InvalidationBus {
+
+    /**
+     * 广播消息
+     *
+     * @param message 消息
+     */
+    void publish(String message);
+
+    /**
+     * 订阅消息，包括本节点自己发出的消息
+     *
+     * @param listener 听众
+     */
+    void subscribe(Consumer<String> listener);
+
+    /** 关闭通道 */
+    default void close() {}
+}
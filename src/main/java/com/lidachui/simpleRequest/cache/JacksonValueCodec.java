@@ -0,0 +1,177 @@
+package com.lidachui.simpleRequest.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lidachui.simpleRequest.serialize.JacksonSerializer;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * JacksonValueCodec 基于 Jackson 的缓存值编解码器
+ *
+ * <p>编码格式：
+ *
+ * <pre>
+ * 魔数(1) | 标志(1) | [CachedValue 时间信息 4 x long] | 类名长度(2) | 类名(UTF-8) | 数据
+ * </pre>
+ *
+ * <p>数据由构造时传入的 {@link ObjectMapper} 生成，默认是 JSON；传入基于 SmileFactory 或 CBORFactory 的 ObjectMapper
+ * 即可得到更紧凑的二进制格式。数据超过压缩阈值且压缩后更小时使用 Deflate 压缩。解码返回 {@link LazyCacheValue}，解压和反序列化都推迟到
+ * 调用方给出目标类型时进行，因此泛型返回值也能还原为正确的类型。
+ *
+ * <p>写入的是反序列化后的结果再次序列化的数据，而不是上游响应的原始字节：缓存位于 {@code @Cacheable} 层，拿到的是经过响应验证、
+ * 异步完成后的结果，原始响应体在更下层的处理器中已被消费。延迟解码仍然成立，读取时只有命中并给出返回类型后才会解压和反序列化
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 21:50
+ * @version: 1.0
+ */
+public class JacksonValueCodec implements RedisValueCodec {
+
+    /** 默认压缩阈值（字节） */
+    public static final int DEFAULT_COMPRESSION_THRESHOLD = 1024;
+
+    private static final byte MAGIC = (byte) 0xC5;
+    private static final int FLAG_COMPRESSED = 1;
+    private static final int FLAG_CACHED_VALUE = 1 << 1;
+
+    private final ObjectMapper objectMapper;
+    private final int compressionThreshold;
+
+    public JacksonValueCodec() {
+        this(JacksonSerializer.objectMapper, DEFAULT_COMPRESSION_THRESHOLD);
+    }
+
+    /**
+     * @param objectMapper 对象映射器
+     * @param compressionThreshold 压缩阈值（字节），小于等于 0 表示不压缩
+     */
+    public JacksonValueCodec(ObjectMapper objectMapper, int compressionThreshold) {
+        this.objectMapper = objectMapper;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        CachedValue cachedValue = value instanceof CachedValue ? (CachedValue) value : null;
+        Object target = cachedValue != null ? cachedValue.getValue() : value;
+        byte[] typeName =
+                target == null
+                        ? new byte[0]
+                        : target.getClass().getName().getBytes(StandardCharsets.UTF_8);
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(target);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Failed to encode cache value", e);
+        }
+        int flags = cachedValue != null ? FLAG_CACHED_VALUE : 0;
+        if (compressionThreshold > 0 && payload.length >= compressionThreshold) {
+            byte[] compressed = deflate(payload);
+            if (compressed.length < payload.length) {
+                payload = compressed;
+                flags |= FLAG_COMPRESSED;
+            }
+        }
+        ByteBuffer buffer =
+                ByteBuffer.allocate(
+                        2
+                                + (cachedValue != null ? 4 * Long.BYTES : 0)
+                                + 2
+                                + typeName.length
+                                + payload.length);
+        buffer.put(MAGIC).put((byte) flags);
+        if (cachedValue != null) {
+            buffer.putLong(cachedValue.getRefreshAt())
+                    .putLong(cachedValue.getExpireAt())
+                    .putLong(cachedValue.getStaleUntil())
+                    .putLong(cachedValue.getErrorUntil());
+        }
+        buffer.putShort((short) typeName.length).put(typeName).put(payload);
+        return buffer.array();
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        if (bytes == null || bytes.length < 4 || bytes[0] != MAGIC) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        buffer.get();
+        int flags = buffer.get();
+        long[] times = null;
+        if ((flags & FLAG_CACHED_VALUE) != 0) {
+            times =
+                    new long[] {
+                        buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong()
+                    };
+        }
+        int typeLength = buffer.getShort() & 0xFFFF;
+        if (typeLength == 0) {
+            return null;
+        }
+        String typeName =
+                new String(bytes, buffer.position(), typeLength, StandardCharsets.UTF_8);
+        int payloadOffset = buffer.position() + typeLength;
+        byte[] payload = Arrays.copyOfRange(bytes, payloadOffset, bytes.length);
+        boolean compressed = (flags & FLAG_COMPRESSED) != 0;
+        LazyCacheValue value =
+                new LazyCacheValue(
+                        typeName, bytes.length, type -> readValue(payload, compressed, type));
+        return times == null
+                ? value
+                : new CachedValue(value, times[0], times[1], times[2], times[3]);
+    }
+
+    private Object readValue(byte[] payload, boolean compressed, Type type) {
+        try {
+            JavaType javaType = objectMapper.getTypeFactory().constructType(type);
+            return objectMapper.readValue(compressed ? inflate(payload) : payload, javaType);
+        } catch (Exception e) {
+            // 调用方捕获后删除该键并按未命中处理
+            throw new IllegalStateException("Failed to decode cache value as " + type, e);
+        }
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream output = new ByteArrayOutputStream(input.length / 2 + 16);
+            byte[] chunk = new byte[4096];
+            while (!deflater.finished()) {
+                output.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream output = new ByteArrayOutputStream(input.length * 4);
+            byte[] chunk = new byte[4096];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(chunk);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Truncated compressed cache value");
+                }
+                output.write(chunk, 0, count);
+            }
+            return output.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+}
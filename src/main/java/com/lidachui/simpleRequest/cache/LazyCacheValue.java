@@ -0,0 +1,98 @@
+package com.lidachui.simpleRequest.cache;
+
+import java.lang.reflect.Type;
+import java.util.function.Function;
+
+/**
+ * LazyCacheValue 尚未反序列化的缓存值
+ *
+ * <p>从远端缓存读到的数据先保持编码后的形式，调用方知道目标类型（包括泛型）后再反序列化，结果按类型缓存在实例中。
+ * 近端缓存中的副本因此只在第一次被读取时解码，未被读取的批量结果不会解码
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 21:50
+ * @version: 1.0
+ */
+public final class LazyCacheValue {
+
+    private final String typeName;
+    private final int encodedSize;
+    private final Function<Type, Object> decoder;
+
+    private volatile Decoded decoded;
+
+    public LazyCacheValue(String typeName, int encodedSize, Function<Type, Object> decoder) {
+        this.typeName = typeName;
+        this.encodedSize = encodedSize;
+        this.decoder = decoder;
+    }
+
+    /**
+     * 按目标类型反序列化
+     *
+     * @param type 目标类型
+     * @return {@code Object }
+     */
+    public Object get(Type type) {
+        Decoded current = decoded;
+        if (current != null && current.type.equals(type)) {
+            return current.value;
+        }
+        Object value = decoder.apply(type);
+        decoded = new Decoded(type, value);
+        return value;
+    }
+
+    /**
+     * 按写入时记录的类型反序列化，泛型参数会丢失
+     *
+     * @return {@code Object }
+     */
+    public Object get() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        try {
+            return get(Class.forName(typeName, false, classLoader));
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Unknown cached type " + typeName, e);
+        }
+    }
+
+    /**
+     * 写入时值的类名
+     *
+     * @return {@code String }
+     */
+    public String getTypeName() {
+        return typeName;
+    }
+
+    /**
+     * 编码后的字节数，可用作权重
+     *
+     * @return int
+     */
+    public int getEncodedSize() {
+        return encodedSize;
+    }
+
+    /**
+     * 缓存值为 {@link LazyCacheValue} 时按目标类型反序列化，否则原样返回
+     *
+     * @param value 缓存值
+     * @param type 目标类型
+     * @return {@code Object }
+     */
+    public static Object resolve(Object value, Type type) {
+        return value instanceof LazyCacheValue ? ((LazyCacheValue) value).get(type) : value;
+    }
+
+    private static final class Decoded {
+        private final Type type;
+        private final Object value;
+
+        Decoded(Type type, Object value) {
+            this.type = type;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.lidachui.simpleRequest.cache;
+
+import com.lidachui.simpleRequest.constants.OverflowPolicy;
+
+import lombok.Data;
+
+/**
+ * LocalCacheConfig 本地缓存容量配置
+ *
+ * <p>条目数和权重两个上限可以同时生效，任一超出都会触发淘汰；都小于等于 0 时本地缓存只按过期时间清理
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 19:40
+ * @version: 1.0
+ */
+@Data
+public class LocalCacheConfig {
+
+    /** 最大条目数，小于等于 0 表示不限制 */
+    private long maximumSize = 10_000;
+
+    /** 最大总权重，小于等于 0 表示不限制 */
+    private long maximumWeight = 0;
+
+    /** 权重计算器，为空且设置了最大权重时使用 {@link SerializedSizeWeigher} */
+    private CacheWeigher weigher;
+
+    /** 缓存事件缓冲区容量 */
+    private int eventBufferSize = CacheEventDispatcher.DEFAULT_BUFFER_SIZE;
+
+    /** 缓存事件缓冲区写满时的处理方式 */
+    private OverflowPolicy eventOverflowPolicy = OverflowPolicy.DROP;
+
+    /** 是否使用 8 个字符的二进制缓存键代替带前缀的十六进制键，开启后事件监听器收到的键不可读 */
+    private boolean binaryKeys = false;
+
+    /**
+     * 按权重限制的配置，权重为序列化后的近似字节数
+     *
+     * @param maximumBytes 最大字节数
+     * @return {@code LocalCacheConfig }
+     */
+    public static LocalCacheConfig maximumBytes(long maximumBytes) {
+        LocalCacheConfig config = new LocalCacheConfig();
+        config.setMaximumSize(0);
+        config.setMaximumWeight(maximumBytes);
+        config.setWeigher(new SerializedSizeWeigher());
+        return config;
+    }
+}
@@ -2,64 +2,83 @@ package com.lidachui.simpleRequest.cache;
 
 import com.lidachui.simpleRequest.constants.CacheEventType;
 
-import lombok.extern.slf4j.Slf4j;
-
-import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * LocalCacheStrategy
  *
+ * <p>容量由 {@link LocalCacheConfig} 限制，默认最多 10000 个条目，超出后按 W-TinyLFU 淘汰访问频率低的条目并发布
+ * {@link CacheEventType#EVICT} 事件；过期条目在读取时和后台每分钟一次的清理中删除。
+ *
+ * <p>缓存事件经 {@link CacheEventDispatcher} 异步投递，没有监听器关注的事件类型不会创建事件对象
+ *
  * @author: lihuijie
  * @date: 2024/12/5 14:13
  * @version: 1.0
  */
-@Slf4j
 public class LocalCacheStrategy implements CacheStrategy {
-    private final ConcurrentHashMap<String, CacheEntry> cache = new ConcurrentHashMap<>();
-    private final List<CacheEventListener> listeners = new CopyOnWriteArrayList<>();
+    private final BoundedLocalCache cache;
+    private final CacheEventDispatcher eventDispatcher;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final boolean binaryKeys;
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
     private final AtomicBoolean isTaskRunning = new AtomicBoolean(false);
     private ScheduledFuture<?> scheduledFuture;
 
+    public LocalCacheStrategy() {
+        this(new LocalCacheConfig());
+    }
+
+    public LocalCacheStrategy(LocalCacheConfig config) {
+        this.eventDispatcher =
+                new CacheEventDispatcher(
+                        "local", config.getEventBufferSize(), config.getEventOverflowPolicy());
+        this.cache =
+                new BoundedLocalCache(
+                        config,
+                        node ->
+                                eventDispatcher.publish(
+                                        node.getKey(), node.getValue(), CacheEventType.EVICT));
+        this.binaryKeys = config.isBinaryKeys();
+    }
+
     @Override
-    public void addListener(CacheEventListener listener) {
-        listeners.add(listener);
+    public boolean useBinaryKeys() {
+        return binaryKeys;
     }
 
     @Override
-    public void removeListener(CacheEventListener listener) {
-        listeners.remove(listener);
+    public void addListener(CacheEventListener listener) {
+        eventDispatcher.addListener(listener);
     }
 
-    private void notifyListeners(CacheEvent event) {
-        for (CacheEventListener listener : listeners) {
-            try {
-                listener.onEvent(event);
-            } catch (Exception e) {
-                log.error("Error notifying listener: " + e.getMessage(), e);
-            }
-        }
+    @Override
+    public void removeListener(CacheEventListener listener) {
+        eventDispatcher.removeListener(listener);
     }
 
     @Override
     public Object get(String key) {
-        CacheEntry entry = cache.get(key);
-        if (entry != null) {
-            if (entry.isExpired(System.currentTimeMillis())) {
-                notifyListeners(new CacheEvent(key, entry.getValue(), CacheEventType.EXPIRE));
-                cache.remove(key);
+        BoundedLocalCache.Node node = cache.get(key);
+        if (node != null) {
+            if (node.isExpired(System.currentTimeMillis())) {
+                missCount.increment();
+                if (cache.remove(node)) {
+                    eventDispatcher.publish(key, node.getValue(), CacheEventType.EXPIRE);
+                }
                 return null;
             }
-            notifyListeners(new CacheEvent(key, entry.getValue(), CacheEventType.GET));
-            return entry.getValue();
+            hitCount.increment();
+            eventDispatcher.publish(key, node.getValue(), CacheEventType.GET);
+            return node.getValue();
         }
+        missCount.increment();
         return null;
     }
 
@@ -67,16 +86,46 @@ public class LocalCacheStrategy implements CacheStrategy {
     public void put(String key, Object value, long expire, TimeUnit timeUnit) {
         // 将过期时间转换为毫秒
         long expireMillis = timeUnit.toMillis(expire);
-        cache.put(key, new CacheEntry(value, expireMillis));
-        notifyListeners(new CacheEvent(key, value, CacheEventType.PUT));
+        cache.put(key, value, System.currentTimeMillis() + expireMillis);
+        eventDispatcher.publish(key, value, CacheEventType.PUT);
         startCleanupTask();
     }
 
+    /**
+     * 仅当键不存在或已过期时写入，用于从远端回填，不会覆盖并发写入的新值
+     *
+     * @param key 钥匙
+     * @param value 值
+     * @param expire 过期时间
+     * @param timeUnit 时间单位
+     * @return 写入的条目，未写入时为 null
+     */
+    BoundedLocalCache.Node putIfAbsent(String key, Object value, long expire, TimeUnit timeUnit) {
+        long expiryTime = System.currentTimeMillis() + timeUnit.toMillis(expire);
+        BoundedLocalCache.Node node = cache.putIfAbsent(key, value, expiryTime);
+        if (node != null) {
+            eventDispatcher.publish(key, value, CacheEventType.PUT);
+            startCleanupTask();
+        }
+        return node;
+    }
+
+    /**
+     * 仅当键当前仍对应 {@code node} 时删除
+     *
+     * @param node 条目
+     */
+    void remove(BoundedLocalCache.Node node) {
+        if (cache.remove(node)) {
+            eventDispatcher.publish(node.getKey(), node.getValue(), CacheEventType.REMOVE);
+        }
+    }
+
     @Override
     public void remove(String key) {
-        CacheEntry entry = cache.remove(key);
-        if (entry != null) {
-            notifyListeners(new CacheEvent(key, entry.getValue(), CacheEventType.REMOVE));
+        BoundedLocalCache.Node node = cache.remove(key);
+        if (node != null) {
+            eventDispatcher.publish(key, node.getValue(), CacheEventType.REMOVE);
         }
     }
 
@@ -95,20 +144,12 @@ public class LocalCacheStrategy implements CacheStrategy {
     }
 
     private void cleanUp() {
-        long currentTime = System.currentTimeMillis();
-        cache.entrySet()
-                .removeIf(
-                        entry -> {
-                            if (entry.getValue().isExpired(currentTime)) {
-                                notifyListeners(
-                                        new CacheEvent(
-                                                entry.getKey(),
-                                                entry.getValue().getValue(),
-                                                CacheEventType.EXPIRE));
-                                return true;
-                            }
-                            return false;
-                        });
+        cache.removeExpired(
+                System.currentTimeMillis(),
+                node ->
+                        eventDispatcher.publish(
+                                node.getKey(), node.getValue(), CacheEventType.EXPIRE));
+        cache.cleanUp();
 
         if (cache.isEmpty()) {
             stopCleanupTask();
@@ -128,6 +169,7 @@ public class LocalCacheStrategy implements CacheStrategy {
      */
     public void shutdown() {
         stopCleanupTask();
+        eventDispatcher.shutdown();
         scheduler.shutdown();
         try {
             if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
@@ -139,21 +181,48 @@ public class LocalCacheStrategy implements CacheStrategy {
         }
     }
 
-    private static class CacheEntry {
-        private final Object value;
-        private final long expiryTime;
+    /**
+     * 当前条目数（可能包含尚未清理的过期条目）
+     *
+     * @return long
+     */
+    public long size() {
+        return cache.size();
+    }
 
-        CacheEntry(Object value, long expireMillis) {
-            this.value = value;
-            this.expiryTime = System.currentTimeMillis() + expireMillis;
-        }
+    /**
+     * 当前总权重，未设置最大权重时等于条目数
+     *
+     * @return long
+     */
+    public long getWeightedSize() {
+        return cache.weightedSize();
+    }
 
-        boolean isExpired(long currentTime) {
-            return currentTime > expiryTime;
-        }
+    public CacheEventDispatcher getEventDispatcher() {
+        return eventDispatcher;
+    }
 
-        Object getValue() {
-            return value;
-        }
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return cache.evictionCount();
+    }
+
+    /**
+     * 命中率，尚无请求时为 0
+     *
+     * @return double
+     */
+    public double getHitRate() {
+        long hits = hitCount.sum();
+        long total = hits + missCount.sum();
+        return total == 0 ? 0 : (double) hits / total;
     }
-}
\ No newline at end of file
+}
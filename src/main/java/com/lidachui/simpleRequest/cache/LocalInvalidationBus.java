@@ -0,0 +1,48 @@
+package com.lidachui.simpleRequest.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * LocalInvalidationBus 进程内的失效消息通道，同一频道的所有实例互相可见
+ *
+ * <p>用于单节点部署，或在测试中用多个 {@link NearCacheStrategy} 实例模拟集群，无需真实的 Redis
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 21:10
+ * @version: 1.0
+ */
+@Slf4j
+public class LocalInvalidationBus implements InvalidationBus {
+
+    private static final Map<String, List<Consumer<String>>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final String channel;
+    private final List<Consumer<String>> subscribers;
+
+    public LocalInvalidationBus(String channel) {
+        this.channel = channel;
+        this.subscribers = CHANNELS.computeIfAbsent(channel, k -> new CopyOnWriteArrayList<>());
+    }
+
+    @Override
+    public void publish(String message) {
+        for (Consumer<String> subscriber : subscribers) {
+            try {
+                subscriber.accept(message);
+            } catch (Exception e) {
+                log.error("Error handling invalidation on {}: {}", channel, e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        subscribers.add(listener);
+    }
+}
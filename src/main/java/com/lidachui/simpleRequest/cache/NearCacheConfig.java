@@ -0,0 +1,27 @@
+package com.lidachui.simpleRequest.cache;
+
+import lombok.Data;
+
+/**
+ * NearCacheConfig 近端缓存配置
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 21:10
+ * @version: 1.0
+ */
+@Data
+public class NearCacheConfig {
+
+    /** 本地一级缓存的容量配置 */
+    private LocalCacheConfig local = new LocalCacheConfig();
+
+    /**
+     * 本地副本的最长存活时间（毫秒），失效消息丢失时本地副本最多在这段时间内与 Redis 不一致。
+     *
+     * <p>从 Redis 读回的条目无法得知剩余过期时间，也按该值存活
+     */
+    private long localTtlMillis = 60 * 1000L;
+
+    /** 失效消息频道 */
+    private String channel = RedisInvalidationBus.DEFAULT_CHANNEL;
+}
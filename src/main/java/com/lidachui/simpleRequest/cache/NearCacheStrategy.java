@@ -0,0 +1,250 @@
+package com.lidachui.simpleRequest.cache;
+
+import com.lidachui.simpleRequest.constants.CacheEventType;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * NearCacheStrategy 两级缓存：本地有界缓存作为一级，Redis 等远端缓存作为二级
+ *
+ * <p>读取先查本地，未命中再查远端并回填本地。写入和删除同时作用于两级，并通过 {@link InvalidationBus} 广播失效消息，
+ * 其他节点收到后丢弃各自的本地副本。消息格式为 {@code 节点ID:缓存键}，缓存键为空表示清空全部，节点忽略自己发出的消息。
+ *
+ * <p>回填本地只在键不存在时写入，写入后若远端读取以来发生过写入或失效则撤回，避免把刚被覆盖的旧值写回一级缓存。
+ * 本节点的写入在远端写完、本地写入前递增序号，收到的失效消息在删除本地副本前递增序号，因此任何与回填交错的写入要么被回填看到，
+ * 要么在回填之后覆盖本地
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 21:10
+ * @version: 1.0
+ */
+@Slf4j
+public class NearCacheStrategy implements CacheStrategy {
+
+    private final LocalCacheStrategy local;
+    private final CacheStrategy remote;
+    private final InvalidationBus invalidationBus;
+    private final long localTtlMillis;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final CacheEventDispatcher eventDispatcher = new CacheEventDispatcher("near");
+    private final AtomicBoolean subscribed = new AtomicBoolean(false);
+
+    /** 写入和失效序号，用于判断远端读取期间是否发生过写入或失效 */
+    private final AtomicLong invalidationSequence = new AtomicLong();
+
+    private final LongAdder remoteHitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder invalidationsPublished = new LongAdder();
+    private final LongAdder invalidationsReceived = new LongAdder();
+
+    public NearCacheStrategy(CacheStrategy remote, InvalidationBus invalidationBus) {
+        this(remote, invalidationBus, new NearCacheConfig());
+    }
+
+    public NearCacheStrategy(
+            CacheStrategy remote, InvalidationBus invalidationBus, NearCacheConfig config) {
+        this.local = new LocalCacheStrategy(config.getLocal());
+        this.remote = remote;
+        this.invalidationBus = invalidationBus;
+        this.localTtlMillis = config.getLocalTtlMillis();
+    }
+
+    @Override
+    public Object get(String key) {
+        ensureSubscribed();
+        Object value = local.get(key);
+        if (value != null) {
+            eventDispatcher.publish(key, value, CacheEventType.GET);
+            return value;
+        }
+        long sequence = invalidationSequence.get();
+        value = remote.get(key);
+        if (value == null) {
+            missCount.increment();
+            return null;
+        }
+        remoteHitCount.increment();
+        fillLocal(key, value, sequence);
+        eventDispatcher.publish(key, value, CacheEventType.GET);
+        return value;
+    }
+
+    @Override
+    public void put(String key, Object value, long expire, TimeUnit timeUnit) {
+        ensureSubscribed();
+        remote.put(key, value, expire, timeUnit);
+        invalidationSequence.incrementAndGet();
+        local.put(
+                key,
+                value,
+                Math.min(timeUnit.toMillis(expire), localTtlMillis),
+                TimeUnit.MILLISECONDS);
+        publishInvalidation(key);
+        eventDispatcher.publish(key, value, CacheEventType.PUT);
+    }
+
+    @Override
+    public Map<String, Object> getAll(Collection<String> keys) {
+        ensureSubscribed();
+        Map<String, Object> result = new HashMap<>(keys.size() * 2);
+        List<String> missing = new ArrayList<>();
+        for (String key : keys) {
+            Object value = local.get(key);
+            if (value != null) {
+                result.put(key, value);
+            } else {
+                missing.add(key);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+        long sequence = invalidationSequence.get();
+        Map<String, Object> remoteValues = remote.getAll(missing);
+        remoteHitCount.add(remoteValues.size());
+        missCount.add(missing.size() - remoteValues.size());
+        remoteValues.forEach((key, value) -> fillLocal(key, value, sequence));
+        result.putAll(remoteValues);
+        return result;
+    }
+
+    @Override
+    public void putAll(Map<String, ?> entries, long expire, TimeUnit timeUnit) {
+        ensureSubscribed();
+        remote.putAll(entries, expire, timeUnit);
+        invalidationSequence.incrementAndGet();
+        long localTtl = Math.min(timeUnit.toMillis(expire), localTtlMillis);
+        entries.forEach(
+                (key, value) -> {
+                    local.put(key, value, localTtl, TimeUnit.MILLISECONDS);
+                    publishInvalidation(key);
+                });
+    }
+
+    @Override
+    public void remove(String key) {
+        ensureSubscribed();
+        remote.remove(key);
+        invalidationSequence.incrementAndGet();
+        local.remove(key);
+        publishInvalidation(key);
+        eventDispatcher.publish(key, null, CacheEventType.REMOVE);
+    }
+
+    @Override
+    public void removeAll() {
+        remote.removeAll();
+        invalidationSequence.incrementAndGet();
+        local.removeAll();
+        publishInvalidation("");
+    }
+
+    @Override
+    public void addListener(CacheEventListener listener) {
+        eventDispatcher.addListener(listener);
+    }
+
+    @Override
+    public void removeListener(CacheEventListener listener) {
+        eventDispatcher.removeListener(listener);
+    }
+
+    /**
+     * 用远端读到的值回填本地：只在键不存在时写入，写入后序号已变化则撤回，让位于并发的写入或失效
+     *
+     * @param key 钥匙
+     * @param value 远端读到的值
+     * @param sequence 远端读取前的序号
+     */
+    private void fillLocal(String key, Object value, long sequence) {
+        if (invalidationSequence.get() != sequence) {
+            return;
+        }
+        BoundedLocalCache.Node node =
+                local.putIfAbsent(key, value, localTtlMillis, TimeUnit.MILLISECONDS);
+        if (node != null && invalidationSequence.get() != sequence) {
+            local.remove(node);
+        }
+    }
+
+    private void ensureSubscribed() {
+        if (!subscribed.get() && subscribed.compareAndSet(false, true)) {
+            invalidationBus.subscribe(this::onInvalidation);
+        }
+    }
+
+    private void publishInvalidation(String key) {
+        try {
+            invalidationBus.publish(nodeId + ":" + key);
+            invalidationsPublished.increment();
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish cache invalidation for {}: {}", key, e.getMessage());
+        }
+    }
+
+    private void onInvalidation(String message) {
+        int separator = message.indexOf(':');
+        if (separator < 0 || message.regionMatches(0, nodeId, 0, nodeId.length())) {
+            return;
+        }
+        invalidationSequence.incrementAndGet();
+        invalidationsReceived.increment();
+        String key = message.substring(separator + 1);
+        if (key.isEmpty()) {
+            local.removeAll();
+        } else {
+            local.remove(key);
+        }
+    }
+
+    /** 关闭失效消息订阅和本地缓存 */
+    public void shutdown() {
+        invalidationBus.close();
+        local.shutdown();
+        eventDispatcher.shutdown();
+    }
+
+    /**
+     * 一级缓存，可用于查看本地命中率、淘汰数等指标
+     *
+     * @return {@code LocalCacheStrategy }
+     */
+    public LocalCacheStrategy getLocal() {
+        return local;
+    }
+
+    public long getLocalHitCount() {
+        return local.getHitCount();
+    }
+
+    public long getRemoteHitCount() {
+        return remoteHitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getInvalidationsPublished() {
+        return invalidationsPublished.sum();
+    }
+
+    public long getInvalidationsReceived() {
+        return invalidationsReceived.sum();
+    }
+
+    public CacheEventDispatcher getEventDispatcher() {
+        return eventDispatcher;
+    }
+}
@@ -6,22 +6,28 @@ import com.lidachui.simpleRequest.constants.CacheEventType;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
-import java.util.List;
-import java.util.Set;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.*;
 import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Resource;
-import org.springframework.util.CollectionUtils;
 
 import static com.lidachui.simpleRequest.util.HashBasedCacheKeyGenerator.FRAMEWORK_IDENTIFIER;
 
 /**
  * RedisCacheStrategy
  *
+ * <p>删除使用 {@code GETDEL}/{@code UNLINK}，清空使用 {@code SCAN} 游标分批 {@code UNLINK}，批量读写分别使用
+ * {@code MGET} 和管道，避免在大键空间上阻塞 Redis 或产生多次往返
+ *
  * @author: lihuijie
  * @date: 2024/12/5 14:13
  * @version: 1.0
@@ -29,33 +35,84 @@ import static com.lidachui.simpleRequest.util.HashBasedCacheKeyGenerator.FRAMEWO
 public class RedisCacheStrategy implements CacheStrategy {
 
     @Resource
-    private RedisTemplate redisTemplate;
+    private RedisTemplate<?, ?> redisTemplate;
 
     @Resource
     private StringRedisTemplate stringRedisTemplate;
 
     private static final Logger logger = LoggerFactory.getLogger(RedisCacheStrategy.class);
 
-    private final List<CacheEventListener> listeners = new CopyOnWriteArrayList<>();
+    /** SCAN 每次建议返回的键数，也是每批 UNLINK 的键数 */
+    private static final int SCAN_BATCH_SIZE = 500;
 
-    @Override
-    public void addListener(CacheEventListener listener) {
-        listeners.add(listener);
+    private final CacheEventDispatcher eventDispatcher = new CacheEventDispatcher("redis");
+
+    /** 值编解码器，为空时沿用 redisTemplate 的序列化方式 */
+    private RedisValueCodec valueCodec;
+
+    /** 配置了编解码器时使用的模板：字符串键、字节数组值 */
+    private volatile RedisTemplate<String, byte[]> codecTemplate;
+
+    /** 服务端是否支持 GETDEL（Redis 6.2+），不支持时改用管道执行 GET 和 DEL */
+    private volatile boolean getDelSupported = true;
+
+    /**
+     * 设置值编解码器，设置后缓存值以编码后的字节数组写入，键使用字符串序列化。与未设置时写入的数据互不可见
+     *
+     * @param valueCodec 值编解码器
+     */
+    public void setValueCodec(RedisValueCodec valueCodec) {
+        this.valueCodec = valueCodec;
+        this.codecTemplate = null;
     }
 
-    @Override
-    public void removeListener(CacheEventListener listener) {
-        listeners.remove(listener);
+    public RedisValueCodec getValueCodec() {
+        return valueCodec;
     }
 
-    private void notifyListeners(CacheEvent event) {
-        for (CacheEventListener listener : listeners) {
-            try {
-                listener.onEvent(event);
-            } catch (Exception e) {
-                logger.error("Error notifying listener: " + e.getMessage(), e);
+    /**
+     * 当前使用的模板。键统一为字符串，值为编码后的字节数组或由 redisTemplate 序列化的对象
+     *
+     * @return {@code RedisTemplate<String, Object> }
+     */
+    @SuppressWarnings("unchecked")
+    private RedisTemplate<String, Object> template() {
+        if (valueCodec == null) {
+            return (RedisTemplate<String, Object>) redisTemplate;
+        }
+        RedisTemplate<String, byte[]> template = codecTemplate;
+        if (template == null) {
+            synchronized (this) {
+                template = codecTemplate;
+                if (template == null) {
+                    template = new RedisTemplate<>();
+                    template.setConnectionFactory(redisTemplate.getConnectionFactory());
+                    template.setKeySerializer(RedisSerializer.string());
+                    template.setValueSerializer(RedisSerializer.byteArray());
+                    template.afterPropertiesSet();
+                    codecTemplate = template;
+                }
             }
         }
+        return (RedisTemplate<String, Object>) (RedisTemplate<String, ?>) template;
+    }
+
+    private Object encode(Object value) {
+        return valueCodec == null ? value : valueCodec.encode(value);
+    }
+
+    private Object decode(Object stored) {
+        return valueCodec == null || stored == null ? stored : valueCodec.decode((byte[]) stored);
+    }
+
+    @Override
+    public void addListener(CacheEventListener listener) {
+        eventDispatcher.addListener(listener);
+    }
+
+    @Override
+    public void removeListener(CacheEventListener listener) {
+        eventDispatcher.removeListener(listener);
     }
 
     @Override
@@ -64,9 +121,9 @@ public class RedisCacheStrategy implements CacheStrategy {
             logger.warn("Redis is not configured or disabled.");
             return null;
         }
-        Object value = redisTemplate.opsForValue().get(key);
+        Object value = decode(template().opsForValue().get(key));
         if (value != null) {
-            notifyListeners(new CacheEvent(key, value, CacheEventType.GET));
+            eventDispatcher.publish(key, value, CacheEventType.GET);
         }
         return value;
     }
@@ -77,8 +134,8 @@ public class RedisCacheStrategy implements CacheStrategy {
             logger.warn("Redis is not configured or disabled.");
             return;
         }
-        redisTemplate.opsForValue().set(key, value, expire, timeUnit);
-        notifyListeners(new CacheEvent(key, value, CacheEventType.PUT));
+        template().opsForValue().set(key, encode(value), expire, timeUnit);
+        eventDispatcher.publish(key, value, CacheEventType.PUT);
     }
 
     @Override
@@ -87,20 +144,141 @@ public class RedisCacheStrategy implements CacheStrategy {
             logger.warn("Redis is not configured or disabled.");
             return;
         }
-        Object value = redisTemplate.opsForValue().get(key);
-        redisTemplate.delete(key);
+        if (!eventDispatcher.hasListeners(CacheEventType.REMOVE)) {
+            template().unlink(key);
+            return;
+        }
+        // 只有存在 REMOVE 监听器时才需要旧值
+        Object value = getAndDelete(key);
         if (value != null) {
-            notifyListeners(new CacheEvent(key, value, CacheEventType.REMOVE));
+            eventDispatcher.publish(key, value, CacheEventType.REMOVE);
+        }
+    }
+
+    private Object getAndDelete(String key) {
+        if (getDelSupported) {
+            try {
+                return decode(template().opsForValue().getAndDelete(key));
+            } catch (DataAccessException e) {
+                if (!isUnknownCommand(e)) {
+                    // 连接断开、超时等错误与 GETDEL 是否可用无关
+                    throw e;
+                }
+                logger.warn(
+                        "GETDEL is not available, falling back to pipelined GET and DEL: {}",
+                        e.getMessage());
+                getDelSupported = false;
+            }
         }
+        List<Object> results =
+                template().executePipelined(
+                        new SessionCallback<Object>() {
+                            @Override
+                            @SuppressWarnings("unchecked")
+                            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                                RedisOperations<String, Object> ops =
+                                        (RedisOperations<String, Object>) operations;
+                                ops.opsForValue().get(key);
+                                ops.unlink(key);
+                                return null;
+                            }
+                        });
+        return results.isEmpty() ? null : decode(results.get(0));
+    }
+
+    /**
+     * 是否为服务端返回的未知命令错误（Redis 6.2 以下执行 GETDEL）
+     *
+     * @param e 异常
+     * @return boolean
+     */
+    private static boolean isUnknownCommand(Throwable e) {
+        for (Throwable current = e; current != null; current = current.getCause()) {
+            String message = current.getMessage();
+            if (message != null && message.startsWith("ERR unknown command")) {
+                return true;
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return false;
     }
 
     @Override
     public void removeAll() {
-        if (redisTemplate != null) {
-            Set<String> keys = redisTemplate.keys(FRAMEWORK_IDENTIFIER + "*");
-            if (!CollectionUtils.isEmpty(keys)) {
-                redisTemplate.delete(keys);
+        if (redisTemplate == null) {
+            return;
+        }
+        ScanOptions options =
+                ScanOptions.scanOptions()
+                        .match(FRAMEWORK_IDENTIFIER + "*")
+                        .count(SCAN_BATCH_SIZE)
+                        .build();
+        List<String> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+        try (Cursor<String> cursor = template().scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() >= SCAN_BATCH_SIZE) {
+                    template().unlink(batch);
+                    batch.clear();
+                }
             }
         }
+        if (!batch.isEmpty()) {
+            template().unlink(batch);
+        }
+    }
+
+    @Override
+    public Map<String, Object> getAll(Collection<String> keys) {
+        if (redisTemplate == null) {
+            logger.warn("Redis is not configured or disabled.");
+            return Collections.emptyMap();
+        }
+        List<String> keyList = new ArrayList<>(keys);
+        List<Object> values = template().opsForValue().multiGet(keyList);
+        if (values == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, Object> result = new HashMap<>(keyList.size() * 2);
+        for (int i = 0; i < keyList.size(); i++) {
+            Object value = decode(values.get(i));
+            if (value != null) {
+                result.put(keyList.get(i), value);
+                eventDispatcher.publish(keyList.get(i), value, CacheEventType.GET);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void putAll(Map<String, ?> entries, long expire, TimeUnit timeUnit) {
+        if (redisTemplate == null) {
+            logger.warn("Redis is not configured or disabled.");
+            return;
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+        template().executePipelined(
+                new SessionCallback<Object>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public <K, V> Object execute(RedisOperations<K, V> operations) {
+                        RedisOperations<String, Object> ops =
+                                (RedisOperations<String, Object>) operations;
+                        entries.forEach(
+                                (key, value) ->
+                                        ops.opsForValue()
+                                                .set(key, encode(value), expire, timeUnit));
+                        return null;
+                    }
+                });
+        entries.forEach((key, value) -> eventDispatcher.publish(key, value, CacheEventType.PUT));
+    }
+
+    public CacheEventDispatcher getEventDispatcher() {
+        return eventDispatcher;
     }
 }
@@ -0,0 +1,73 @@
+package com.lidachui.simpleRequest.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * RedisInvalidationBus 基于 Redis pub/sub 的失效消息通道
+ *
+ * <p>订阅连接在第一次 {@link #subscribe} 时才建立，未使用近端缓存的应用不会占用额外连接
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 21:10
+ * @version: 1.0
+ */
+@Slf4j
+public class RedisInvalidationBus implements InvalidationBus {
+
+    /** 默认频道 */
+    public static final String DEFAULT_CHANNEL = "simple-request:cache:invalidation";
+
+    private final RedisConnectionFactory connectionFactory;
+    private final StringRedisTemplate redisTemplate;
+    private final ChannelTopic topic;
+    private RedisMessageListenerContainer container;
+
+    public RedisInvalidationBus(RedisConnectionFactory connectionFactory) {
+        this(connectionFactory, DEFAULT_CHANNEL);
+    }
+
+    public RedisInvalidationBus(RedisConnectionFactory connectionFactory, String channel) {
+        this.connectionFactory = connectionFactory;
+        this.redisTemplate = new StringRedisTemplate(connectionFactory);
+        this.topic = new ChannelTopic(channel);
+    }
+
+    @Override
+    public void publish(String message) {
+        redisTemplate.convertAndSend(topic.getTopic(), message);
+    }
+
+    @Override
+    public synchronized void subscribe(Consumer<String> listener) {
+        if (container == null) {
+            container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(connectionFactory);
+            container.afterPropertiesSet();
+            container.start();
+        }
+        container.addMessageListener(
+                (message, pattern) ->
+                        listener.accept(new String(message.getBody(), StandardCharsets.UTF_8)),
+                topic);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (container != null) {
+            try {
+                container.destroy();
+            } catch (Exception e) {
+                log.warn("Failed to close invalidation listener: {}", e.getMessage());
+            }
+            container = null;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.lidachui.simpleRequest.cache;
+
+/**
+ * RedisValueCodec Redis 缓存值的编解码器
+ *
+ * <p>为 {@link RedisCacheStrategy} 配置编解码器后，缓存值以字节数组写入 Redis，不再依赖 {@code RedisTemplate} 的 JDK 序列化。
+ * {@link #decode(byte[])} 可以返回 {@link LazyCacheValue}，由调用方按需要的类型延迟反序列化
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 21:50
+ * @version: 1.0
+ */
+public interface RedisValueCodec {
+
+    /**
+     * 编码
+     *
+     * @param value 缓存值
+     * @return 字节数组
+     */
+    byte[] encode(Object value);
+
+    /**
+     * 解码，无法识别的数据返回 null，按未命中处理
+     *
+     * @param bytes 字节数组
+     * @return 缓存值
+     */
+    Object decode(byte[] bytes);
+}
@@ -0,0 +1,56 @@
+package com.lidachui.simpleRequest.cache;
+
+import com.lidachui.simpleRequest.serialize.JacksonSerializer;
+import com.lidachui.simpleRequest.serialize.Serializer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * SerializedSizeWeigher 以序列化后的大小估算条目权重，单位近似为字节
+ *
+ * <p>{@code byte[]} 和字符串直接取长度，其余对象用序列化器序列化后取长度。序列化失败时按 {@link #DEFAULT_WEIGHT} 计算
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 19:40
+ * @version: 1.0
+ */
+@Slf4j
+public class SerializedSizeWeigher implements CacheWeigher {
+
+    /** 无法估算时使用的权重 */
+    public static final int DEFAULT_WEIGHT = 1024;
+
+    private final Serializer serializer;
+
+    public SerializedSizeWeigher() {
+        this(new JacksonSerializer());
+    }
+
+    public SerializedSizeWeigher(Serializer serializer) {
+        this.serializer = serializer;
+    }
+
+    @Override
+    public int weigh(String key, Object value) {
+        int keySize = key == null ? 0 : key.length();
+        if (value == null) {
+            return keySize;
+        }
+        if (value instanceof LazyCacheValue) {
+            return keySize + ((LazyCacheValue) value).getEncodedSize();
+        }
+        if (value instanceof byte[]) {
+            return keySize + ((byte[]) value).length;
+        }
+        if (value instanceof CharSequence) {
+            return keySize + ((CharSequence) value).length();
+        }
+        try {
+            String serialized = serializer.serialize(value);
+            return keySize + (serialized == null ? 0 : serialized.length());
+        } catch (Exception e) {
+            log.debug("Failed to weigh cache value of {}: {}", value.getClass(), e.getMessage());
+            return keySize + DEFAULT_WEIGHT;
+        }
+    }
+}
@@ -1,13 +1,81 @@
 package com.lidachui.simpleRequest.constants;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 /**
  * BackoffStrategy
  *
+ * <p>带抖动的策略参考 “Exponential Backoff And Jitter”，用于打散多实例同时重试造成的流量尖峰
+ *
  * @author: lihuijie
  * @date: 2024/11/23 0:08
  * @version: 1.0
  */
 public enum BackoffStrategy {
-    FIXED,   // 固定间隔
-    EXPONENTIAL // 指数退避
+    // 固定间隔
+    FIXED {
+        @Override
+        public long nextDelay(long baseDelay, long previousDelay, int attempt, long maxDelay) {
+            return Math.min(baseDelay, maxDelay);
+        }
+    },
+    // 指数退避
+    EXPONENTIAL {
+        @Override
+        public long nextDelay(long baseDelay, long previousDelay, int attempt, long maxDelay) {
+            return exponential(baseDelay, attempt, maxDelay);
+        }
+    },
+    // 全抖动：[0, 指数退避值]
+    FULL_JITTER {
+        @Override
+        public long nextDelay(long baseDelay, long previousDelay, int attempt, long maxDelay) {
+            return random(0, exponential(baseDelay, attempt, maxDelay));
+        }
+    },
+    // 等抖动：指数退避值的一半 + [0, 另一半]
+    EQUAL_JITTER {
+        @Override
+        public long nextDelay(long baseDelay, long previousDelay, int attempt, long maxDelay) {
+            long half = exponential(baseDelay, attempt, maxDelay) / 2;
+            return half + random(0, half);
+        }
+    },
+    // 去相关抖动：[基础延迟, 上次延迟 * 3]
+    DECORRELATED_JITTER {
+        @Override
+        public long nextDelay(long baseDelay, long previousDelay, int attempt, long maxDelay) {
+            long upper = previousDelay > Long.MAX_VALUE / 3 ? Long.MAX_VALUE : previousDelay * 3;
+            return Math.min(random(baseDelay, Math.max(baseDelay, upper)), maxDelay);
+        }
+    };
+
+    /**
+     * 计算下一次重试前的延迟
+     *
+     * @param baseDelay 基础延迟
+     * @param previousDelay 上一次的延迟
+     * @param attempt 第几次重试，从 1 开始
+     * @param maxDelay 延迟上限
+     * @return long
+     */
+    public abstract long nextDelay(long baseDelay, long previousDelay, int attempt, long maxDelay);
+
+    private static long exponential(long baseDelay, int attempt, long maxDelay) {
+        if (baseDelay <= 0) {
+            return 0;
+        }
+        int shift = Math.min(attempt, 62);
+        if (baseDelay > (maxDelay >> shift)) {
+            return maxDelay;
+        }
+        return baseDelay << shift;
+    }
+
+    private static long random(long origin, long bound) {
+        if (bound <= origin) {
+            return origin;
+        }
+        return ThreadLocalRandom.current().nextLong(origin, bound == Long.MAX_VALUE ? bound : bound + 1);
+    }
 }
@@ -0,0 +1,13 @@
+package com.lidachui.simpleRequest.constants;
+
+/**
+ * BulkheadType 舱壁隔离方式
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 14:00
+ * @version: 1.0
+ */
+public enum BulkheadType {
+    SEMAPHORE,   // 信号量，限制在调用方线程上的并发数
+    THREAD_POOL  // 独立的有界线程池
+}
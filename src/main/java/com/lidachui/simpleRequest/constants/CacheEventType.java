@@ -11,5 +11,6 @@ public enum CacheEventType {
   PUT,    // 添加缓存
   GET,    // 获取缓存
   EXPIRE, // 缓存过期
-  REMOVE  // 手动删除
+  REMOVE, // 手动删除
+  EVICT   // 超出容量被淘汰
 }
@@ -0,0 +1,14 @@
+package com.lidachui.simpleRequest.constants;
+
+/**
+ * CircuitState 熔断器状态
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 13:10
+ * @version: 1.0
+ */
+public enum CircuitState {
+    CLOSED,    // 关闭，正常放行
+    OPEN,      // 打开，快速失败
+    HALF_OPEN  // 半开，放行有限的探测请求
+}
@@ -0,0 +1,14 @@
+package com.lidachui.simpleRequest.constants;
+
+/**
+ * LimitAlgorithm 自适应并发限制算法
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 15:00
+ * @version: 1.0
+ */
+public enum LimitAlgorithm {
+    AIMD,     // 加性增、乘性减，只根据是否过载调整
+    VEGAS,    // 根据无负载 RTT 估算排队长度
+    GRADIENT  // 根据长短期 RTT 之比调整
+}
@@ -0,0 +1,13 @@
+package com.lidachui.simpleRequest.constants;
+
+/**
+ * OverflowPolicy 有界事件缓冲区写满时的处理方式
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 20:10
+ * @version: 1.0
+ */
+public enum OverflowPolicy {
+    DROP,  // 丢弃新事件并计数，发布方不受影响
+    BLOCK  // 阻塞发布方直到缓冲区有空位，分发线程上的发布仍按丢弃处理
+}
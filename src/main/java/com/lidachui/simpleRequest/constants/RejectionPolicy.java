@@ -0,0 +1,15 @@
+package com.lidachui.simpleRequest.constants;
+
+/**
+ * RejectionPolicy 有界执行器队列满时的处理方式
+ *
+ * <p>没有丢弃排队任务的策略：排队的任务是请求或回调，丢弃后对应的 Future 永远不会完成
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 19:10
+ * @version: 1.0
+ */
+public enum RejectionPolicy {
+    ABORT,       // 抛出 RejectedExecutionException
+    CALLER_RUNS  // 在提交线程上直接执行，形成反压
+}
@@ -12,7 +12,8 @@ import lombok.Getter;
 @Getter
 public enum RequestClientType {
     REST_TEMPLATE("http", "restTemplateHandler"),
-    OKHTTP("http","okhttpClientHandler");
+    OKHTTP("http","okhttpClientHandler"),
+    OKHTTP_H2C("http", "okhttpH2cClientHandler");
 
     private final String type;
     private final String beanName;
@@ -0,0 +1,14 @@
+package com.lidachui.simpleRequest.constants;
+
+/**
+ * RequestPriority 请求优先级，高优先级通道中有等待的请求时低优先级请求不会被放行
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 17:00
+ * @version: 1.0
+ */
+public enum RequestPriority {
+    HIGH,    // 面向用户的交互请求
+    NORMAL,  // 默认
+    LOW      // 后台同步、批处理等，只使用剩余容量
+}
@@ -0,0 +1,13 @@
+package com.lidachui.simpleRequest.constants;
+
+/**
+ * SlidingWindowType 滑动窗口类型
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 13:10
+ * @version: 1.0
+ */
+public enum SlidingWindowType {
+    COUNT_BASED, // 最近 N 次调用
+    TIME_BASED   // 最近 N 秒
+}
@@ -1,19 +1,40 @@
 package com.lidachui.simpleRequest.core;
 
 import com.lidachui.simpleRequest.annotation.*;
+import com.lidachui.simpleRequest.async.AsyncExecutors;
+import com.lidachui.simpleRequest.async.CancellationToken;
+import com.lidachui.simpleRequest.async.Futures;
 import com.lidachui.simpleRequest.async.ResponseCallback;
+import com.lidachui.simpleRequest.async.SharedTimer;
 import com.lidachui.simpleRequest.auth.AuthProvider;
 import com.lidachui.simpleRequest.cache.CacheStrategy;
-import com.lidachui.simpleRequest.constants.BackoffStrategy;
+import com.lidachui.simpleRequest.cache.CachedValue;
+import com.lidachui.simpleRequest.cache.LazyCacheValue;
 import com.lidachui.simpleRequest.handler.AbstractHttpClientHandler;
 import com.lidachui.simpleRequest.handler.HttpClientHandler;
 import com.lidachui.simpleRequest.mock.MockGenerator;
+import com.lidachui.simpleRequest.reactive.ReactiveTypes;
+import com.lidachui.simpleRequest.reactive.ReactorAdapter;
+import com.lidachui.simpleRequest.registry.TypeBuilder;
+import com.lidachui.simpleRequest.resilience.BulkheadRegistry;
+import com.lidachui.simpleRequest.resilience.CircuitBreakerRegistry;
+import com.lidachui.simpleRequest.resilience.RateLimiterRegistry;
+import com.lidachui.simpleRequest.resilience.RequestBulkhead;
+import com.lidachui.simpleRequest.resilience.RequestCoalescer;
+import com.lidachui.simpleRequest.resilience.RequestCollapser;
+import com.lidachui.simpleRequest.resilience.RequestHedger;
+import com.lidachui.simpleRequest.resilience.SlidingWindowCircuitBreaker;
+import com.lidachui.simpleRequest.resilience.TokenBucketRateLimiter;
 import com.lidachui.simpleRequest.resolver.*;
+import com.lidachui.simpleRequest.retry.RetryPolicy;
+import com.lidachui.simpleRequest.retry.TokenBucketBudget;
 import com.lidachui.simpleRequest.serialize.Serializer;
 import com.lidachui.simpleRequest.util.*;
 import com.lidachui.simpleRequest.validator.ResponseValidator;
 import com.lidachui.simpleRequest.validator.ValidationResult;
 
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
@@ -22,12 +43,22 @@ import org.springframework.cglib.proxy.MethodInterceptor;
 import org.springframework.util.StringUtils;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * HttpClientProxyFactory
@@ -41,6 +72,42 @@ public class HttpClientProxyFactory extends AbstractClientProxyFactory {
 
     private final RequestBuilder requestBuilder = new HttpRequestBuilder();
 
+    /** 客户端级重试预算 */
+    private final Map<Class<?>, TokenBucketBudget> retryBudgets = new ConcurrentHashMap<>();
+
+    /** 方法级对冲执行器 */
+    private final Map<Method, RequestHedger> hedgers = new ConcurrentHashMap<>();
+
+    /** 在途请求合并器 */
+    private final RequestCoalescer requestCoalescer = new RequestCoalescer();
+
+    /** 方法级请求折叠器 */
+    private final Map<Method, RequestCollapser> collapsers = new ConcurrentHashMap<>();
+
+    /** 正在后台刷新的缓存键，保证每个键同时只有一次刷新 */
+    private final Set<String> refreshingKeys = ConcurrentHashMap.newKeySet();
+
+    /** 熔断器注册表 */
+    @Getter @Setter
+    private CircuitBreakerRegistry circuitBreakerRegistry = new CircuitBreakerRegistry();
+
+    /** 方法对应的熔断器，未配置时为 empty */
+    private final Map<Method, Optional<SlidingWindowCircuitBreaker>> circuitBreakers =
+            new ConcurrentHashMap<>();
+
+    /** 舱壁注册表 */
+    @Getter @Setter private BulkheadRegistry bulkheadRegistry = new BulkheadRegistry();
+
+    /** 方法对应的舱壁，未配置时为 empty */
+    private final Map<Method, Optional<RequestBulkhead>> bulkheads = new ConcurrentHashMap<>();
+
+    /** 限流器注册表 */
+    @Getter @Setter private RateLimiterRegistry rateLimiterRegistry = new RateLimiterRegistry();
+
+    /** 方法对应的限流器，未配置时为 empty */
+    private final Map<Method, Optional<TokenBucketRateLimiter>> rateLimiters =
+            new ConcurrentHashMap<>();
+
     /**
      * 创建代理对象
      *
@@ -97,48 +164,713 @@ public class HttpClientProxyFactory extends AbstractClientProxyFactory {
             if (restRequest == null) {
                 return proxy.invokeSuper(obj, args);
             }
-            // 检查是否有 @Mock 注解
-            Mock mockAnnotation = method.getAnnotation(Mock.class);
-            if (mockAnnotation != null && !isVoidReturnType(method)) {
-                Class<? extends MockGenerator> mockedGeneratorClass =
-                        mockAnnotation.mockGenerator();
-                MockGenerator mockGenerator = getBeanOrCreate(mockedGeneratorClass, null);
-                Type returnType = method.getGenericReturnType();
-                return mockGenerator.generate(returnType);
+            if (ReactiveTypes.isReactiveReturnType(method)) {
+                return ReactorAdapter.adapt(
+                        method,
+                        () ->
+                                completeOnCallbackExecutor(
+                                        method,
+                                        asFuture(
+                                                interceptRestRequest(
+                                                        obj,
+                                                        clientInterface,
+                                                        method,
+                                                        args,
+                                                        baseUrl,
+                                                        responseValidator,
+                                                        serializer))),
+                        serializer);
+            }
+            Object result =
+                    interceptRestRequest(
+                            obj, clientInterface, method, args, baseUrl, responseValidator, serializer);
+            return isFutureReturnType(method)
+                    ? completeOnCallbackExecutor(method, asFuture(result))
+                    : result;
+        };
+    }
+
+    /**
+     * 处理 Rest 方法调用：依次经过 Mock、缓存，再发起请求
+     *
+     * @param obj 代理对象
+     * @param clientInterface 客户端接口类
+     * @param method 方法
+     * @param args 参数
+     * @param baseUrl 基础URL
+     * @param responseValidator 响应验证器
+     * @param serializer 序列化器
+     * @return 请求结果，异步方法为结果 Future
+     */
+    private Object interceptRestRequest(
+            Object obj,
+            Class<?> clientInterface,
+            Method method,
+            Object[] args,
+            String baseUrl,
+            ResponseValidator responseValidator,
+            Serializer serializer) {
+        // 检查是否有 @Mock 注解
+        Mock mockAnnotation = method.getAnnotation(Mock.class);
+        if (mockAnnotation != null && !isVoidReturnType(method)) {
+            Class<? extends MockGenerator> mockedGeneratorClass = mockAnnotation.mockGenerator();
+            MockGenerator mockGenerator = getBeanOrCreate(mockedGeneratorClass, null);
+            if (ReactiveTypes.isFlux(method)) {
+                return CompletableFuture.completedFuture(
+                        mockGenerator.generate(
+                                TypeBuilder.paramType(
+                                        List.class, ReactiveTypes.getElementType(method))));
+            }
+            if (isAsyncReturnType(method)) {
+                return CompletableFuture.completedFuture(
+                        mockGenerator.generate(getAsyncResultType(method)));
+            }
+            Type returnType = method.getGenericReturnType();
+            return mockGenerator.generate(returnType);
+        }
+
+        Cacheable cacheable = method.getAnnotation(Cacheable.class);
+        if (cacheable != null) {
+            try {
+                CacheStrategy cacheStrategy = getBeanOrCreate(cacheable.strategy(), null);
+                CacheKey key = HashBasedCacheKeyGenerator.generateCanonicalKey(method, args);
+                String cacheKey =
+                        cacheStrategy.useBinaryKeys() ? key.toBinaryString() : key.toString();
+                Object cachedResult = readCache(cacheStrategy, cacheKey, method);
+                // 获取当前方法的响应验证器
+                ResponseValidator currentValidator =
+                        method.isAnnotationPresent(ResponseValid.class)
+                                ? getBeanOrCreate(
+                                        method.getAnnotation(ResponseValid.class)
+                                                .responseValidator(),
+                                        null)
+                                : responseValidator;
+                Supplier<Object> loader =
+                        () ->
+                                invokeRestRequest(
+                                        obj,
+                                        clientInterface,
+                                        method,
+                                        args,
+                                        baseUrl,
+                                        currentValidator,
+                                        serializer);
+                if (isRefreshable(cacheable) && !isVoidReturnType(method)) {
+                    Object[] refreshArgs = detachCallerArgs(method, args);
+                    Supplier<Object> refresher =
+                            () ->
+                                    invokeRestRequest(
+                                            obj,
+                                            clientInterface,
+                                            method,
+                                            refreshArgs,
+                                            baseUrl,
+                                            currentValidator,
+                                            serializer);
+                    return interceptRefreshable(
+                            method,
+                            cacheable,
+                            cacheStrategy,
+                            cacheKey,
+                            cachedResult,
+                            loader,
+                            refresher);
+                }
+                if (cachedResult != null) {
+                    Object value = resolveCached(cachedResult, method);
+                    return isAsyncReturnType(method)
+                            ? CompletableFuture.completedFuture(value)
+                            : value;
+                }
+                Object result = loader.get();
+                if (isAsyncReturnType(method)) {
+                    // 异步结果在完成后再写入缓存，缓存的是实际数据而不是 Future
+                    asFuture(result)
+                            .whenComplete(
+                                    (value, throwable) -> {
+                                        if (throwable == null) {
+                                            putCache(cacheStrategy, cacheKey, value, cacheable);
+                                        }
+                                    });
+                    return result;
+                }
+                cacheStrategy.put(cacheKey, result, cacheable.expire(), cacheable.timeUnit());
+                return result;
+            } catch (IllegalStateException e) {
+                log.error("Caching is disabled: {}", e.getMessage());
+            }
+        }
+        return invokeRestRequest(
+                obj, clientInterface, method, args, baseUrl, responseValidator, serializer);
+    }
+
+    /**
+     * 读取缓存并立即按方法的返回类型解码。接口升级或滚动发布期间缓存数据可能与返回类型不再匹配，解码失败时删除该键并按未命中处理，
+     * 由上游重新加载
+     *
+     * @param cacheStrategy 缓存策略
+     * @param cacheKey 缓存键
+     * @param method 方法
+     * @return 解码后的缓存值，未命中或无法解码时为 null
+     */
+    private static Object readCache(CacheStrategy cacheStrategy, String cacheKey, Method method) {
+        Object cached = cacheStrategy.get(cacheKey);
+        try {
+            if (!(cached instanceof CachedValue)) {
+                return resolveCached(cached, method);
+            }
+            CachedValue value = (CachedValue) cached;
+            if (!(value.getValue() instanceof LazyCacheValue)) {
+                return value;
+            }
+            return new CachedValue(
+                    resolveCached(value.getValue(), method),
+                    value.getRefreshAt(),
+                    value.getExpireAt(),
+                    value.getStaleUntil(),
+                    value.getErrorUntil());
+        } catch (RuntimeException e) {
+            log.warn("Discarding undecodable cache entry {}: {}", cacheKey, e.getMessage());
+            try {
+                cacheStrategy.remove(cacheKey);
+            } catch (RuntimeException removeFailure) {
+                log.warn(
+                        "Failed to remove cache entry {}: {}",
+                        cacheKey,
+                        removeFailure.getMessage());
             }
+            return null;
+        }
+    }
+
+    /**
+     * 按方法的返回类型还原缓存值，远端缓存延迟反序列化的 {@link LazyCacheValue} 在这里解码
+     *
+     * @param value 缓存值
+     * @param method 方法
+     * @return {@code Object }
+     */
+    private static Object resolveCached(Object value, Method method) {
+        return LazyCacheValue.resolve(
+                value,
+                isAsyncReturnType(method)
+                        ? getAsyncResultType(method)
+                        : method.getGenericReturnType());
+    }
 
-            Cacheable cacheable = method.getAnnotation(Cacheable.class);
-            if (cacheable != null) {
-                try {
-                    CacheStrategy cacheStrategy = getBeanOrCreate(cacheable.strategy(), null);
-                    String cacheKey = HashBasedCacheKeyGenerator.generatePureHashKey(method, args);
-                    Object cachedResult = cacheStrategy.get(cacheKey);
-                    if (cachedResult != null) {
-                        return cachedResult;
+    /**
+     * 是否配置了提前刷新或过期后继续使用旧值，配置后缓存中保存的是 {@link CachedValue}
+     *
+     * @param cacheable 缓存配置
+     * @return boolean
+     */
+    private static boolean isRefreshable(Cacheable cacheable) {
+        return cacheable.refreshAfter() > 0
+                || cacheable.staleWhileRevalidate() > 0
+                || cacheable.staleIfError() > 0;
+    }
+
+    /**
+     * 带提前刷新的缓存读取：未到刷新时间直接返回；到了刷新时间或处于过期宽限期内时返回旧值并在后台刷新一次；
+     * 其余情况同步加载，加载失败且旧值仍在 staleIfError 窗口内时返回旧值
+     *
+     * @param method 方法
+     * @param cacheable 缓存配置
+     * @param cacheStrategy 缓存策略
+     * @param cacheKey 缓存键
+     * @param cachedResult 缓存中读到的值
+     * @param loader 实际请求
+     * @param refresher 后台刷新用的请求，不携带调用方的取消令牌和响应头参数
+     * @return {@code Object }
+     */
+    private Object interceptRefreshable(
+            Method method,
+            Cacheable cacheable,
+            CacheStrategy cacheStrategy,
+            String cacheKey,
+            Object cachedResult,
+            Supplier<Object> loader,
+            Supplier<Object> refresher) {
+        boolean async = isAsyncReturnType(method);
+        long now = System.currentTimeMillis();
+        CachedValue cached =
+                cachedResult instanceof CachedValue ? (CachedValue) cachedResult : null;
+        if (cached != null && cached.isServable(now)) {
+            if (!cached.isFresh(now)) {
+                refreshInBackground(method, cacheable, cacheStrategy, cacheKey, refresher);
+            }
+            Object value = resolveCached(cached.getValue(), method);
+            return async ? CompletableFuture.completedFuture(value) : value;
+        }
+        if (!async) {
+            Object result;
+            try {
+                result = loader.get();
+            } catch (RuntimeException e) {
+                if (cached != null && cached.isUsableOnError(System.currentTimeMillis())) {
+                    log.warn("Serving stale cache for {}: {}", cacheKey, e.getMessage());
+                    return resolveCached(cached.getValue(), method);
+                }
+                throw e;
+            }
+            putRefreshable(cacheStrategy, cacheKey, result, cacheable);
+            return result;
+        }
+        CompletableFuture<Object> future = asFuture(loader.get());
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        future.whenComplete(
+                (value, throwable) -> {
+                    if (throwable == null) {
+                        putRefreshable(cacheStrategy, cacheKey, value, cacheable);
+                        result.complete(value);
+                    } else if (cached != null
+                            && cached.isUsableOnError(System.currentTimeMillis())) {
+                        log.warn(
+                                "Serving stale cache for {}: {}",
+                                cacheKey,
+                                ExceptionUtil.unwrap(throwable).getMessage());
+                        result.complete(resolveCached(cached.getValue(), method));
+                    } else {
+                        result.completeExceptionally(throwable);
                     }
-                    // 获取当前方法的响应验证器
-                    ResponseValidator currentValidator = responseValidator;
-                    ResponseValid annotation = method.getAnnotation(ResponseValid.class);
-                    if (annotation != null) {
-                        currentValidator = getBeanOrCreate(annotation.responseValidator(), null);
+                });
+        Futures.propagateCancel(result, future);
+        return result;
+    }
+
+    /**
+     * 在方法的异步执行器上刷新缓存，同一个键同时只刷新一次；刷新失败保留旧值
+     *
+     * @param method 方法
+     * @param cacheable 缓存配置
+     * @param cacheStrategy 缓存策略
+     * @param cacheKey 缓存键
+     * @param loader 实际请求
+     */
+    private void refreshInBackground(
+            Method method,
+            Cacheable cacheable,
+            CacheStrategy cacheStrategy,
+            String cacheKey,
+            Supplier<Object> loader) {
+        if (!refreshingKeys.add(cacheKey)) {
+            return;
+        }
+        Runnable refresh =
+                () -> {
+                    try {
+                        Object result = loader.get();
+                        if (isAsyncReturnType(method)) {
+                            asFuture(result)
+                                    .whenComplete(
+                                            (value, throwable) ->
+                                                    completeRefresh(
+                                                            cacheStrategy,
+                                                            cacheKey,
+                                                            cacheable,
+                                                            value,
+                                                            throwable));
+                        } else {
+                            completeRefresh(cacheStrategy, cacheKey, cacheable, result, null);
+                        }
+                    } catch (RuntimeException e) {
+                        completeRefresh(cacheStrategy, cacheKey, cacheable, null, e);
                     }
-                    Object result =
+                };
+        try {
+            AsyncExecutors.forMethod(method).execute(refresh);
+        } catch (RejectedExecutionException e) {
+            refreshingKeys.remove(cacheKey);
+            log.warn("Background cache refresh rejected for {}", cacheKey);
+        }
+    }
+
+    /**
+     * 后台刷新结束：成功时写入新值，失败时保留旧值
+     *
+     * @param cacheStrategy 缓存策略
+     * @param cacheKey 缓存键
+     * @param cacheable 缓存配置
+     * @param value 结果
+     * @param throwable 异常
+     */
+    private void completeRefresh(
+            CacheStrategy cacheStrategy,
+            String cacheKey,
+            Cacheable cacheable,
+            Object value,
+            Throwable throwable) {
+        refreshingKeys.remove(cacheKey);
+        if (throwable == null) {
+            putRefreshable(cacheStrategy, cacheKey, value, cacheable);
+        } else {
+            log.warn(
+                    "Background cache refresh failed for {}: {}",
+                    cacheKey,
+                    ExceptionUtil.unwrap(throwable).getMessage());
+        }
+    }
+
+    /**
+     * 以 {@link CachedValue} 写入缓存，存储时长覆盖过期后的宽限期
+     *
+     * @param cacheStrategy 缓存策略
+     * @param cacheKey 缓存键
+     * @param value 结果
+     * @param cacheable 缓存配置
+     */
+    private static void putRefreshable(
+            CacheStrategy cacheStrategy, String cacheKey, Object value, Cacheable cacheable) {
+        TimeUnit timeUnit = cacheable.timeUnit();
+        long now = System.currentTimeMillis();
+        long expireAt = now + timeUnit.toMillis(cacheable.expire());
+        long refreshAt =
+                cacheable.refreshAfter() > 0
+                        ? Math.min(now + timeUnit.toMillis(cacheable.refreshAfter()), expireAt)
+                        : expireAt;
+        long staleUntil = expireAt + timeUnit.toMillis(cacheable.staleWhileRevalidate());
+        long errorUntil =
+                Math.max(staleUntil, expireAt + timeUnit.toMillis(cacheable.staleIfError()));
+        try {
+            cacheStrategy.put(
+                    cacheKey,
+                    new CachedValue(value, refreshAt, expireAt, staleUntil, errorUntil),
+                    errorUntil - now,
+                    TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            log.error("Failed to cache result: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 写入异步结果的缓存，失败只记录日志，不影响已经完成的调用
+     *
+     * @param cacheStrategy 缓存策略
+     * @param cacheKey 缓存键
+     * @param value 结果
+     * @param cacheable 缓存配置
+     */
+    private static void putCache(
+            CacheStrategy cacheStrategy, String cacheKey, Object value, Cacheable cacheable) {
+        try {
+            cacheStrategy.put(cacheKey, value, cacheable.expire(), cacheable.timeUnit());
+        } catch (RuntimeException e) {
+            log.error("Failed to cache async result: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 调用Rest请求，方法标注了 {@link Collapse} 时折叠为批量调用，标注了 {@link Coalesce} 时与在途的相同调用合并；
+     * 带 {@link ResponseHeader} 参数的方法每个调用方都要拿到自己的响应头，不参与合并
+     *
+     * @param proxy 代理对象
+     * @param clientInterface 客户端接口类
+     * @param method 方法
+     * @param args 参数
+     * @param baseUrl 基础URL
+     * @param responseValidator 响应验证器
+     * @param serializer 序列化器
+     * @return 请求结果
+     */
+    private Object invokeRestRequest(
+            Object proxy,
+            Class<?> clientInterface,
+            Method method,
+            Object[] args,
+            String baseUrl,
+            ResponseValidator responseValidator,
+            Serializer serializer) {
+        Collapse collapse = method.getAnnotation(Collapse.class);
+        if (collapse != null) {
+            return collapseRequest(proxy, method, args, collapse);
+        }
+        if (!method.isAnnotationPresent(Coalesce.class) || hasResponseHeaderParameter(method)) {
+            return handleRestRequest(
+                    clientInterface, method, args, baseUrl, responseValidator, serializer);
+        }
+        RequestCoalescer.Key key = RequestCoalescer.Key.of(method, args);
+        // 共享调用使用合并器的令牌，调用方自己的令牌只取消该调用方的 Future
+        CancellationToken callerToken = findCancellationToken(args);
+        if (isAsyncReturnType(method)) {
+            return requestCoalescer.executeAsync(
+                    key,
+                    callerToken,
+                    token ->
+                            asFuture(
+                                    handleRestRequest(
+                                            clientInterface,
+                                            method,
+                                            replaceCancellationToken(args, token),
+                                            baseUrl,
+                                            responseValidator,
+                                            serializer)));
+        }
+        if (!method.isAnnotationPresent(Async.class)) {
+            return requestCoalescer.execute(
+                    key,
+                    callerToken,
+                    token ->
+                            handleRestRequest(
+                                    clientInterface,
+                                    method,
+                                    replaceCancellationToken(args, token),
+                                    baseUrl,
+                                    responseValidator,
+                                    serializer));
+        }
+        checkReturnTypeAndParameters(method, args);
+        ResponseCallback callback = findCallbackParameter(method, args);
+        CompletableFuture<Object> own =
+                requestCoalescer.executeAsync(
+                        key,
+                        callerToken,
+                        token -> {
+                            CompletableFuture<Object> future = new CompletableFuture<>();
                             handleRestRequest(
                                     clientInterface,
                                     method,
-                                    args,
+                                    replaceCallback(
+                                            method, replaceCancellationToken(args, token), future),
                                     baseUrl,
-                                    currentValidator,
+                                    responseValidator,
                                     serializer);
-                    cacheStrategy.put(cacheKey, result, cacheable.expire(), cacheable.timeUnit());
-                    return result;
-                } catch (IllegalStateException e) {
-                    log.error("Caching is disabled: {}", e.getMessage());
+                            return future;
+                        });
+        notifyCallback(method, callback, own);
+        return null;
+    }
+
+    /**
+     * 折叠请求：把 key 交给方法的折叠器，由批量方法统一取回
+     *
+     * @param proxy 代理对象
+     * @param method 方法
+     * @param args 参数
+     * @param collapse 折叠配置
+     * @return 请求结果，回调式异步方法为 null
+     */
+    private Object collapseRequest(Object proxy, Method method, Object[] args, Collapse collapse) {
+        RequestCollapser collapser =
+                collapsers.computeIfAbsent(
+                        method, k -> createRequestCollapser(proxy, method, collapse));
+        Object key = args[findCollapseKeyIndex(method)];
+        // 批量调用由多个调用方共享，调用方的令牌只取消自己的 Future
+        CancellationToken token = findCancellationToken(args);
+        if (isAsyncReturnType(method)) {
+            return collapser.submit(key, token);
+        }
+        if (!method.isAnnotationPresent(Async.class)) {
+            return collapser.execute(key, token);
+        }
+        checkReturnTypeAndParameters(method, args);
+        ResponseCallback callback = findCallbackParameter(method, args);
+        notifyCallback(method, callback, collapser.submit(key, token));
+        return null;
+    }
+
+    /**
+     * 创建折叠器，批量调用通过代理对象执行，因此同样经过重试、熔断等处理
+     *
+     * @param proxy 代理对象
+     * @param method 方法
+     * @param collapse 折叠配置
+     * @return {@code RequestCollapser }
+     */
+    private RequestCollapser createRequestCollapser(
+            Object proxy, Method method, Collapse collapse) {
+        Method batchMethod = findBatchMethod(method, collapse.batchMethod());
+        Class<?> parameterType = batchMethod.getParameterTypes()[0];
+        String name = method.getDeclaringClass().getName() + "#" + method.getName();
+        return new RequestCollapser(
+                name,
+                collapse,
+                keys -> {
+                    try {
+                        return batchMethod.invoke(proxy, toBatchArgument(parameterType, keys));
+                    } catch (InvocationTargetException e) {
+                        return ExceptionUtil.rethrow(e.getCause());
+                    } catch (IllegalAccessException e) {
+                        throw new IllegalStateException(e);
+                    }
+                },
+                AsyncExecutors.forMethod(method));
+    }
+
+    /**
+     * 查找批量方法：同一接口上同名且只有一个集合或数组参数的方法
+     *
+     * @param method 单条方法
+     * @param batchMethodName 批量方法名
+     * @return 批量方法
+     */
+    private static Method findBatchMethod(Method method, String batchMethodName) {
+        for (Method candidate : method.getDeclaringClass().getMethods()) {
+            if (candidate.getName().equals(batchMethodName)
+                    && candidate.getParameterCount() == 1) {
+                Class<?> type = candidate.getParameterTypes()[0];
+                if (type.isArray() || Collection.class.isAssignableFrom(type)) {
+                    return candidate;
                 }
             }
-            return handleRestRequest(
-                    clientInterface, method, args, baseUrl, responseValidator, serializer);
-        };
+        }
+        throw new IllegalStateException(
+                "No batch method "
+                        + batchMethodName
+                        + " with a single collection or array parameter found on "
+                        + method.getDeclaringClass().getName());
+    }
+
+    /**
+     * 把 key 列表转换为批量方法的参数类型
+     *
+     * @param parameterType 参数类型
+     * @param keys key 列表
+     * @return 参数
+     */
+    private static Object toBatchArgument(Class<?> parameterType, List<Object> keys) {
+        if (parameterType.isArray()) {
+            Object array = Array.newInstance(parameterType.getComponentType(), keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                Array.set(array, i, keys.get(i));
+            }
+            return array;
+        }
+        if (Set.class.isAssignableFrom(parameterType)) {
+            return new LinkedHashSet<>(keys);
+        }
+        return keys;
+    }
+
+    /**
+     * 查找折叠方法的 key 参数位置
+     *
+     * @param method 方法
+     * @return 参数下标
+     */
+    private static int findCollapseKeyIndex(Method method) {
+        Parameter[] parameters = method.getParameters();
+        int index = -1;
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i].isAnnotationPresent(Callback.class)
+                    || parameters[i].isAnnotationPresent(ResponseHeader.class)
+                    || CancellationToken.class.isAssignableFrom(parameters[i].getType())) {
+                continue;
+            }
+            if (index >= 0) {
+                throw new IllegalStateException(
+                        "@Collapse method "
+                                + method.getName()
+                                + " must have exactly one key parameter");
+            }
+            index = i;
+        }
+        if (index < 0) {
+            throw new IllegalStateException(
+                    "@Collapse method " + method.getName() + " must have exactly one key parameter");
+        }
+        return index;
+    }
+
+    /**
+     * 获取方法的折叠器，可用于查看批量调用次数
+     *
+     * @param method 方法
+     * @return 折叠器，未发生过折叠调用时为 null
+     */
+    public RequestCollapser getRequestCollapser(Method method) {
+        return collapsers.get(method);
+    }
+
+    /**
+     * 复制参数，并把回调参数替换为完成指定 Future 的回调
+     *
+     * @param method 方法
+     * @param args 参数
+     * @param future 结果
+     * @return 新的参数
+     */
+    private static boolean hasResponseHeaderParameter(Method method) {
+        for (Parameter parameter : method.getParameters()) {
+            if (parameter.isAnnotationPresent(ResponseHeader.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Object[] replaceCallback(
+            Method method, Object[] args, CompletableFuture<Object> future) {
+        Object[] copy = args.clone();
+        Parameter[] parameters = method.getParameters();
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i].isAnnotationPresent(Callback.class)) {
+                copy[i] =
+                        new ResponseCallback<Object>() {
+                            @Override
+                            public void onSuccess(Object result) {
+                                future.complete(result);
+                            }
+
+                            @Override
+                            public void onFailure(Throwable throwable) {
+                                future.completeExceptionally(throwable);
+                            }
+                        };
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * 复制参数供后台刷新使用：去掉调用方的取消令牌和 {@link ResponseHeader} 参数，
+     * 调用方返回后刷新不会被其取消，也不会再往其响应头 Map 里写入
+     *
+     * @param method 方法
+     * @param args 参数
+     * @return 新的参数
+     */
+    private static Object[] detachCallerArgs(Method method, Object[] args) {
+        if (args == null) {
+            return null;
+        }
+        Object[] copy = args.clone();
+        Parameter[] parameters = method.getParameters();
+        for (int i = 0; i < parameters.length; i++) {
+            if (copy[i] instanceof CancellationToken
+                    || parameters[i].isAnnotationPresent(ResponseHeader.class)) {
+                copy[i] = null;
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * 把参数中的取消令牌替换为共享调用的令牌
+     *
+     * @param args 参数
+     * @param token 共享调用的令牌
+     * @return 替换后的参数副本，没有令牌参数时为原数组
+     */
+    private static Object[] replaceCancellationToken(Object[] args, CancellationToken token) {
+        if (findCancellationToken(args) == null) {
+            return args;
+        }
+        Object[] copy = args.clone();
+        for (int i = 0; i < copy.length; i++) {
+            if (copy[i] instanceof CancellationToken) {
+                copy[i] = token;
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * 获取在途请求合并器，可用于查看合并次数
+     *
+     * @return {@code RequestCoalescer }
+     */
+    public RequestCoalescer getRequestCoalescer() {
+        return requestCoalescer;
     }
 
     /**
@@ -162,14 +894,86 @@ public class HttpClientProxyFactory extends AbstractClientProxyFactory {
         Request request = requestBuilder.buildRequest(method, args, baseUrl);
         addAuth(clientInterface, method, request);
         request.setSerializer(serializer);
+        Priority priority = findAnnotation(method, Priority.class);
+        if (priority != null) {
+            request.setPriority(priority.value());
+        }
+        request.setTenant(findTenant(method, args));
+        request.setCancellationToken(findCancellationToken(args));
 
         HttpClientHandler httpClientHandler = getHttpClientHandler(clientInterface);
         Retry retry = method.getAnnotation(Retry.class);
+        TokenBucketBudget retryBudget = getRetryBudget(clientInterface);
+        if (retryBudget != null) {
+            retryBudget.deposit();
+        }
+        RetryPolicy retryPolicy = RetryPolicy.of(retry, retryBudget);
 
         if (retry != null) {
-            return retryRequest(httpClientHandler, request, responseValidator, retry, method, args);
+            return retryRequest(
+                    httpClientHandler, request, responseValidator, retryPolicy, method, args);
+        }
+        return sendRequest(httpClientHandler, request, responseValidator, retryPolicy, method, args);
+    }
+
+    /**
+     * 查找 {@link TenantKey} 参数的值
+     *
+     * @param method 方法
+     * @param args 参数
+     * @return 租户，没有租户参数时为 null
+     */
+    private static String findTenant(Method method, Object[] args) {
+        Parameter[] parameters = method.getParameters();
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i].isAnnotationPresent(TenantKey.class) && args[i] != null) {
+                return String.valueOf(args[i]);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isCancelled(Request request) {
+        CancellationToken token = request.getCancellationToken();
+        return token != null && token.isCancelled();
+    }
+
+    /**
+     * 查找取消令牌参数
+     *
+     * @param args 参数
+     * @return 取消令牌，没有时为 null
+     */
+    private static CancellationToken findCancellationToken(Object[] args) {
+        if (args == null) {
+            return null;
         }
-        return sendRequest(httpClientHandler, request, responseValidator, method, args);
+        for (Object arg : args) {
+            if (arg instanceof CancellationToken) {
+                return (CancellationToken) arg;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取客户端级重试预算
+     *
+     * @param clientInterface 客户端接口类
+     * @return 重试预算，未配置 {@link RetryBudget} 时为 null
+     */
+    private TokenBucketBudget getRetryBudget(Class<?> clientInterface) {
+        RetryBudget retryBudget = clientInterface.getAnnotation(RetryBudget.class);
+        if (retryBudget == null) {
+            return null;
+        }
+        return retryBudgets.computeIfAbsent(
+                clientInterface,
+                k ->
+                        new TokenBucketBudget(
+                                retryBudget.percent(),
+                                retryBudget.minRetriesPerSecond(),
+                                retryBudget.maxTokens()));
     }
 
     /**
@@ -201,7 +1005,7 @@ public class HttpClientProxyFactory extends AbstractClientProxyFactory {
      * @param httpClientHandler HttpClientHandler实例
      * @param request 请求对象
      * @param responseValidator 响应验证器
-     * @param retry 重试注解
+     * @param retryPolicy 重试策略
      * @param method 方法
      * @param args 参数
      * @return 请求结果
@@ -210,25 +1014,26 @@ public class HttpClientProxyFactory extends AbstractClientProxyFactory {
             HttpClientHandler httpClientHandler,
             Request request,
             ResponseValidator responseValidator,
-            Retry retry,
+            RetryPolicy retryPolicy,
             Method method,
             Object[] args) {
         int attempts = 0;
-        long delay = retry.delay();
-        Class<? extends Throwable>[] retryFor = retry.retryFor();
-        BackoffStrategy backoffStrategy = retry.backoff();
+        long delay = retryPolicy.getBaseDelay();
 
-        while (attempts < retry.maxRetries()) {
+        while (attempts < retryPolicy.getMaxRetries()) {
             try {
-                return sendRequest(httpClientHandler, request, responseValidator, method, args);
+                return sendRequest(
+                        httpClientHandler, request, responseValidator, retryPolicy, method, args);
             } catch (Throwable e) {
-                if (shouldRetry(e, retryFor)) {
+                if (retryPolicy.shouldRetry(e) && !isCancelled(request)) {
                     attempts++;
-                    if (attempts >= retry.maxRetries()) {
+                    if (attempts >= retryPolicy.getMaxRetries()
+                            || !retryPolicy.tryAcquireBudget()) {
                         throw e;
                     }
-                    delay = adjustDelay(backoffStrategy, delay);
-                    sleepBeforeRetry(delay);
+                    delay = retryPolicy.nextDelay(delay, attempts, e);
+                    // 等待期间调用方取消时立即以 CancellationException 结束，不再发起重试
+                    SharedTimer.await(delay, request.getCancellationToken());
                 } else {
                     throw e;
                 }
@@ -237,40 +1042,13 @@ public class HttpClientProxyFactory extends AbstractClientProxyFactory {
         throw new IllegalStateException("Max retries reached for request.");
     }
 
-    /**
-     * 调整重试延迟
-     *
-     * @param backoffStrategy 退避策略
-     * @param delay 当前延迟
-     * @return 调整后的延迟
-     */
-    private long adjustDelay(BackoffStrategy backoffStrategy, long delay) {
-        if (backoffStrategy == BackoffStrategy.EXPONENTIAL) {
-            delay *= 2;
-        }
-        return delay;
-    }
-
-    /**
-     * 在重试前休眠
-     *
-     * @param delay 延迟时间
-     */
-    private void sleepBeforeRetry(long delay) {
-        try {
-            Thread.sleep(delay);
-        } catch (InterruptedException interruptedException) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException(interruptedException);
-        }
-    }
-
     /**
      * 发送请求
      *
      * @param httpClientHandler HttpClientHandler实例
      * @param request 请求对象
      * @param responseValidator 响应验证器
+     * @param retryPolicy 重试策略
      * @param method 方法
      * @param args 参数
      * @return 请求结果
@@ -279,13 +1057,38 @@ public class HttpClientProxyFactory extends AbstractClientProxyFactory {
             HttpClientHandler httpClientHandler,
             Request request,
             ResponseValidator responseValidator,
+            RetryPolicy retryPolicy,
             Method method,
             Object[] args) {
         AbstractResponseBuilder responseBuilder =
                 getResponseBuilder((AbstractHttpClientHandler) httpClientHandler, request);
+        if (isAsyncReturnType(method)) {
+            CompletableFuture<Object> result = new CompletableFuture<>();
+            if (request.getCancellationToken() != null) {
+                request.getCancellationToken().cancelOnCancel(result);
+            }
+            sendRequestWithRetryAsync(
+                    httpClientHandler,
+                    request,
+                    responseValidator,
+                    result,
+                    responseBuilder,
+                    getAsyncResultType(method),
+                    retryPolicy,
+                    0,
+                    retryPolicy.getBaseDelay(),
+                    method);
+            return result;
+        }
         if (method.isAnnotationPresent(Async.class)) {
             return handleAsyncRequest(
-                    httpClientHandler, request, responseValidator, method, args, responseBuilder);
+                    httpClientHandler,
+                    request,
+                    responseValidator,
+                    retryPolicy,
+                    method,
+                    args,
+                    responseBuilder);
         }
         return handleSyncRequest(
                 httpClientHandler, request, responseValidator, method, args, responseBuilder);
@@ -297,6 +1100,7 @@ public class HttpClientProxyFactory extends AbstractClientProxyFactory {
      * @param httpClientHandler HttpClientHandler实例
      * @param request 请求对象
      * @param responseValidator 响应验证器
+     * @param retryPolicy 重试策略
      * @param method 方法
      * @param args 参数
      * @param responseBuilder 响应构建器
@@ -306,6 +1110,7 @@ public class HttpClientProxyFactory extends AbstractClientProxyFactory {
             HttpClientHandler httpClientHandler,
             Request request,
             ResponseValidator responseValidator,
+            RetryPolicy retryPolicy,
             Method method,
             Object[] args,
             AbstractResponseBuilder responseBuilder) {
@@ -313,24 +1118,21 @@ public class HttpClientProxyFactory extends AbstractClientProxyFactory {
         Type callbackType = getCallbackGenericType(method);
         ResponseCallback callback = findCallbackParameter(method, args);
 
-        Retry retry = method.getAnnotation(Retry.class);
-        int maxRetries = retry != null ? retry.maxRetries() : 0;
-        long delay = retry != null ? retry.delay() : 1000;
-        Class<? extends Throwable>[] retryFor =
-                retry != null ? retry.retryFor() : new Class[] {Exception.class};
-        BackoffStrategy backoffStrategy = retry != null ? retry.backoff() : BackoffStrategy.FIXED;
-
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        notifyCallback(method, callback, result);
+        if (request.getCancellationToken() != null) {
+            request.getCancellationToken().cancelOnCancel(result);
+        }
         sendRequestWithRetryAsync(
                 httpClientHandler,
                 request,
                 responseValidator,
-                callback,
+                result,
                 responseBuilder,
                 callbackType,
-                maxRetries,
-                delay,
-                retryFor,
-                backoffStrategy,
+                retryPolicy,
+                0,
+                retryPolicy.getBaseDelay(),
                 method);
         return null;
     }
@@ -353,7 +1155,7 @@ public class HttpClientProxyFactory extends AbstractClientProxyFactory {
             Method method,
             Object[] args,
             AbstractResponseBuilder responseBuilder) {
-        Response response = httpClientHandler.sendRequest(request, method);
+        Response response = dispatchSync(httpClientHandler, request, method);
         returnHeaders(method, args, response);
         Object result = responseBuilder.buildResponse(response, method.getGenericReturnType());
         response.setBody(result);
@@ -361,6 +1163,288 @@ public class HttpClientProxyFactory extends AbstractClientProxyFactory {
         return result;
     }
 
+    /**
+     * 异步发送请求，经过熔断器保护，熔断时返回以 {@link
+     * com.lidachui.simpleRequest.resilience.CallNotPermittedException} 失败的 Future
+     *
+     * @param httpClientHandler HttpClientHandler实例
+     * @param request 请求对象
+     * @param method 方法
+     * @return 响应
+     */
+    private CompletableFuture<Response> dispatchAsync(
+            HttpClientHandler httpClientHandler, Request request, Method method) {
+        SlidingWindowCircuitBreaker circuitBreaker = getCircuitBreaker(method);
+        if (circuitBreaker == null) {
+            return sendAsync(httpClientHandler, request, method);
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            CompletableFuture<Response> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(circuitBreaker.newCallNotPermittedException());
+            return rejected;
+        }
+        long start = System.nanoTime();
+        CompletableFuture<Response> future = sendAsync(httpClientHandler, request, method);
+        future.whenComplete(
+                (response, throwable) -> {
+                    long duration = System.nanoTime() - start;
+                    if (future.isCancelled()) {
+                        // 被取消的调用不代表下游的健康状况，不计入统计
+                        circuitBreaker.releasePermission();
+                    } else if (throwable == null) {
+                        circuitBreaker.onSuccess(duration);
+                    } else {
+                        circuitBreaker.onError(duration, throwable);
+                    }
+                });
+        return future;
+    }
+
+    /**
+     * 同步发送请求，经过熔断器保护；方法标注了 {@link Hedge} 时走异步对冲后等待结果
+     *
+     * @param httpClientHandler HttpClientHandler实例
+     * @param request 请求对象
+     * @param method 方法
+     * @return 响应
+     */
+    private Response dispatchSync(
+            HttpClientHandler httpClientHandler, Request request, Method method) {
+        if (method.isAnnotationPresent(Hedge.class)) {
+            CancellationToken token = request.getCancellationToken();
+            CompletableFuture<Response> future = dispatchAsync(httpClientHandler, request, method);
+            if (token != null) {
+                token.cancelOnCancel(future);
+            }
+            return joinResponse(future);
+        }
+        SlidingWindowCircuitBreaker circuitBreaker = getCircuitBreaker(method);
+        if (circuitBreaker == null) {
+            return sendAttempt(httpClientHandler, request, method);
+        }
+        circuitBreaker.acquirePermission();
+        long start = System.nanoTime();
+        try {
+            Response response = sendAttempt(httpClientHandler, request, method);
+            circuitBreaker.onSuccess(System.nanoTime() - start);
+            return response;
+        } catch (Throwable t) {
+            circuitBreaker.onError(System.nanoTime() - start, t);
+            throw t;
+        }
+    }
+
+    /**
+     * 异步发送单次请求，方法标注了 {@link Hedge} 时按对冲方式发送
+     *
+     * @param httpClientHandler HttpClientHandler实例
+     * @param request 请求对象
+     * @param method 方法
+     * @return 响应
+     */
+    private CompletableFuture<Response> sendAsync(
+            HttpClientHandler httpClientHandler, Request request, Method method) {
+        Hedge hedge = method.getAnnotation(Hedge.class);
+        if (hedge == null) {
+            return sendAttemptAsync(httpClientHandler, request, method);
+        }
+        RequestHedger hedger = hedgers.computeIfAbsent(method, k -> new RequestHedger(hedge));
+        return hedger.execute(() -> sendAttemptAsync(httpClientHandler, request.copy(), method));
+    }
+
+    /**
+     * 同步发送单次请求，先申请 {@link RateLimit} 许可，配置了 {@link Bulkhead} 时在舱壁内执行
+     *
+     * @param httpClientHandler HttpClientHandler实例
+     * @param request 请求对象
+     * @param method 方法
+     * @return 响应
+     */
+    private Response sendAttempt(
+            HttpClientHandler httpClientHandler, Request request, Method method) {
+        // 排队从申请许可之前算起，限流和舱壁等待都计入过载丢弃的排队时延
+        request.setQueuedAtNanos(System.nanoTime());
+        TokenBucketRateLimiter rateLimiter = getRateLimiter(method);
+        if (rateLimiter != null) {
+            rateLimiter.acquire();
+        }
+        RequestBulkhead bulkhead = getBulkhead(method);
+        if (bulkhead == null) {
+            return httpClientHandler.sendRequest(request, method);
+        }
+        return bulkhead.execute(() -> httpClientHandler.sendRequest(request, method));
+    }
+
+    /**
+     * 异步发送单次请求，{@link RateLimit} 许可到期后再发出，等待期间不占用线程
+     *
+     * @param httpClientHandler HttpClientHandler实例
+     * @param request 请求对象
+     * @param method 方法
+     * @return 响应
+     */
+    private CompletableFuture<Response> sendAttemptAsync(
+            HttpClientHandler httpClientHandler, Request request, Method method) {
+        // 排队从申请许可之前算起，限流和舱壁等待都计入过载丢弃的排队时延
+        request.setQueuedAtNanos(System.nanoTime());
+        TokenBucketRateLimiter rateLimiter = getRateLimiter(method);
+        if (rateLimiter == null) {
+            return sendIsolatedAsync(httpClientHandler, request, method);
+        }
+        // 许可可能在共享定时器的线程上到期，舱壁和发送切回方法的发送执行器，不在定时线程上执行
+        return Futures.thenComposeAsync(
+                rateLimiter.acquireAsync(),
+                v -> sendIsolatedAsync(httpClientHandler, request, method),
+                AsyncExecutors.forMethod(method));
+    }
+
+    /**
+     * 异步发送单次请求，配置了 {@link Bulkhead} 时在舱壁内执行
+     *
+     * @param httpClientHandler HttpClientHandler实例
+     * @param request 请求对象
+     * @param method 方法
+     * @return 响应
+     */
+    private CompletableFuture<Response> sendIsolatedAsync(
+            HttpClientHandler httpClientHandler, Request request, Method method) {
+        RequestBulkhead bulkhead = getBulkhead(method);
+        if (bulkhead == null) {
+            return httpClientHandler.sendRequestAsync(request, method);
+        }
+        // 线程池舱壁在池内同步发送，取消时通过令牌中止传输调用；每次发送使用请求副本和独立的令牌，不改动共享的请求
+        CancellationToken token = new CancellationToken();
+        Request attempt = request.copyForAttempt(token);
+        CancellationToken parent = request.getCancellationToken();
+        CancellationToken.Registration link = parent != null ? parent.link(token) : () -> {};
+        CompletableFuture<Response> future =
+                bulkhead.executeAsync(
+                        () -> httpClientHandler.sendRequest(attempt, method),
+                        () -> httpClientHandler.sendRequestAsync(attempt, method));
+        future.whenComplete(
+                (response, throwable) -> {
+                    link.remove();
+                    if (future.isCancelled()) {
+                        token.cancel();
+                    }
+                });
+        return future;
+    }
+
+    /**
+     * 获取方法的熔断器，方法级 {@link CircuitBreaker} 优先于客户端级
+     *
+     * @param method 方法
+     * @return 熔断器，未配置时为 null
+     */
+    public SlidingWindowCircuitBreaker getCircuitBreaker(Method method) {
+        return circuitBreakers.computeIfAbsent(method, this::resolveCircuitBreaker).orElse(null);
+    }
+
+    private Optional<SlidingWindowCircuitBreaker> resolveCircuitBreaker(Method method) {
+        CircuitBreaker config = findAnnotation(method, CircuitBreaker.class);
+        if (config == null) {
+            return Optional.empty();
+        }
+        String name = resilienceName(method, CircuitBreaker.class, config.name());
+        return Optional.of(circuitBreakerRegistry.circuitBreaker(name, config));
+    }
+
+    /**
+     * 获取方法的舱壁，方法级 {@link Bulkhead} 优先于客户端级
+     *
+     * @param method 方法
+     * @return 舱壁，未配置时为 null
+     */
+    public RequestBulkhead getBulkhead(Method method) {
+        return bulkheads.computeIfAbsent(method, this::resolveBulkhead).orElse(null);
+    }
+
+    private Optional<RequestBulkhead> resolveBulkhead(Method method) {
+        Bulkhead config = findAnnotation(method, Bulkhead.class);
+        if (config == null) {
+            return Optional.empty();
+        }
+        String name = resilienceName(method, Bulkhead.class, config.name());
+        return Optional.of(bulkheadRegistry.bulkhead(name, config));
+    }
+
+    /**
+     * 获取方法的限流器，方法级 {@link RateLimit} 优先于客户端级
+     *
+     * @param method 方法
+     * @return 限流器，未配置时为 null
+     */
+    public TokenBucketRateLimiter getRateLimiter(Method method) {
+        return rateLimiters.computeIfAbsent(method, this::resolveRateLimiter).orElse(null);
+    }
+
+    private Optional<TokenBucketRateLimiter> resolveRateLimiter(Method method) {
+        RateLimit config = findAnnotation(method, RateLimit.class);
+        if (config == null) {
+            return Optional.empty();
+        }
+        String name = resilienceName(method, RateLimit.class, config.name());
+        return Optional.of(rateLimiterRegistry.rateLimiter(name, config));
+    }
+
+    /**
+     * 查找方法上的注解，方法上没有时查找客户端接口
+     *
+     * @param method 方法
+     * @param annotationType 注解类型
+     * @return 注解，都没有时为 null
+     */
+    private static <A extends Annotation> A findAnnotation(Method method, Class<A> annotationType) {
+        A annotation = method.getAnnotation(annotationType);
+        return annotation != null
+                ? annotation
+                : method.getDeclaringClass().getAnnotation(annotationType);
+    }
+
+    /**
+     * 容错组件名称：显式指定时直接使用，否则方法级为 接口全名#方法名，客户端级为接口全名
+     *
+     * @param method 方法
+     * @param annotationType 注解类型
+     * @param name 注解上指定的名称
+     * @return 名称
+     */
+    private static String resilienceName(
+            Method method, Class<? extends Annotation> annotationType, String name) {
+        if (!name.isEmpty()) {
+            return name;
+        }
+        String interfaceName = method.getDeclaringClass().getName();
+        return method.isAnnotationPresent(annotationType)
+                ? interfaceName + "#" + method.getName()
+                : interfaceName;
+    }
+
+    /**
+     * 同步等待异步响应，并还原原始异常
+     *
+     * @param future 异步响应
+     * @return 响应
+     */
+    private static Response joinResponse(CompletableFuture<Response> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            return ExceptionUtil.rethrow(ExceptionUtil.unwrap(e));
+        }
+    }
+
+    /**
+     * 获取方法的对冲执行器，可用于查看对冲次数和观测延迟
+     *
+     * @param method 方法
+     * @return 对冲执行器，未发生过对冲调用时为 null
+     */
+    public RequestHedger getRequestHedger(Method method) {
+        return hedgers.get(method);
+    }
+
     /**
      * 获取响应构建器
      *
@@ -422,22 +1506,6 @@ public class HttpClientProxyFactory extends AbstractClientProxyFactory {
         }
     }
 
-    /**
-     * 判断是否应该重试
-     *
-     * @param throwable 异常
-     * @param retryFor 重试的异常类型
-     * @return 是否应该重试
-     */
-    private boolean shouldRetry(Throwable throwable, Class<? extends Throwable>[] retryFor) {
-        for (Class<? extends Throwable> retryException : retryFor) {
-            if (retryException.isInstance(throwable)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     /**
      * 添加认证信息到请求中
      *
@@ -516,6 +1584,58 @@ public class HttpClientProxyFactory extends AbstractClientProxyFactory {
         }
     }
 
+    /**
+     * 结果完成后在回调执行器上通知回调，未配置回调执行器时在完成线程上执行
+     *
+     * @param method 方法
+     * @param callback 回调
+     * @param result 结果
+     */
+    private static void notifyCallback(
+            Method method, ResponseCallback callback, CompletableFuture<Object> result) {
+        Executor executor = AsyncExecutors.forCallback(method);
+        result.whenComplete(
+                (value, throwable) ->
+                        AsyncExecutors.runCallback(
+                                executor,
+                                () -> {
+                                    if (throwable == null) {
+                                        callback.onSuccess(value);
+                                    } else {
+                                        callback.onFailure(throwable);
+                                    }
+                                }));
+    }
+
+    /**
+     * 配置了回调执行器时，返回一个在该执行器上完成的 Future，调用方的后续动作不会占用发送线程
+     *
+     * @param method 方法
+     * @param future 结果
+     * @return {@code CompletableFuture<Object> }
+     */
+    private static CompletableFuture<Object> completeOnCallbackExecutor(
+            Method method, CompletableFuture<Object> future) {
+        Executor executor = AsyncExecutors.forCallback(method);
+        if (executor == null) {
+            return future;
+        }
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        future.whenComplete(
+                (value, throwable) ->
+                        AsyncExecutors.runCallback(
+                                executor,
+                                () -> {
+                                    if (throwable == null) {
+                                        result.complete(value);
+                                    } else {
+                                        result.completeExceptionally(throwable);
+                                    }
+                                }));
+        Futures.propagateCancel(result, future);
+        return result;
+    }
+
     /**
      * 检查返回类型和参数
      *
@@ -577,49 +1697,50 @@ public class HttpClientProxyFactory extends AbstractClientProxyFactory {
      * @param httpClientHandler HttpClientHandler实例
      * @param request 请求对象
      * @param responseValidator 响应验证器
-     * @param callback 回调
+     * @param result 结果 Future，成功或最终失败时完成
      * @param responseBuilder 响应构建器
-     * @param callbackType 回调类型
-     * @param maxRetries 最大重试次数
-     * @param delay 延迟
-     * @param retryFor 重试的异常类型
-     * @param backoffStrategy 退避策略
+     * @param resultType 结果类型
+     * @param retryPolicy 重试策略
+     * @param attempt 已重试次数
+     * @param delay 上一次的延迟
      * @param method 方法
      */
     private void sendRequestWithRetryAsync(
             HttpClientHandler httpClientHandler,
             Request request,
             ResponseValidator responseValidator,
-            ResponseCallback callback,
+            CompletableFuture<Object> result,
             AbstractResponseBuilder responseBuilder,
-            Type callbackType,
-            int maxRetries,
+            Type resultType,
+            RetryPolicy retryPolicy,
+            int attempt,
             long delay,
-            Class<? extends Throwable>[] retryFor,
-            BackoffStrategy backoffStrategy,
             Method method) {
-        CompletableFuture<Response> future = httpClientHandler.sendRequestAsync(request, method);
+        if (result.isDone()) {
+            // 调用方已取消，不再发送
+            return;
+        }
+        CompletableFuture<Response> future = dispatchAsync(httpClientHandler, request, method);
+        Futures.propagateCancel(result, future);
 
         future.thenAccept(
                         response -> {
                             try {
-                                Object result =
-                                        responseBuilder.buildResponse(response, callbackType);
-                                response.setBody(result);
+                                Object body = responseBuilder.buildResponse(response, resultType);
+                                response.setBody(body);
                                 validateResponse(responseValidator, request, response);
-                                callback.onSuccess(result);
+                                result.complete(body);
                             } catch (Throwable t) {
                                 handleFailure(
                                         t,
-                                        callback,
-                                        maxRetries,
+                                        result,
+                                        retryPolicy,
+                                        attempt,
                                         delay,
-                                        retryFor,
-                                        backoffStrategy,
                                         httpClientHandler,
                                         request,
                                         responseValidator,
-                                        callbackType,
+                                        resultType,
                                         responseBuilder,
                                         method);
                             }
@@ -628,15 +1749,14 @@ public class HttpClientProxyFactory extends AbstractClientProxyFactory {
                         throwable -> {
                             handleFailure(
                                     throwable,
-                                    callback,
-                                    maxRetries,
+                                    result,
+                                    retryPolicy,
+                                    attempt,
                                     delay,
-                                    retryFor,
-                                    backoffStrategy,
                                     httpClientHandler,
                                     request,
                                     responseValidator,
-                                    callbackType,
+                                    resultType,
                                     responseBuilder,
                                     method);
                             return null;
@@ -647,51 +1767,110 @@ public class HttpClientProxyFactory extends AbstractClientProxyFactory {
      * 处理请求失败
      *
      * @param throwable 异常
-     * @param callback 回调
-     * @param maxRetries 最大重试次数
-     * @param delay 延迟
-     * @param retryFor 重试的异常类型
-     * @param backoffStrategy 退避策略
+     * @param result 结果 Future
+     * @param retryPolicy 重试策略
+     * @param attempt 已重试次数
+     * @param delay 上一次的延迟
      * @param httpClientHandler HttpClientHandler实例
      * @param request 请求对象
      * @param responseValidator 响应验证器
-     * @param callbackType 回调类型
+     * @param resultType 结果类型
      * @param responseBuilder 响应构建器
      * @param method 方法
      */
     private void handleFailure(
             Throwable throwable,
-            ResponseCallback callback,
-            int maxRetries,
+            CompletableFuture<Object> result,
+            RetryPolicy retryPolicy,
+            int attempt,
             long delay,
-            Class<? extends Throwable>[] retryFor,
-            BackoffStrategy backoffStrategy,
             HttpClientHandler httpClientHandler,
             Request request,
             ResponseValidator responseValidator,
-            Type callbackType,
+            Type resultType,
             AbstractResponseBuilder responseBuilder,
             Method method) {
-        if (maxRetries > 0 && shouldRetry(throwable, retryFor)) {
-            delay = adjustDelay(backoffStrategy, delay);
-            sleepBeforeRetry(delay);
-            sendRequestWithRetryAsync(
-                    httpClientHandler,
-                    request,
-                    responseValidator,
-                    callback,
-                    responseBuilder,
-                    callbackType,
-                    maxRetries - 1,
-                    delay,
-                    retryFor,
-                    backoffStrategy,
-                    method);
+        if (result.isDone()) {
+            return;
+        }
+        if (attempt < retryPolicy.getMaxRetries()
+                && retryPolicy.shouldRetry(throwable)
+                && retryPolicy.tryAcquireBudget()) {
+            long nextDelay = retryPolicy.nextDelay(delay, attempt + 1, throwable);
+            // 由共享定时器计时，到期后回到方法的发送执行器重新发起，不占用当前完成线程，定时线程只负责触发；
+            // 调用方取消时撤销等待中的重试
+            CompletableFuture<Void> retry = SharedTimer.delay(nextDelay);
+            Futures.propagateCancel(result, retry);
+            retry.thenRunAsync(
+                            () ->
+                                    sendRequestWithRetryAsync(
+                                            httpClientHandler,
+                                            request,
+                                            responseValidator,
+                                            result,
+                                            responseBuilder,
+                                            resultType,
+                                            retryPolicy,
+                                            attempt + 1,
+                                            nextDelay,
+                                            method),
+                            AsyncExecutors.forMethod(method))
+                    .exceptionally(
+                            t -> {
+                                // 执行器拒绝了重试任务，或者等待中被取消，结果不能就此挂起
+                                result.completeExceptionally(ExceptionUtil.unwrap(t));
+                                return null;
+                            });
         } else {
-            callback.onFailure(throwable);
+            result.completeExceptionally(ExceptionUtil.unwrap(throwable));
         }
     }
 
+    /**
+     * 方法是否直接返回 Future，此类方法无需 {@link Async} 和回调参数即按异步方式发送
+     *
+     * @param method 方法
+     * @return boolean
+     */
+    public static boolean isFutureReturnType(Method method) {
+        Class<?> returnType = method.getReturnType();
+        return returnType == CompletableFuture.class
+                || returnType == CompletionStage.class
+                || returnType == Future.class;
+    }
+
+    /**
+     * 方法是否按异步方式发送并以 Future 传递结果：返回 Future 或 Reactor 的 Mono / Flux
+     *
+     * @param method 方法
+     * @return boolean
+     */
+    private static boolean isAsyncReturnType(Method method) {
+        return isFutureReturnType(method) || ReactiveTypes.isReactiveReturnType(method);
+    }
+
+    /**
+     * 获取异步结果的反序列化类型。Flux 取原始响应体，由 {@link ReactorAdapter} 逐个解码元素
+     *
+     * @param method 方法
+     * @return 泛型类型，未声明时为 Object
+     */
+    private static Type getAsyncResultType(Method method) {
+        if (ReactiveTypes.isFlux(method)) {
+            return byte[].class;
+        }
+        Type type = method.getGenericReturnType();
+        if (type instanceof ParameterizedType) {
+            return ((ParameterizedType) type).getActualTypeArguments()[0];
+        }
+        return Object.class;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<Object> asFuture(Object result) {
+        return (CompletableFuture<Object>) result;
+    }
+
     public static boolean isVoidReturnType(Method method) {
         Type returnType = method.getGenericReturnType();
         return Void.TYPE.equals(returnType);
@@ -1,13 +1,27 @@
 package com.lidachui.simpleRequest.handler;
 
+import com.lidachui.simpleRequest.annotation.AdaptiveConcurrency;
+import com.lidachui.simpleRequest.annotation.LoadShed;
+import com.lidachui.simpleRequest.annotation.PriorityDispatch;
+import com.lidachui.simpleRequest.async.AsyncExecutors;
+import com.lidachui.simpleRequest.async.CancellationToken;
+import com.lidachui.simpleRequest.async.Futures;
+import com.lidachui.simpleRequest.async.SharedTimer;
 import com.lidachui.simpleRequest.constants.FilterPhase;
 import com.lidachui.simpleRequest.filter.AbstractRequestFilter;
 import com.lidachui.simpleRequest.filter.FilterChain;
+import com.lidachui.simpleRequest.resilience.AdaptiveConcurrencyLimiter;
+import com.lidachui.simpleRequest.resilience.CoDelLoadShedder;
+import com.lidachui.simpleRequest.resilience.HostPacer;
+import com.lidachui.simpleRequest.resilience.PriorityDispatcher;
+import com.lidachui.simpleRequest.resilience.RequestRejectedException;
+import com.lidachui.simpleRequest.resilience.ServerPacingException;
 import com.lidachui.simpleRequest.resolver.AbstractResponseBuilder;
 import com.lidachui.simpleRequest.resolver.DefaultResponseBuilder;
 import com.lidachui.simpleRequest.resolver.Request;
 import com.lidachui.simpleRequest.resolver.RequestContext;
 import com.lidachui.simpleRequest.resolver.Response;
+import com.lidachui.simpleRequest.util.ExceptionUtil;
 import com.lidachui.simpleRequest.util.RequestIdGenerator;
 import com.lidachui.simpleRequest.util.SpringUtil;
 
@@ -24,6 +38,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
 import java.util.stream.Collectors;
 
 /**
@@ -40,6 +60,32 @@ public abstract class AbstractHttpClientHandler implements HttpClientHandler {
 
     private AbstractResponseBuilder responseBuilder = new DefaultResponseBuilder();
 
+    /** 客户端级优先级调度器，未配置时为 empty */
+    @Getter(lombok.AccessLevel.NONE)
+    @Setter(lombok.AccessLevel.NONE)
+    private final Map<Class<?>, Optional<PriorityDispatcher>> dispatchers =
+            new ConcurrentHashMap<>();
+
+    /** 客户端级过载丢弃器，未配置时为 empty */
+    @Getter(lombok.AccessLevel.NONE)
+    @Setter(lombok.AccessLevel.NONE)
+    private final Map<Class<?>, Optional<CoDelLoadShedder>> loadShedders =
+            new ConcurrentHashMap<>();
+
+    /** 被取消的异步发送次数 */
+    @Getter(lombok.AccessLevel.NONE)
+    @Setter(lombok.AccessLevel.NONE)
+    private final LongAdder cancelledCount = new LongAdder();
+
+    /** 按 host 共享的服务端节流状态，默认所有处理器共用 */
+    private HostPacer hostPacer = HostPacer.getDefault();
+
+    /** 客户端级自适应并发限制器，未配置时为 empty */
+    @Getter(lombok.AccessLevel.NONE)
+    @Setter(lombok.AccessLevel.NONE)
+    private final Map<Class<?>, Optional<AdaptiveConcurrencyLimiter>> concurrencyLimiters =
+            new ConcurrentHashMap<>();
+
     /**
      * 发送请求
      *
@@ -48,6 +94,44 @@ public abstract class AbstractHttpClientHandler implements HttpClientHandler {
      */
     @Override
     public Response sendRequest(Request request, Method method) {
+        hostPacer.await(request.getUrl());
+        admit(request, method);
+        PriorityDispatcher dispatcher = getDispatcher(method);
+        if (dispatcher == null) {
+            return doSendRequest(request, method);
+        }
+        CompletableFuture<Void> permit =
+                dispatcher.acquire(request.getPriority(), request.getTenant());
+        if (request.getCancellationToken() != null) {
+            request.getCancellationToken().cancelOnCancel(permit);
+        }
+        try {
+            permit.join();
+        } catch (CompletionException e) {
+            return ExceptionUtil.rethrow(ExceptionUtil.unwrap(e));
+        }
+        try {
+            return doSendRequest(request, method);
+        } finally {
+            dispatcher.release();
+        }
+    }
+
+    private Response doSendRequest(Request request, Method method) {
+        armQueueDelay(request, method);
+        try {
+            if (request.getCancellationToken() != null) {
+                request.getCancellationToken().throwIfCancelled();
+            }
+            return doFilterAndExecute(request, method);
+        } finally {
+            // 未拿到连接就失败的请求不上报排队时延
+            request.setDequeueListener(null);
+            request.setQueuedAtNanos(0);
+        }
+    }
+
+    private Response doFilterAndExecute(Request request, Method method) {
         RequestContext requestContext = createRequestContext(request, method);
         FilterChain filterChain = new FilterChain(getRequestFilters());
 
@@ -56,7 +140,7 @@ public abstract class AbstractHttpClientHandler implements HttpClientHandler {
             filterChain.doFilter(request, null, requestContext, FilterPhase.PRE_HANDLE);
 
             // 执行请求
-            Response response = executeRequest(request);
+            Response response = executePaced(request, method);
             requestContext.setResponse(response);
 
             // 后置处理
@@ -80,7 +164,289 @@ public abstract class AbstractHttpClientHandler implements HttpClientHandler {
      */
     @Override
     public CompletableFuture<Response> sendRequestAsync(Request request, Method method) {
-        return CompletableFuture.supplyAsync(() -> sendRequest(request, method));
+        long waitMillis;
+        try {
+            waitMillis = hostPacer.reserve(request.getUrl());
+        } catch (ServerPacingException e) {
+            CompletableFuture<Response> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(e);
+            return rejected;
+        }
+        if (waitMillis <= 0) {
+            return dispatchAsync(request, method);
+        }
+        // 冷却或配额等待交给共享定时器，不占用线程；到期后切回方法的发送执行器调度，不在定时线程上执行
+        return Futures.thenComposeAsync(
+                SharedTimer.delay(waitMillis),
+                v -> dispatchAsync(request, method),
+                getExecutor(method));
+    }
+
+    /**
+     * 经优先级调度放行后异步发送请求，排队期间不占用线程
+     *
+     * @param request 请求
+     * @param method 方法
+     * @return {@code CompletableFuture<Response> }
+     */
+    private CompletableFuture<Response> dispatchAsync(Request request, Method method) {
+        try {
+            admit(request, method);
+        } catch (RequestRejectedException e) {
+            CompletableFuture<Response> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(e);
+            return rejected;
+        }
+        PriorityDispatcher dispatcher = getDispatcher(method);
+        if (dispatcher == null) {
+            return executeAsync(request, method);
+        }
+        return Futures.thenCompose(
+                dispatcher.acquire(request.getPriority(), request.getTenant()),
+                v -> {
+                    CompletableFuture<Response> future = executeAsync(request, method);
+                    future.whenComplete((response, throwable) -> dispatcher.release());
+                    return future;
+                },
+                // 放行的同时调用方取消了请求，已占用的名额需要归还
+                v -> dispatcher.release());
+    }
+
+    /**
+     * 在客户端执行器上发送请求。返回的 Future 被取消时，尚未开始的任务不再执行，正在进行的传输调用通过取消令牌中止。
+     *
+     * <p>每次发送使用请求副本和独立的令牌，不改动调用方共享的请求；调用方令牌的取消会传到本次发送
+     *
+     * @param request 请求
+     * @param method 方法
+     * @return {@code CompletableFuture<Response> }
+     */
+    private CompletableFuture<Response> executeAsync(Request request, Method method) {
+        CancellationToken token = new CancellationToken();
+        Request attempt = request.copyForAttempt(token);
+        CancellationToken parent = request.getCancellationToken();
+        CancellationToken.Registration link = parent != null ? parent.link(token) : () -> {};
+        CompletableFuture<Response> future;
+        try {
+            future =
+                    CompletableFuture.supplyAsync(
+                            () -> doSendRequest(attempt, method), getExecutor(method));
+        } catch (RejectedExecutionException e) {
+            link.remove();
+            CompletableFuture<Response> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(e);
+            return rejected;
+        }
+        future.whenComplete(
+                (response, throwable) -> {
+                    link.remove();
+                    if (future.isCancelled()) {
+                        cancelledCount.increment();
+                        token.cancel();
+                    }
+                });
+        return future;
+    }
+
+    /**
+     * 被取消的异步发送次数
+     *
+     * @return long
+     */
+    public long getCancelledCount() {
+        return cancelledCount.sum();
+    }
+
+    /**
+     * 获取方法的发送执行器
+     *
+     * @param method 方法
+     * @return {@code Executor }
+     */
+    private Executor getExecutor(Method method) {
+        return AsyncExecutors.forMethod(method);
+    }
+
+    /**
+     * 接收请求，客户端标注了 {@link LoadShed} 且处于丢弃状态时抛出 {@link
+     * com.lidachui.simpleRequest.resilience.LoadSheddingException}。调用方未记录排队起点时从此刻算起
+     *
+     * @param request 请求
+     * @param method 方法
+     */
+    private void admit(Request request, Method method) {
+        CoDelLoadShedder shedder = getLoadShedder(method);
+        if (shedder != null) {
+            shedder.admit();
+        }
+        if (request.getQueuedAtNanos() == 0) {
+            request.setQueuedAtNanos(System.nanoTime());
+        }
+    }
+
+    /**
+     * 登记排队时延的上报：传输层拿到连接或流许可时通过 {@link Request#markDequeued()} 上报，
+     * 不支持的处理器在开始发送时立即上报
+     *
+     * @param request 请求
+     * @param method 方法
+     */
+    private void armQueueDelay(Request request, Method method) {
+        CoDelLoadShedder shedder = getLoadShedder(method);
+        if (shedder == null) {
+            return;
+        }
+        long queuedAt = request.getQueuedAtNanos();
+        request.setDequeueListener(() -> shedder.onDequeue(System.nanoTime() - queuedAt));
+        if (!reportsDequeue()) {
+            request.markDequeued();
+        }
+    }
+
+    /**
+     * 传输层是否会在拿到连接或传输许可时调用 {@link Request#markDequeued()}，
+     * 返回 true 时连接池和流许可的等待也计入排队时延
+     *
+     * @return boolean
+     */
+    protected boolean reportsDequeue() {
+        return false;
+    }
+
+    /**
+     * 获取客户端的过载丢弃器，可用于查看丢弃次数
+     *
+     * @param clientInterface 客户端接口类
+     * @return 丢弃器，未标注 {@link LoadShed} 时为 null
+     */
+    public CoDelLoadShedder getLoadShedder(Class<?> clientInterface) {
+        return loadShedders
+                .computeIfAbsent(
+                        clientInterface,
+                        k ->
+                                Optional.ofNullable(k.getAnnotation(LoadShed.class))
+                                        .map(
+                                                c ->
+                                                        new CoDelLoadShedder(
+                                                                k.getName(),
+                                                                c.targetDelay(),
+                                                                c.interval())))
+                .orElse(null);
+    }
+
+    private CoDelLoadShedder getLoadShedder(Method method) {
+        return method != null ? getLoadShedder(method.getDeclaringClass()) : null;
+    }
+
+    /**
+     * 获取客户端的优先级调度器，可用于查看各通道的排队时间
+     *
+     * @param clientInterface 客户端接口类
+     * @return 调度器，未标注 {@link PriorityDispatch} 时为 null
+     */
+    public PriorityDispatcher getDispatcher(Class<?> clientInterface) {
+        return dispatchers
+                .computeIfAbsent(
+                        clientInterface,
+                        k ->
+                                Optional.ofNullable(k.getAnnotation(PriorityDispatch.class))
+                                        .map(c -> createDispatcher(k, c)))
+                .orElse(null);
+    }
+
+    private PriorityDispatcher getDispatcher(Method method) {
+        return method != null ? getDispatcher(method.getDeclaringClass()) : null;
+    }
+
+    /**
+     * 创建调度器，未指定并发上限时跟随自适应并发限制
+     *
+     * @param clientInterface 客户端接口类
+     * @param config 配置
+     * @return {@code PriorityDispatcher }
+     */
+    private PriorityDispatcher createDispatcher(
+            Class<?> clientInterface, PriorityDispatch config) {
+        IntSupplier capacity;
+        AdaptiveConcurrencyLimiter limiter = getConcurrencyLimiter(clientInterface);
+        if (config.maxConcurrentCalls() > 0) {
+            int maxConcurrentCalls = config.maxConcurrentCalls();
+            capacity = () -> maxConcurrentCalls;
+        } else if (limiter != null) {
+            capacity = limiter::getLimit;
+        } else {
+            throw new IllegalStateException(
+                    "@PriorityDispatch on "
+                            + clientInterface.getName()
+                            + " requires maxConcurrentCalls or @AdaptiveConcurrency");
+        }
+        return new PriorityDispatcher(
+                clientInterface.getName(), capacity, config.maxQueueSize(), config.maxQueueWait());
+    }
+
+    /**
+     * 执行请求，并把响应中的 Retry-After 和限流头反馈给 {@link HostPacer}
+     *
+     * @param request 请求
+     * @param method 方法
+     * @return {@code Response }
+     */
+    private Response executePaced(Request request, Method method) {
+        try {
+            Response response = executeLimited(request, method);
+            hostPacer.onResponse(request.getUrl(), response.getHeaders());
+            return response;
+        } catch (Throwable t) {
+            hostPacer.onError(request.getUrl(), t);
+            throw t;
+        }
+    }
+
+    /**
+     * 执行请求，客户端标注了 {@link AdaptiveConcurrency} 时先占用并发名额，并把耗时反馈给限制器
+     *
+     * @param request 请求
+     * @param method 方法
+     * @return {@code Response }
+     */
+    private Response executeLimited(Request request, Method method) {
+        AdaptiveConcurrencyLimiter limiter =
+                method != null ? getConcurrencyLimiter(method.getDeclaringClass()) : null;
+        if (limiter == null) {
+            return executeRequest(request);
+        }
+        int inflight = limiter.acquire();
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return executeRequest(request);
+        } catch (Throwable t) {
+            failure = t;
+            throw t;
+        } finally {
+            CancellationToken token = request.getCancellationToken();
+            if (failure != null && token != null && token.isCancelled()) {
+                limiter.release();
+            } else {
+                limiter.release(inflight, System.nanoTime() - start, failure);
+            }
+        }
+    }
+
+    /**
+     * 获取客户端的自适应并发限制器，可用于查看当前限制和 RTT 估计
+     *
+     * @param clientInterface 客户端接口类
+     * @return 限制器，未标注 {@link AdaptiveConcurrency} 时为 null
+     */
+    public AdaptiveConcurrencyLimiter getConcurrencyLimiter(Class<?> clientInterface) {
+        return concurrencyLimiters
+                .computeIfAbsent(
+                        clientInterface,
+                        k ->
+                                Optional.ofNullable(k.getAnnotation(AdaptiveConcurrency.class))
+                                        .map(c -> AdaptiveConcurrencyLimiter.of(k.getName(), c)))
+                .orElse(null);
     }
 
     // 抽象方法，由子类实现具体的请求逻辑
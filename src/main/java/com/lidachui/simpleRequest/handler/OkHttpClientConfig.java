@@ -0,0 +1,49 @@
+package com.lidachui.simpleRequest.handler;
+
+import lombok.Data;
+
+/**
+ * OkHttpClientConfig OkHttp 客户端配置
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 10:20
+ * @version: 1.0
+ */
+@Data
+public class OkHttpClientConfig {
+
+    /** 是否对 http:// 地址直接使用 HTTP/2 明文（h2c prior knowledge），https 地址不受影响 */
+    private boolean h2PriorKnowledge = false;
+
+    /** HTTP/2 PING 间隔（毫秒），0 表示不发送 */
+    private long pingIntervalMillis = 0;
+
+    /**
+     * 每个 host 在 h2c 连接上允许的最大并发流数，0 表示不限制。
+     *
+     * <p>h2c 模式下同一 host 的请求复用同一条连接，因此该值即单连接的流上限
+     */
+    private int maxConcurrentStreams = 0;
+
+    /** 等待可用流的最长时间（毫秒） */
+    private long streamAcquireTimeoutMillis = 5000;
+
+    /** 连接池最大空闲连接数 */
+    private int maxIdleConnections = 5;
+
+    /** 空闲连接保活时间（毫秒） */
+    private long keepAliveMillis = 5 * 60 * 1000L;
+
+    /**
+     * h2c 默认配置：开启 prior knowledge，每 30 秒 PING 一次，单连接最多 100 个并发流
+     *
+     * @return {@code OkHttpClientConfig }
+     */
+    public static OkHttpClientConfig h2c() {
+        OkHttpClientConfig config = new OkHttpClientConfig();
+        config.setH2PriorKnowledge(true);
+        config.setPingIntervalMillis(30 * 1000L);
+        config.setMaxConcurrentStreams(100);
+        return config;
+    }
+}
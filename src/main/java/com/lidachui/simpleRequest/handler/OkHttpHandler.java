@@ -1,5 +1,7 @@
 package com.lidachui.simpleRequest.handler;
 
+import com.lidachui.simpleRequest.async.CancellationToken;
+import com.lidachui.simpleRequest.resilience.StreamLimitExceededException;
 import com.lidachui.simpleRequest.resolver.ByteResponse;
 import com.lidachui.simpleRequest.resolver.Request;
 import com.lidachui.simpleRequest.resolver.Response;
@@ -25,6 +27,10 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * OkHttpHandler
@@ -37,16 +43,91 @@ public class OkHttpHandler extends AbstractHttpClientHandler {
 
     private final OkHttpClient client;
 
+    /** h2c 客户端，与 {@link #client} 共享连接池和调度器；未开启 h2c 时为 null */
+    private final OkHttpClient h2cClient;
+
+    private final OkHttpClientConfig config;
+
+    /** 每个 host 的 h2c 流许可 */
+    private final Map<String, Semaphore> streamPermits = new ConcurrentHashMap<>();
+
+    /** 当前在 h2c 连接上进行中的流数 */
+    private final AtomicInteger activeStreams = new AtomicInteger();
+
     private final Serializer serializer = new JacksonSerializer();
 
+    /** 拿到连接（含连接池复用和新建）时通知请求排队结束，h2c 流许可的等待也在此之前 */
+    private static final okhttp3.EventListener DEQUEUE_LISTENER =
+            new okhttp3.EventListener() {
+                @Override
+                public void connectionAcquired(Call call, Connection connection) {
+                    Request request = call.request().tag(Request.class);
+                    if (request != null) {
+                        request.markDequeued();
+                    }
+                }
+            };
+
     public OkHttpHandler() {
-        this.client = new OkHttpClient();
+        this(new OkHttpClientConfig());
+    }
+
+    public OkHttpHandler(OkHttpClientConfig config) {
+        this.config = config;
+        this.client =
+                new OkHttpClient.Builder()
+                        .connectionPool(
+                                new ConnectionPool(
+                                        config.getMaxIdleConnections(),
+                                        config.getKeepAliveMillis(),
+                                        TimeUnit.MILLISECONDS))
+                        .pingInterval(config.getPingIntervalMillis(), TimeUnit.MILLISECONDS)
+                        .eventListener(DEQUEUE_LISTENER)
+                        .build();
+        this.h2cClient =
+                config.isH2PriorKnowledge()
+                        ? client.newBuilder()
+                                .protocols(Collections.singletonList(Protocol.H2_PRIOR_KNOWLEDGE))
+                                .build()
+                        : null;
+    }
+
+    /**
+     * 连接池中的连接数
+     *
+     * @return int
+     */
+    public int getConnectionCount() {
+        return client.connectionPool().connectionCount();
+    }
+
+    /**
+     * 连接池中的空闲连接数
+     *
+     * @return int
+     */
+    public int getIdleConnectionCount() {
+        return client.connectionPool().idleConnectionCount();
+    }
+
+    /**
+     * 当前在 h2c 连接上进行中的流数，与 {@link #getConnectionCount()} 对比即可看出复用程度
+     *
+     * @return int
+     */
+    public int getActiveStreamCount() {
+        return activeStreams.get();
+    }
+
+    @Override
+    protected boolean reportsDequeue() {
+        return true;
     }
 
     @Override
     protected Response executeRequest(Request request) {
         okhttp3.Request.Builder requestBuilder =
-            new okhttp3.Request.Builder().url(request.getUrl());
+            new okhttp3.Request.Builder().url(request.getUrl()).tag(Request.class, request);
 
         try {
             // 设置请求头
@@ -86,54 +167,111 @@ public class OkHttpHandler extends AbstractHttpClientHandler {
                     throw new UnsupportedOperationException("Unsupported HTTP method: " + request.getMethod());
             }
 
-            // 执行请求
-            try (okhttp3.Response response = client.newCall(requestBuilder.build()).execute()) {
+            okhttp3.Request okRequest = requestBuilder.build();
+            if (h2cClient != null && !okRequest.isHttps()) {
+                return executeH2c(okRequest, request.getCancellationToken());
+            }
+            return execute(client, okRequest, request.getCancellationToken());
+        } catch (Exception e) {
+            ExceptionUtil.rethrow(e);
+        }
+        return new ByteResponse(new byte[0], null,false);
+    }
+
+    /**
+     * 在 h2c 连接上执行请求，超出单连接流上限时等待可用流
+     *
+     * @param okRequest 请求
+     * @param token 取消令牌，可为 null
+     * @return 响应
+     */
+    private Response executeH2c(okhttp3.Request okRequest, CancellationToken token)
+            throws Exception {
+        Semaphore permits = null;
+        if (config.getMaxConcurrentStreams() > 0) {
+            permits =
+                    streamPermits.computeIfAbsent(
+                            okRequest.url().host() + ":" + okRequest.url().port(),
+                            k -> new Semaphore(config.getMaxConcurrentStreams()));
+            if (!permits.tryAcquire(
+                    config.getStreamAcquireTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                throw new StreamLimitExceededException(
+                        okRequest.url().host(), config.getStreamAcquireTimeoutMillis());
+            }
+        }
+        activeStreams.incrementAndGet();
+        try {
+            return execute(h2cClient, okRequest, token);
+        } finally {
+            activeStreams.decrementAndGet();
+            if (permits != null) {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * 执行请求并转换响应
+     *
+     * @param httpClient 客户端
+     * @param okRequest 请求
+     * @param token 取消令牌，取消时中止连接，可为 null
+     * @return 响应
+     */
+    private Response execute(
+            OkHttpClient httpClient, okhttp3.Request okRequest, CancellationToken token)
+            throws IOException {
+        Call call = httpClient.newCall(okRequest);
+        CancellationToken.Registration registration =
+                token != null ? token.onCancel(call::cancel) : null;
+        // 执行请求
+        try (okhttp3.Response response = call.execute()) {
 
-                Map<String, String> headersMap = new HashMap<>();
-                Headers responseHeaders = response.headers();
-                for (String name : responseHeaders.names()) {
-                    headersMap.put(name, responseHeaders.get(name));
-                }
+            Map<String, String> headersMap = new HashMap<>();
+            Headers responseHeaders = response.headers();
+            for (String name : responseHeaders.names()) {
+                headersMap.put(name, responseHeaders.get(name));
+            }
 
-                if (response.isSuccessful()) {
-                    byte[] bodyBytes = response.body() != null ? response.body().bytes() : new byte[0];
-
-                    String ct = headersMap.entrySet().stream()
-                        .filter(e -> "Content-Type".equalsIgnoreCase(e.getKey()))
-                        .map(Map.Entry::getValue)
-                        .findFirst()
-                        .orElse("");
-
-                    boolean isBinary = ContentTypeUtil.isBinaryContentType(ct);
-                    return new ByteResponse(bodyBytes, headersMap, isBinary);
-                } else{
-                    String responseBody = "";
-                    if (response.body() != null) {
-                        try (InputStream is = response.body().byteStream()) {
-                            responseBody = StreamUtils.copyToString(is, StandardCharsets.UTF_8);
-                        }
+            if (response.isSuccessful()) {
+                byte[] bodyBytes = response.body() != null ? response.body().bytes() : new byte[0];
+
+                String ct = headersMap.entrySet().stream()
+                    .filter(e -> "Content-Type".equalsIgnoreCase(e.getKey()))
+                    .map(Map.Entry::getValue)
+                    .findFirst()
+                    .orElse("");
+
+                boolean isBinary = ContentTypeUtil.isBinaryContentType(ct);
+                return new ByteResponse(bodyBytes, headersMap, isBinary);
+            } else{
+                String responseBody = "";
+                if (response.body() != null) {
+                    try (InputStream is = response.body().byteStream()) {
+                        responseBody = StreamUtils.copyToString(is, StandardCharsets.UTF_8);
                     }
-                    // 将 okhttp3.Headers -> Map<String, List<String>> -> HttpHeaders
-                    HttpHeaders httpHeaders = new HttpHeaders();
-                    Map<String, List<String>> multiMap = response.headers().toMultimap();
-                    multiMap.forEach((k, v) -> {
-                        if (k != null) {
-                            httpHeaders.put(k, v); // HttpHeaders 接受 List<String>
-                        }
-                    });
-                    throw new HttpClientErrorException(
-                        HttpStatus.valueOf(response.code()),
-                        response.message(),
-                        httpHeaders,
-                        responseBody.getBytes(StandardCharsets.UTF_8),
-                        StandardCharsets.UTF_8
-                    );
                 }
+                // 将 okhttp3.Headers -> Map<String, List<String>> -> HttpHeaders
+                HttpHeaders httpHeaders = new HttpHeaders();
+                Map<String, List<String>> multiMap = response.headers().toMultimap();
+                multiMap.forEach((k, v) -> {
+                    if (k != null) {
+                        httpHeaders.put(k, v); // HttpHeaders 接受 List<String>
+                    }
+                });
+                throw new HttpClientErrorException(
+                    HttpStatus.valueOf(response.code()),
+                    response.message(),
+                    httpHeaders,
+                    responseBody.getBytes(StandardCharsets.UTF_8),
+                    StandardCharsets.UTF_8
+                );
+            }
+        } finally {
+            if (registration != null) {
+                registration.remove();
             }
-        } catch (Exception e) {
-            ExceptionUtil.rethrow(e);
         }
-        return new ByteResponse(new byte[0], null,false);
     }
 
     /**
@@ -1,5 +1,6 @@
 package com.lidachui.simpleRequest.handler;
 
+import com.lidachui.simpleRequest.async.CancellationToken;
 import com.lidachui.simpleRequest.resolver.ByteResponse;
 import com.lidachui.simpleRequest.resolver.Request;
 import com.lidachui.simpleRequest.resolver.Response;
@@ -36,8 +37,12 @@ public class RestTemplateHandler extends AbstractHttpClientHandler {
         HttpEntity<Object> entity = new HttpEntity<>(body, httpHeaders);
 
         // 使用byte[]作为响应类型，以支持二进制数据
+        // RestTemplate 没有中止接口，取消时中断执行线程（虚拟线程上阻塞的 socket 读写可被中断）
+        CancellationToken token = request.getCancellationToken();
         ResponseEntity<byte[]> response =
-                restTemplate.exchange(request.getUrl(), request.getMethod(), entity, byte[].class);
+                token == null
+                        ? exchange(restTemplate, request, entity)
+                        : token.runInterruptibly(() -> exchange(restTemplate, request, entity));
 
         Map<String, String> headersMap = new HashMap<>();
         response.getHeaders().forEach((k, v) -> headersMap.put(k, v.toString()));
@@ -53,6 +58,11 @@ public class RestTemplateHandler extends AbstractHttpClientHandler {
         return new ByteResponse(responseBytes, headersMap, isBinaryContent);
     }
 
+    private ResponseEntity<byte[]> exchange(
+            RestTemplate restTemplate, Request request, HttpEntity<Object> entity) {
+        return restTemplate.exchange(request.getUrl(), request.getMethod(), entity, byte[].class);
+    }
+
     public RestTemplate getRestTemplate() {
         try {
             if (SpringUtil.isSpringContextActive()) {
@@ -0,0 +1,112 @@
+package com.lidachui.simpleRequest.reactive;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.lidachui.simpleRequest.serialize.Serializer;
+import com.lidachui.simpleRequest.util.ExceptionUtil;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * JsonElementIterator 按需逐个解码 JSON 数组或 NDJSON 中的元素
+ *
+ * <p>用 Jackson 的流式解析器只定位元素边界，每次 {@link #next()} 才截取下一个元素交给客户端配置的 {@link
+ * Serializer} 反序列化，不会一次性构造整个列表。响应体以 {@code [} 开头时按数组处理，否则按逐行（或空白分隔）的多个 JSON 值处理。
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 18:10
+ * @version: 1.0
+ */
+public class JsonElementIterator implements Iterator<Object> {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final byte[] body;
+
+    private final Type elementType;
+
+    private final Serializer serializer;
+
+    private final JsonParser parser;
+
+    /** 数组模式下跳过外层的 START_ARRAY */
+    private final boolean array;
+
+    /** 预读的下一个元素起始 token，null 表示尚未预读 */
+    private JsonToken nextToken;
+
+    private boolean finished;
+
+    public JsonElementIterator(byte[] body, Type elementType, Serializer serializer) {
+        this.body = body;
+        this.elementType = elementType;
+        this.serializer = serializer;
+        try {
+            this.parser = JSON_FACTORY.createParser(body);
+            this.array = firstNonWhitespace(body) == '[';
+            if (array) {
+                parser.nextToken();
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid JSON stream", e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (finished) {
+            return false;
+        }
+        if (nextToken == null) {
+            nextToken = advance();
+            if (nextToken == null || (array && nextToken == JsonToken.END_ARRAY)) {
+                finished = true;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Object next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        JsonToken token = nextToken;
+        nextToken = null;
+        try {
+            int start = (int) parser.getTokenLocation().getByteOffset();
+            if (token.isStructStart()) {
+                parser.skipChildren();
+            } else {
+                parser.finishToken();
+            }
+            int end = (int) parser.getCurrentLocation().getByteOffset();
+            return serializer.deserialize(Arrays.copyOfRange(body, start, end), elementType);
+        } catch (IOException e) {
+            return ExceptionUtil.rethrow(e);
+        }
+    }
+
+    private JsonToken advance() {
+        try {
+            return parser.nextToken();
+        } catch (IOException e) {
+            return ExceptionUtil.rethrow(e);
+        }
+    }
+
+    private static int firstNonWhitespace(byte[] body) {
+        for (byte b : body) {
+            if (!Character.isWhitespace(b)) {
+                return b;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,72 @@
+package com.lidachui.simpleRequest.reactive;
+
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * ReactiveTypes 响应式返回类型判断
+ *
+ * <p>只按类名判断，不引用 Reactor 的类，classpath 中没有 reactor-core 时也可以安全加载。
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 18:10
+ * @version: 1.0
+ */
+public final class ReactiveTypes {
+
+    private static final String MONO = "reactor.core.publisher.Mono";
+
+    private static final String FLUX = "reactor.core.publisher.Flux";
+
+    private static final boolean REACTOR_PRESENT =
+            ClassUtils.isPresent(MONO, ReactiveTypes.class.getClassLoader());
+
+    private ReactiveTypes() {}
+
+    /**
+     * 方法是否返回 {@code Mono} 或 {@code Flux}
+     *
+     * @param method 方法
+     * @return boolean
+     */
+    public static boolean isReactiveReturnType(Method method) {
+        return isMono(method) || isFlux(method);
+    }
+
+    /**
+     * 方法是否返回 {@code Mono}
+     *
+     * @param method 方法
+     * @return boolean
+     */
+    public static boolean isMono(Method method) {
+        return REACTOR_PRESENT && MONO.equals(method.getReturnType().getName());
+    }
+
+    /**
+     * 方法是否返回 {@code Flux}
+     *
+     * @param method 方法
+     * @return boolean
+     */
+    public static boolean isFlux(Method method) {
+        return REACTOR_PRESENT && FLUX.equals(method.getReturnType().getName());
+    }
+
+    /**
+     * 获取返回值的元素类型，即 {@code Mono<T>} / {@code Flux<T>} 中的 T
+     *
+     * @param method 方法
+     * @return 元素类型，未声明泛型时为 Object
+     */
+    public static Type getElementType(Method method) {
+        Type type = method.getGenericReturnType();
+        if (type instanceof ParameterizedType) {
+            return ((ParameterizedType) type).getActualTypeArguments()[0];
+        }
+        return Object.class;
+    }
+}
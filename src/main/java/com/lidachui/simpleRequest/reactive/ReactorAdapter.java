@@ -0,0 +1,71 @@
+package com.lidachui.simpleRequest.reactive;
+
+import com.lidachui.simpleRequest.serialize.Serializer;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * ReactorAdapter 把异步调用适配为 {@link Mono} / {@link Flux}
+ *
+ * <p>请求在订阅时才发出，每次订阅都会重新调用，因此 {@code retryWhen} 等操作符可以直接使用。取消订阅会取消底层的 Future。
+ * 该类引用了 Reactor 的类型，只能在 {@link ReactiveTypes#isReactiveReturnType(Method)} 为 true 时使用。
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 18:10
+ * @version: 1.0
+ */
+public final class ReactorAdapter {
+
+    private ReactorAdapter() {}
+
+    /**
+     * 适配为方法声明的响应式类型
+     *
+     * @param method 方法
+     * @param call 发起调用，返回结果 Future；Flux 方法的结果为原始响应体或已解码的集合
+     * @param serializer 序列化器，用于逐个解码 Flux 元素
+     * @return {@code Mono<?>} 或 {@code Flux<?>}
+     */
+    public static Object adapt(
+            Method method, Supplier<CompletableFuture<Object>> call, Serializer serializer) {
+        Mono<Object> mono = Mono.defer(() -> Mono.fromFuture(call.get()));
+        if (ReactiveTypes.isMono(method)) {
+            return mono;
+        }
+        Type elementType = ReactiveTypes.getElementType(method);
+        return mono.flatMapMany(body -> toFlux(body, elementType, serializer));
+    }
+
+    private static Flux<Object> toFlux(Object body, Type elementType, Serializer serializer) {
+        if (body instanceof byte[]) {
+            byte[] bytes = (byte[]) body;
+            // 迭代器按下游的请求量逐个解码
+            return Flux.fromIterable(
+                    () -> new JsonElementIterator(bytes, elementType, serializer));
+        }
+        if (body instanceof Iterable) {
+            return Flux.fromIterable(castIterable(body));
+        }
+        if (body.getClass().isArray()) {
+            Object[] elements = new Object[Array.getLength(body)];
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = Array.get(body, i);
+            }
+            return Flux.fromIterable(Arrays.asList(elements));
+        }
+        return Flux.just(body);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Iterable<Object> castIterable(Object body) {
+        return (Iterable<Object>) body;
+    }
+}
@@ -0,0 +1,151 @@
+package com.lidachui.simpleRequest.resilience;
+
+import com.lidachui.simpleRequest.annotation.AdaptiveConcurrency;
+import com.lidachui.simpleRequest.resilience.limit.AdaptiveLimit;
+import com.lidachui.simpleRequest.resilience.limit.AimdLimit;
+import com.lidachui.simpleRequest.resilience.limit.GradientLimit;
+import com.lidachui.simpleRequest.resilience.limit.VegasLimit;
+
+import org.springframework.web.client.HttpStatusCodeException;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AdaptiveConcurrencyLimiter 自适应并发限制器，在途请求数达到当前限制时快速拒绝
+ *
+ * <p>超时、连接失败、5xx 和 429 视为过载信号；其他异常（如 4xx、序列化失败）不参与调整。
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 15:00
+ * @version: 1.0
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final String name;
+    private final AdaptiveLimit limit;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public AdaptiveConcurrencyLimiter(String name, AdaptiveLimit limit) {
+        this.name = name;
+        this.limit = limit;
+    }
+
+    /**
+     * 根据注解创建限制器
+     *
+     * @param name 名称
+     * @param config 配置
+     * @return {@code AdaptiveConcurrencyLimiter }
+     */
+    public static AdaptiveConcurrencyLimiter of(String name, AdaptiveConcurrency config) {
+        AdaptiveLimit limit;
+        switch (config.algorithm()) {
+            case AIMD:
+                limit = new AimdLimit(config.initialLimit(), config.minLimit(), config.maxLimit());
+                break;
+            case VEGAS:
+                limit = new VegasLimit(config.initialLimit(), config.minLimit(), config.maxLimit());
+                break;
+            default:
+                limit =
+                        new GradientLimit(
+                                config.initialLimit(), config.minLimit(), config.maxLimit());
+        }
+        return new AdaptiveConcurrencyLimiter(name, limit);
+    }
+
+    /**
+     * 占用一个并发名额，超出限制时抛出 {@link ConcurrencyLimitExceededException}
+     *
+     * @return 在途请求数（含本次）
+     */
+    public int acquire() {
+        while (true) {
+            int current = inflight.get();
+            int currentLimit = limit.getLimit();
+            if (current >= currentLimit) {
+                rejectedCount.increment();
+                throw new ConcurrencyLimitExceededException(name, currentLimit);
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * 释放名额并记录样本
+     *
+     * @param acquiredInflight {@link #acquire()} 的返回值
+     * @param rttNanos 往返耗时（纳秒）
+     * @param throwable 异常，成功时为 null
+     */
+    public void release(int acquiredInflight, long rttNanos, Throwable throwable) {
+        inflight.decrementAndGet();
+        if (throwable == null) {
+            limit.onSample(rttNanos, acquiredInflight, false);
+        } else if (isOverload(throwable)) {
+            limit.onSample(rttNanos, acquiredInflight, true);
+        }
+    }
+
+    /**
+     * 释放名额但不记录样本，用于被取消的调用，避免把取消导致的 IO 异常当成过载信号
+     */
+    public void release() {
+        inflight.decrementAndGet();
+    }
+
+    private static boolean isOverload(Throwable throwable) {
+        for (Throwable t = throwable; t != null; t = t.getCause()) {
+            if (t instanceof IOException) {
+                return true;
+            }
+            if (t instanceof HttpStatusCodeException) {
+                int status = ((HttpStatusCodeException) t).getRawStatusCode();
+                return status >= 500 || status == 429;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * 最近一次 RTT（纳秒）
+     *
+     * @return long
+     */
+    public long getRttNanos() {
+        return limit.getRttNanos();
+    }
+
+    /**
+     * 算法使用的基准 RTT（纳秒）
+     *
+     * @return long
+     */
+    public long getBaselineRttNanos() {
+        return limit.getBaselineRttNanos();
+    }
+}
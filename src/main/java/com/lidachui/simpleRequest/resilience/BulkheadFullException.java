@@ -0,0 +1,17 @@
+package com.lidachui.simpleRequest.resilience;
+
+/**
+ * BulkheadFullException 舱壁已满时快速失败
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 14:00
+ * @version: 1.0
+ */
+public class BulkheadFullException extends RequestRejectedException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BulkheadFullException(String bulkheadName) {
+        super("Bulkhead '" + bulkheadName + "' is full and does not permit further calls");
+    }
+}
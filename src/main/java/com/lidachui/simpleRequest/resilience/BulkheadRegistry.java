@@ -0,0 +1,53 @@
+package com.lidachui.simpleRequest.resilience;
+
+import com.lidachui.simpleRequest.annotation.Bulkhead;
+import com.lidachui.simpleRequest.constants.BulkheadType;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * BulkheadRegistry 舱壁注册表，按名称复用舱壁，便于统一查看各依赖的资源占用
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 14:00
+ * @version: 1.0
+ */
+public class BulkheadRegistry {
+
+    private final Map<String, RequestBulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    /**
+     * 获取或创建舱壁
+     *
+     * @param name 名称
+     * @param config 配置
+     * @return {@code RequestBulkhead }
+     */
+    public RequestBulkhead bulkhead(String name, Bulkhead config) {
+        return bulkheads.computeIfAbsent(name, k -> create(name, config));
+    }
+
+    private static RequestBulkhead create(String name, Bulkhead config) {
+        if (config.type() == BulkheadType.THREAD_POOL) {
+            return new ThreadPoolBulkhead(
+                    name, config.maxConcurrentCalls(), config.queueCapacity());
+        }
+        return new SemaphoreBulkhead(name, config.maxConcurrentCalls(), config.maxWaitDuration());
+    }
+
+    /**
+     * 按名称查找舱壁
+     *
+     * @param name 名称
+     * @return 舱壁，不存在时为 null
+     */
+    public RequestBulkhead find(String name) {
+        return bulkheads.get(name);
+    }
+
+    public Map<String, RequestBulkhead> getBulkheads() {
+        return Collections.unmodifiableMap(bulkheads);
+    }
+}
@@ -0,0 +1,17 @@
+package com.lidachui.simpleRequest.resilience;
+
+/**
+ * CallNotPermittedException 熔断器打开或半开探测名额已满时快速失败
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 13:10
+ * @version: 1.0
+ */
+public class CallNotPermittedException extends RequestRejectedException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CallNotPermittedException(String circuitBreakerName) {
+        super("CircuitBreaker '" + circuitBreakerName + "' is open and does not permit calls");
+    }
+}
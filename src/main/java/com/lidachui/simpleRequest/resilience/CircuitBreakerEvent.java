@@ -0,0 +1,24 @@
+package com.lidachui.simpleRequest.resilience;
+
+import com.lidachui.simpleRequest.constants.CircuitState;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * CircuitBreakerEvent 熔断器状态变更事件
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 13:10
+ * @version: 1.0
+ */
+@Data
+@AllArgsConstructor
+public class CircuitBreakerEvent {
+    private String name;
+    private CircuitState fromState;
+    private CircuitState toState;
+    private float failureRate;
+    private float slowCallRate;
+    private long timestamp;
+}
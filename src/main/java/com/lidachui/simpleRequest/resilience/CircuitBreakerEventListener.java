@@ -0,0 +1,18 @@
+package com.lidachui.simpleRequest.resilience;
+
+/**
+ * CircuitBreakerEventListener
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 13:10
+ * @version: 1.0
+ */
+public interface CircuitBreakerEventListener {
+
+    /**
+     * 熔断器状态变更
+     *
+     * @param event 事件
+     */
+    void onStateTransition(CircuitBreakerEvent event);
+}
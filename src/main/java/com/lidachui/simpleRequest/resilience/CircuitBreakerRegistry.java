@@ -0,0 +1,75 @@
+package com.lidachui.simpleRequest.resilience;
+
+import com.lidachui.simpleRequest.annotation.CircuitBreaker;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * CircuitBreakerRegistry 熔断器注册表，负责按名称复用熔断器并分发状态变更事件
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 13:10
+ * @version: 1.0
+ */
+@Slf4j
+public class CircuitBreakerRegistry {
+
+    private final Map<String, SlidingWindowCircuitBreaker> circuitBreakers =
+            new ConcurrentHashMap<>();
+    private final List<CircuitBreakerEventListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 获取或创建熔断器
+     *
+     * @param name 名称
+     * @param config 配置
+     * @return {@code SlidingWindowCircuitBreaker }
+     */
+    public SlidingWindowCircuitBreaker circuitBreaker(String name, CircuitBreaker config) {
+        return circuitBreakers.computeIfAbsent(
+                name, k -> new SlidingWindowCircuitBreaker(name, config, this));
+    }
+
+    /**
+     * 按名称查找熔断器
+     *
+     * @param name 名称
+     * @return 熔断器，不存在时为 null
+     */
+    public SlidingWindowCircuitBreaker find(String name) {
+        return circuitBreakers.get(name);
+    }
+
+    public Map<String, SlidingWindowCircuitBreaker> getCircuitBreakers() {
+        return Collections.unmodifiableMap(circuitBreakers);
+    }
+
+    public void addListener(CircuitBreakerEventListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(CircuitBreakerEventListener listener) {
+        listeners.remove(listener);
+    }
+
+    void publish(CircuitBreakerEvent event) {
+        log.info(
+                "CircuitBreaker '{}' changed state from {} to {}",
+                event.getName(),
+                event.getFromState(),
+                event.getToState());
+        for (CircuitBreakerEventListener listener : listeners) {
+            try {
+                listener.onStateTransition(event);
+            } catch (Exception e) {
+                log.error("Error notifying listener: " + e.getMessage(), e);
+            }
+        }
+    }
+}
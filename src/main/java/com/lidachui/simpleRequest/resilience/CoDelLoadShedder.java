@@ -0,0 +1,106 @@
+package com.lidachui.simpleRequest.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CoDelLoadShedder 参考 CoDel 的客户端过载丢弃器
+ *
+ * <p>每个请求出队（交给传输层）时上报排队时延。时延低于目标值时立即恢复正常；高于目标值并持续一个间隔后进入丢弃状态，此后新请求直接拒绝，
+ * 每个间隔放行一个探测请求，以便在队列排空后仍能得到新的时延样本。
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 17:30
+ * @version: 1.0
+ */
+public class CoDelLoadShedder {
+
+    /** 表示当前未超标 */
+    private static final long NOT_ABOVE = Long.MIN_VALUE;
+
+    private final String name;
+    private final long targetNanos;
+    private final long intervalNanos;
+
+    /** 首次超标后满一个间隔的时间点 */
+    private final AtomicLong aboveTargetUntil = new AtomicLong(NOT_ABOVE);
+
+    private volatile boolean dropping;
+    private volatile long lastDelayNanos;
+
+    /** 丢弃状态下下一次允许探测的时间 */
+    private final AtomicLong nextProbeNanos = new AtomicLong();
+
+    private final LongAdder shedCount = new LongAdder();
+
+    public CoDelLoadShedder(String name, long targetDelayMillis, long intervalMillis) {
+        this.name = name;
+        this.targetNanos = TimeUnit.MILLISECONDS.toNanos(targetDelayMillis);
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+    }
+
+    /**
+     * 接收新请求，丢弃状态下抛出 {@link LoadSheddingException}
+     */
+    public void admit() {
+        if (!dropping) {
+            return;
+        }
+        long now = System.nanoTime();
+        long probeAt = nextProbeNanos.get();
+        if (now - probeAt >= 0 && nextProbeNanos.compareAndSet(probeAt, now + intervalNanos)) {
+            return;
+        }
+        shedCount.increment();
+        throw new LoadSheddingException(name, TimeUnit.NANOSECONDS.toMillis(lastDelayNanos));
+    }
+
+    /**
+     * 上报一次出队时的排队时延
+     *
+     * @param queueDelayNanos 排队时延（纳秒）
+     */
+    public void onDequeue(long queueDelayNanos) {
+        lastDelayNanos = queueDelayNanos;
+        if (queueDelayNanos < targetNanos) {
+            aboveTargetUntil.set(NOT_ABOVE);
+            dropping = false;
+            return;
+        }
+        long now = System.nanoTime();
+        long until = aboveTargetUntil.get();
+        if (until == NOT_ABOVE) {
+            aboveTargetUntil.compareAndSet(NOT_ABOVE, now + intervalNanos);
+        } else if (!dropping && now - until >= 0) {
+            nextProbeNanos.set(now + intervalNanos);
+            dropping = true;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 是否处于丢弃状态
+     *
+     * @return boolean
+     */
+    public boolean isDropping() {
+        return dropping;
+    }
+
+    /**
+     * 最近一次排队时延（毫秒）
+     *
+     * @return long
+     */
+    public long getLastQueueDelayMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lastDelayNanos);
+    }
+
+    public long getShedCount() {
+        return shedCount.sum();
+    }
+}
@@ -0,0 +1,17 @@
+package com.lidachui.simpleRequest.resilience;
+
+/**
+ * ConcurrencyLimitExceededException 在途请求数达到自适应并发限制时快速失败
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 15:00
+ * @version: 1.0
+ */
+public class ConcurrencyLimitExceededException extends RequestRejectedException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ConcurrencyLimitExceededException(String limiterName, int limit) {
+        super("Concurrency limit " + limit + " of '" + limiterName + "' exceeded");
+    }
+}
@@ -0,0 +1,59 @@
+package com.lidachui.simpleRequest.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * CountBasedSlidingWindow 最近 N 次调用的无锁环形窗口
+ *
+ * <p>每个槽位通过 getAndSet 原子替换，汇总值按新旧槽位的差值增减，写入无需加锁
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 13:10
+ * @version: 1.0
+ */
+public class CountBasedSlidingWindow implements SlidingWindow {
+
+    private static final long RECORDED = 1;
+    private static final long FAILURE = 1 << 1;
+    private static final long SLOW = 1 << 2;
+
+    private final AtomicLongArray outcomes;
+    private final AtomicLongArray durations;
+    private final AtomicLong cursor = new AtomicLong();
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong slowCalls = new AtomicLong();
+    private final AtomicLong totalDurationNanos = new AtomicLong();
+
+    public CountBasedSlidingWindow(int size) {
+        this.outcomes = new AtomicLongArray(size);
+        this.durations = new AtomicLongArray(size);
+    }
+
+    @Override
+    public void record(long durationNanos, boolean failure, boolean slow) {
+        int slot = (int) (cursor.getAndIncrement() % outcomes.length());
+        long outcome = RECORDED | (failure ? FAILURE : 0) | (slow ? SLOW : 0);
+        long previous = outcomes.getAndSet(slot, outcome);
+        long previousDuration = durations.getAndSet(slot, durationNanos);
+
+        if ((previous & RECORDED) == 0) {
+            calls.incrementAndGet();
+        }
+        failures.addAndGet(bit(outcome, FAILURE) - bit(previous, FAILURE));
+        slowCalls.addAndGet(bit(outcome, SLOW) - bit(previous, SLOW));
+        totalDurationNanos.addAndGet(durationNanos - previousDuration);
+    }
+
+    private static long bit(long outcome, long mask) {
+        return (outcome & mask) != 0 ? 1 : 0;
+    }
+
+    @Override
+    public Snapshot snapshot() {
+        return new Snapshot(
+                calls.get(), failures.get(), slowCalls.get(), totalDurationNanos.get());
+    }
+}
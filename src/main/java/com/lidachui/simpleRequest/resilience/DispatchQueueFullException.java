@@ -0,0 +1,17 @@
+package com.lidachui.simpleRequest.resilience;
+
+/**
+ * DispatchQueueFullException 优先级调度队列已满时快速失败
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 17:00
+ * @version: 1.0
+ */
+public class DispatchQueueFullException extends RequestRejectedException {
+
+    private static final long serialVersionUID = 1L;
+
+    public DispatchQueueFullException(String dispatcherName) {
+        super("Dispatch queue of '" + dispatcherName + "' is full");
+    }
+}
@@ -0,0 +1,337 @@
+package com.lidachui.simpleRequest.resilience;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.client.HttpStatusCodeException;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HostPacer 按 host 共享的服务端节流状态
+ *
+ * <p>解析 429/503 响应的 {@code Retry-After}，在冷却期内让该 host 的所有调用方统一等待；解析 {@code
+ * X-RateLimit-Remaining}/{@code X-RateLimit-Reset}，把剩余配额均匀分摊到重置前的时间里发送。
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 15:30
+ * @version: 1.0
+ */
+@Slf4j
+public class HostPacer {
+
+    private static final HostPacer DEFAULT = new HostPacer();
+
+    static final String RETRY_AFTER = "Retry-After";
+    static final String RATE_LIMIT_REMAINING = "X-RateLimit-Remaining";
+    static final String RATE_LIMIT_RESET = "X-RateLimit-Reset";
+
+    /** 大于该值的 Reset 视为 epoch 秒，否则视为剩余秒数 */
+    private static final long EPOCH_SECONDS_THRESHOLD = 1_000_000_000L;
+
+    /** 允许等待的最长时间（毫秒），超过时直接抛出 {@link ServerPacingException} */
+    @Getter @Setter private long maxWaitMillis = 30_000;
+
+    private final Map<String, HostState> hosts = new ConcurrentHashMap<>();
+
+    /**
+     * 各处理器默认共享的实例
+     *
+     * @return {@code HostPacer }
+     */
+    public static HostPacer getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * 为一次请求预约发送时间
+     *
+     * @param url 请求地址
+     * @return 需要等待的毫秒数
+     * @throws ServerPacingException 需要等待的时间超过 {@link #maxWaitMillis}
+     */
+    public long reserve(String url) {
+        String host = hostOf(url);
+        HostState state = host != null ? hosts.get(host) : null;
+        if (state == null) {
+            return 0;
+        }
+        long waitNanos = state.reserve(System.nanoTime());
+        long waitMillis = TimeUnit.NANOSECONDS.toMillis(waitNanos + 999_999);
+        if (waitMillis > maxWaitMillis) {
+            throw new ServerPacingException(host, waitMillis);
+        }
+        return waitMillis;
+    }
+
+    /**
+     * 同步等待预约的发送时间
+     *
+     * @param url 请求地址
+     */
+    public void await(String url) {
+        long waitMillis = reserve(url);
+        if (waitMillis > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(waitMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * 根据成功响应的头信息更新配额
+     *
+     * @param url 请求地址
+     * @param headers 响应头
+     */
+    public void onResponse(String url, Map<String, String> headers) {
+        if (headers == null || headers.isEmpty()) {
+            return;
+        }
+        String remaining = headerValue(headers, RATE_LIMIT_REMAINING);
+        String reset = headerValue(headers, RATE_LIMIT_RESET);
+        if (remaining != null && reset != null) {
+            updateQuota(url, remaining, reset);
+        }
+    }
+
+    /**
+     * 根据失败响应更新冷却时间和配额
+     *
+     * @param url 请求地址
+     * @param throwable 异常
+     */
+    public void onError(String url, Throwable throwable) {
+        HttpStatusCodeException statusException = findStatusException(throwable);
+        if (statusException == null || statusException.getResponseHeaders() == null) {
+            return;
+        }
+        HttpHeaders headers = statusException.getResponseHeaders();
+        int status = statusException.getRawStatusCode();
+        if (status == 429 || status == 503) {
+            long retryAfterMillis = parseRetryAfter(headers.getFirst(RETRY_AFTER));
+            if (retryAfterMillis > 0) {
+                HostState state = state(url);
+                if (state != null) {
+                    state.coolDown(
+                            System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryAfterMillis));
+                    log.info("Host '{}' asked to retry after {} ms", state.host, retryAfterMillis);
+                }
+            }
+        }
+        String remaining = headers.getFirst(RATE_LIMIT_REMAINING);
+        String reset = headers.getFirst(RATE_LIMIT_RESET);
+        if (remaining != null && reset != null) {
+            updateQuota(url, remaining, reset);
+        }
+    }
+
+    /**
+     * 从异常中读取服务端要求的重试等待时间。{@link ServerPacingException} 是本地拒绝，不会被重试，这里不做处理
+     *
+     * @param throwable 异常
+     * @return 毫秒数，服务端未指定时为 -1
+     */
+    public static long retryAfterMillis(Throwable throwable) {
+        for (Throwable t = throwable; t != null; t = t.getCause()) {
+            if (t instanceof HttpStatusCodeException) {
+                HttpHeaders headers = ((HttpStatusCodeException) t).getResponseHeaders();
+                long millis = headers != null ? parseRetryAfter(headers.getFirst(RETRY_AFTER)) : -1;
+                return millis > 0 ? millis : -1;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return -1;
+    }
+
+    private void updateQuota(String url, String remainingValue, String resetValue) {
+        HostState state = state(url);
+        if (state == null) {
+            return;
+        }
+        try {
+            long remaining = Long.parseLong(remainingValue.trim());
+            long reset = Long.parseLong(resetValue.trim());
+            long resetMillis =
+                    reset > EPOCH_SECONDS_THRESHOLD
+                            ? reset * 1000 - System.currentTimeMillis()
+                            : reset * 1000;
+            state.updateQuota(System.nanoTime(), remaining, Math.max(0, resetMillis));
+        } catch (NumberFormatException e) {
+            log.debug("Ignore malformed rate limit headers: {} / {}", remainingValue, resetValue);
+        }
+    }
+
+    /**
+     * 解析 Retry-After，支持秒数和 HTTP-date 两种格式
+     *
+     * @param value 头信息值
+     * @return 毫秒数，无法解析时为 -1
+     */
+    static long parseRetryAfter(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return -1;
+        }
+        String trimmed = value.trim();
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(trimmed));
+        } catch (NumberFormatException ignored) {
+            // 不是秒数，按 HTTP-date 解析
+        }
+        try {
+            ZonedDateTime date = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, Duration.between(ZonedDateTime.now(), date).toMillis());
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    private static String headerValue(Map<String, String> headers, String name) {
+        String value = headers.get(name);
+        if (value != null) {
+            return value;
+        }
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            if (name.equalsIgnoreCase(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static HttpStatusCodeException findStatusException(Throwable throwable) {
+        for (Throwable t = throwable; t != null; t = t.getCause()) {
+            if (t instanceof HttpStatusCodeException) {
+                return (HttpStatusCodeException) t;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    private HostState state(String url) {
+        String host = hostOf(url);
+        return host != null ? hosts.computeIfAbsent(host, HostState::new) : null;
+    }
+
+    private static String hostOf(String url) {
+        if (url == null) {
+            return null;
+        }
+        try {
+            return URI.create(url).getAuthority();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 查看 host 当前的冷却剩余时间（毫秒）
+     *
+     * @param host host[:port]
+     * @return long
+     */
+    public long getCooldownMillis(String host) {
+        HostState state = hosts.get(host);
+        return state != null ? state.getCooldownMillis() : 0;
+    }
+
+    public Map<String, HostState> getHosts() {
+        return Collections.unmodifiableMap(hosts);
+    }
+
+    /** 单个 host 的节流状态 */
+    public static final class HostState {
+
+        private final String host;
+
+        /** 冷却截止时间，之前的请求统一等待 */
+        private final AtomicLong cooldownUntilNanos = new AtomicLong(System.nanoTime());
+
+        /** 配额重置时间，之前按 spacingNanos 间隔发送 */
+        private volatile long quotaResetNanos;
+
+        private volatile long spacingNanos;
+
+        /** 下一个可用的发送时间 */
+        private final AtomicLong nextSendNanos = new AtomicLong();
+
+        HostState(String host) {
+            this.host = host;
+        }
+
+        long reserve(long now) {
+            long wait = Math.max(0, cooldownUntilNanos.get() - now);
+            long spacing = spacingNanos;
+            if (spacing <= 0 || now >= quotaResetNanos) {
+                return wait;
+            }
+            long earliest = now + wait;
+            while (true) {
+                long next = nextSendNanos.get();
+                long slot = Math.max(next, earliest);
+                if (nextSendNanos.compareAndSet(next, slot + spacing)) {
+                    return slot - now;
+                }
+            }
+        }
+
+        void coolDown(long untilNanos) {
+            cooldownUntilNanos.accumulateAndGet(untilNanos, Math::max);
+        }
+
+        /**
+         * 当前冷却剩余时间（毫秒）
+         *
+         * @return long
+         */
+        public long getCooldownMillis() {
+            long remaining = cooldownUntilNanos.get() - System.nanoTime();
+            return remaining > 0 ? TimeUnit.NANOSECONDS.toMillis(remaining) : 0;
+        }
+
+        void updateQuota(long now, long remaining, long resetMillis) {
+            long resetNanos = now + TimeUnit.MILLISECONDS.toNanos(resetMillis);
+            if (remaining <= 0) {
+                coolDown(resetNanos);
+                spacingNanos = 0;
+                return;
+            }
+            quotaResetNanos = resetNanos;
+            spacingNanos = (resetNanos - now) / remaining;
+        }
+
+        public String getHost() {
+            return host;
+        }
+
+        /**
+         * 当前按配额分摊的发送间隔（毫秒）
+         *
+         * @return long
+         */
+        public long getSpacingMillis() {
+            return System.nanoTime() < quotaResetNanos
+                    ? TimeUnit.NANOSECONDS.toMillis(spacingNanos)
+                    : 0;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.lidachui.simpleRequest.resilience;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyTracker 基于环形缓冲区的延迟采样，周期性计算分位数
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 11:40
+ * @version: 1.0
+ */
+public class LatencyTracker {
+
+    /** 每记录多少个样本重新计算一次分位数 */
+    private static final int RECOMPUTE_INTERVAL = 16;
+
+    private final AtomicLongArray samples;
+    private final AtomicLong index = new AtomicLong();
+    private final double percentile;
+
+    /** 最近一次计算出的分位数（纳秒），-1 表示尚未计算 */
+    private volatile long cachedPercentileNanos = -1;
+
+    /**
+     * @param windowSize 采样窗口大小
+     * @param percentile 分位数，例如 95
+     */
+    public LatencyTracker(int windowSize, double percentile) {
+        this.samples = new AtomicLongArray(windowSize);
+        this.percentile = percentile;
+    }
+
+    /**
+     * 记录一次延迟
+     *
+     * @param latencyNanos 延迟（纳秒）
+     */
+    public void record(long latencyNanos) {
+        long i = index.getAndIncrement();
+        samples.set((int) (i % samples.length()), latencyNanos);
+        if ((i + 1) % RECOMPUTE_INTERVAL == 0) {
+            recompute();
+        }
+    }
+
+    private void recompute() {
+        int count = (int) Math.min(index.get(), samples.length());
+        if (count == 0) {
+            return;
+        }
+        long[] copy = new long[count];
+        for (int i = 0; i < count; i++) {
+            copy[i] = samples.get(i);
+        }
+        Arrays.sort(copy);
+        int rank = (int) Math.ceil(percentile / 100 * count) - 1;
+        cachedPercentileNanos = copy[Math.max(0, Math.min(rank, count - 1))];
+    }
+
+    /**
+     * 当前分位数（毫秒），样本不足时返回 -1
+     *
+     * @return long
+     */
+    public long getPercentileMillis() {
+        long nanos = cachedPercentileNanos;
+        return nanos < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    public long getSampleCount() {
+        return index.get();
+    }
+}
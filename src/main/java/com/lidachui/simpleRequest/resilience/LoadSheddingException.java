@@ -0,0 +1,17 @@
+package com.lidachui.simpleRequest.resilience;
+
+/**
+ * LoadSheddingException 排队时延持续超标，请求被主动丢弃
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 17:30
+ * @version: 1.0
+ */
+public class LoadSheddingException extends RequestRejectedException {
+
+    private static final long serialVersionUID = 1L;
+
+    public LoadSheddingException(String name, long queueDelayMillis) {
+        super("Request to '" + name + "' shed, queue delay " + queueDelayMillis + " ms above target");
+    }
+}
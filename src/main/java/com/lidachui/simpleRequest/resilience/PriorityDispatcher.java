@@ -0,0 +1,327 @@
+package com.lidachui.simpleRequest.resilience;
+
+import com.lidachui.simpleRequest.async.SharedTimer;
+import com.lidachui.simpleRequest.constants.RequestPriority;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * PriorityDispatcher 优先级调度器，位于传输层并发限制之前
+ *
+ * <p>并发未满且无人排队时直接放行；否则按优先级进入通道排队。放行时严格按通道优先级选择，同一通道内按租户做自时钟加权公平排队（SCFQ）：
+ * 每个请求的完成标签为 max(虚拟时间, 该租户上一个完成标签) + 1 / 权重，标签最小者先放行。
+ *
+ * <p>排队返回的是 Future，同步调用方等待它完成，异步调用方在其完成后再提交请求，排队期间不占用线程。
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 17:00
+ * @version: 1.0
+ */
+public class PriorityDispatcher {
+
+    private static final CompletableFuture<Void> GRANTED = CompletableFuture.completedFuture(null);
+
+    private static final String DEFAULT_TENANT = "";
+
+    private final String name;
+    private final IntSupplier capacity;
+    private final int maxQueueSize;
+    private final long maxQueueWaitMillis;
+    private final Lane[] lanes;
+    private final Map<String, Double> tenantWeights = new ConcurrentHashMap<>();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    private final LongAdder cancelledCount = new LongAdder();
+
+    /** 以下字段由 this 保护 */
+    private int inflight;
+
+    private int queued;
+    private long sequence;
+
+    public PriorityDispatcher(
+            String name, IntSupplier capacity, int maxQueueSize, long maxQueueWaitMillis) {
+        this.name = name;
+        this.capacity = capacity;
+        this.maxQueueSize = maxQueueSize;
+        this.maxQueueWaitMillis = maxQueueWaitMillis;
+        this.lanes = new Lane[RequestPriority.values().length];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane();
+        }
+    }
+
+    /**
+     * 申请放行
+     *
+     * @param priority 优先级，null 视为 NORMAL
+     * @param tenant 租户，null 视为默认租户
+     * @return 放行时完成的 Future；队列已满时以 {@link DispatchQueueFullException} 失败，排队超时以 {@link
+     *     TimeoutException} 失败
+     */
+    public CompletableFuture<Void> acquire(RequestPriority priority, String tenant) {
+        Lane lane = lanes[(priority != null ? priority : RequestPriority.NORMAL).ordinal()];
+        String tenantKey = tenant != null ? tenant : DEFAULT_TENANT;
+        Waiter waiter;
+        synchronized (this) {
+            if (queued == 0 && inflight < capacity.getAsInt()) {
+                inflight++;
+                lane.recordWait(0);
+                return GRANTED;
+            }
+            if (queued >= maxQueueSize) {
+                rejectedCount.increment();
+                CompletableFuture<Void> rejected = new CompletableFuture<>();
+                rejected.completeExceptionally(new DispatchQueueFullException(name));
+                return rejected;
+            }
+            waiter = lane.enqueue(tenantKey, getTenantWeight(tenantKey), sequence++);
+            queued++;
+        }
+        if (maxQueueWaitMillis > 0) {
+            ScheduledFuture<?> timeout =
+                    SharedTimer.schedule(
+                            () -> expire(waiter), maxQueueWaitMillis, TimeUnit.MILLISECONDS);
+            waiter.future.whenComplete((v, t) -> timeout.cancel(false));
+        }
+        // 调用方取消时立即出队，不再占用队列名额
+        waiter.future.whenComplete(
+                (v, t) -> {
+                    if (waiter.future.isCancelled()) {
+                        abandon(waiter);
+                    }
+                });
+        // 容量可能在入队前刚被释放
+        dispatchWaiting();
+        return waiter.future;
+    }
+
+    /** 释放一个并发名额，并放行等待中的请求 */
+    public void release() {
+        synchronized (this) {
+            inflight--;
+        }
+        dispatchWaiting();
+    }
+
+    private void dispatchWaiting() {
+        while (true) {
+            Waiter waiter;
+            synchronized (this) {
+                if (inflight >= capacity.getAsInt()) {
+                    return;
+                }
+                waiter = poll();
+                if (waiter == null) {
+                    return;
+                }
+                inflight++;
+                queued--;
+            }
+            waiter.lane.recordWait(System.nanoTime() - waiter.enqueuedAtNanos);
+            if (!waiter.future.complete(null)) {
+                // 调用方已放弃，名额交给下一个
+                synchronized (this) {
+                    inflight--;
+                }
+            }
+        }
+    }
+
+    private Waiter poll() {
+        for (Lane lane : lanes) {
+            Waiter waiter = lane.poll();
+            if (waiter != null) {
+                return waiter;
+            }
+        }
+        return null;
+    }
+
+    private void abandon(Waiter waiter) {
+        synchronized (this) {
+            if (waiter.lane.remove(waiter)) {
+                queued--;
+            }
+        }
+        cancelledCount.increment();
+    }
+
+    private void expire(Waiter waiter) {
+        boolean removed;
+        synchronized (this) {
+            removed = waiter.lane.remove(waiter);
+            if (removed) {
+                queued--;
+            }
+        }
+        if (removed) {
+            waiter.future.completeExceptionally(
+                    new TimeoutException(
+                            "Queued longer than " + maxQueueWaitMillis + " ms in '" + name + "'"));
+        }
+    }
+
+    /**
+     * 设置租户权重，权重越大在同一通道内分到的份额越多，默认 1
+     *
+     * @param tenant 租户
+     * @param weight 权重
+     */
+    public void setTenantWeight(String tenant, double weight) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("weight must be positive");
+        }
+        tenantWeights.put(tenant, weight);
+    }
+
+    public double getTenantWeight(String tenant) {
+        return tenantWeights.getOrDefault(tenant, 1.0);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized int getInflight() {
+        return inflight;
+    }
+
+    /**
+     * 通道当前排队数
+     *
+     * @param priority 优先级
+     * @return int
+     */
+    public synchronized int getQueueSize(RequestPriority priority) {
+        return lanes[priority.ordinal()].queue.size();
+    }
+
+    /**
+     * 通道已放行的请求数
+     *
+     * @param priority 优先级
+     * @return long
+     */
+    public long getDispatchedCount(RequestPriority priority) {
+        return lanes[priority.ordinal()].dispatched.sum();
+    }
+
+    /**
+     * 通道平均排队时间（毫秒）
+     *
+     * @param priority 优先级
+     * @return double
+     */
+    public double getAverageQueueWaitMillis(RequestPriority priority) {
+        Lane lane = lanes[priority.ordinal()];
+        long count = lane.dispatched.sum();
+        return count == 0 ? 0 : lane.totalWaitNanos.sum() / (count * 1_000_000.0);
+    }
+
+    /**
+     * 通道最长排队时间（毫秒）
+     *
+     * @param priority 优先级
+     * @return long
+     */
+    public long getMaxQueueWaitMillis(RequestPriority priority) {
+        return TimeUnit.NANOSECONDS.toMillis(lanes[priority.ordinal()].maxWaitNanos.get());
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * 排队期间被取消的次数
+     *
+     * @return long
+     */
+    public long getCancelledCount() {
+        return cancelledCount.sum();
+    }
+
+    /** 单个优先级通道，队列操作由外层调度器的锁保护，统计字段可无锁读取 */
+    private static final class Lane {
+
+        private final PriorityQueue<Waiter> queue = new PriorityQueue<>();
+        private final Map<String, Double> lastFinishTags = new HashMap<>();
+        private double virtualTime;
+
+        private final LongAdder dispatched = new LongAdder();
+        private final LongAdder totalWaitNanos = new LongAdder();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+
+        Waiter enqueue(String tenant, double weight, long sequence) {
+            double start = Math.max(virtualTime, lastFinishTags.getOrDefault(tenant, 0.0));
+            double finishTag = start + 1.0 / weight;
+            lastFinishTags.put(tenant, finishTag);
+            Waiter waiter = new Waiter(this, finishTag, sequence);
+            queue.add(waiter);
+            return waiter;
+        }
+
+        Waiter poll() {
+            Waiter waiter = queue.poll();
+            if (waiter != null) {
+                virtualTime = waiter.finishTag;
+                resetIfIdle();
+            }
+            return waiter;
+        }
+
+        boolean remove(Waiter waiter) {
+            boolean removed = queue.remove(waiter);
+            if (removed) {
+                resetIfIdle();
+            }
+            return removed;
+        }
+
+        /** 通道排空后所有租户重新开始计算，避免租户标签无限累积 */
+        private void resetIfIdle() {
+            if (queue.isEmpty()) {
+                lastFinishTags.clear();
+                virtualTime = 0;
+            }
+        }
+
+        void recordWait(long waitNanos) {
+            dispatched.increment();
+            totalWaitNanos.add(waitNanos);
+            maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        }
+    }
+
+    private static final class Waiter implements Comparable<Waiter> {
+
+        private final Lane lane;
+        private final double finishTag;
+        private final long sequence;
+        private final long enqueuedAtNanos = System.nanoTime();
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        Waiter(Lane lane, double finishTag, long sequence) {
+            this.lane = lane;
+            this.finishTag = finishTag;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Waiter other) {
+            int compare = Double.compare(finishTag, other.finishTag);
+            return compare != 0 ? compare : Long.compare(sequence, other.sequence);
+        }
+    }
+}
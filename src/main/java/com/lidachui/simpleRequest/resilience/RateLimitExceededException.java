@@ -0,0 +1,17 @@
+package com.lidachui.simpleRequest.resilience;
+
+/**
+ * RateLimitExceededException 在等待时间内拿不到限流许可时快速失败
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 14:30
+ * @version: 1.0
+ */
+public class RateLimitExceededException extends RequestRejectedException {
+
+    private static final long serialVersionUID = 1L;
+
+    public RateLimitExceededException(String rateLimiterName) {
+        super("RateLimiter '" + rateLimiterName + "' does not permit further calls");
+    }
+}
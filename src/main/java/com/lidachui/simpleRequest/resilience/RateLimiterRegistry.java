@@ -0,0 +1,48 @@
+package com.lidachui.simpleRequest.resilience;
+
+import com.lidachui.simpleRequest.annotation.RateLimit;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RateLimiterRegistry 限流器注册表，按名称复用限流器
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 14:30
+ * @version: 1.0
+ */
+public class RateLimiterRegistry {
+
+    private final Map<String, TokenBucketRateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+    /**
+     * 获取或创建限流器
+     *
+     * @param name 名称
+     * @param config 配置
+     * @return {@code TokenBucketRateLimiter }
+     */
+    public TokenBucketRateLimiter rateLimiter(String name, RateLimit config) {
+        return rateLimiters.computeIfAbsent(
+                name,
+                k ->
+                        new TokenBucketRateLimiter(
+                                name, config.permitsPerSecond(), config.burst(), config.timeout()));
+    }
+
+    /**
+     * 按名称查找限流器
+     *
+     * @param name 名称
+     * @return 限流器，不存在时为 null
+     */
+    public TokenBucketRateLimiter find(String name) {
+        return rateLimiters.get(name);
+    }
+
+    public Map<String, TokenBucketRateLimiter> getRateLimiters() {
+        return Collections.unmodifiableMap(rateLimiters);
+    }
+}
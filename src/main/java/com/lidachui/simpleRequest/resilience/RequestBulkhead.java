@@ -0,0 +1,60 @@
+package com.lidachui.simpleRequest.resilience;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * RequestBulkhead 舱壁，限制单个依赖可占用的并发资源
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 14:00
+ * @version: 1.0
+ */
+public interface RequestBulkhead {
+
+    /**
+     * 在舱壁内同步执行调用，饱和时抛出 {@link BulkheadFullException}
+     *
+     * @param call 阻塞调用
+     * @return {@code T }
+     */
+    <T> T execute(Supplier<T> call);
+
+    /**
+     * 在舱壁内异步执行调用，饱和时返回以 {@link BulkheadFullException} 失败的 Future，不阻塞调用线程
+     *
+     * @param blockingCall 阻塞调用，线程池模式下提交到独立线程池执行
+     * @param asyncCall 异步调用，信号量模式下直接使用
+     * @return {@code CompletableFuture<T> }
+     */
+    <T> CompletableFuture<T> executeAsync(
+            Supplier<T> blockingCall, Supplier<CompletableFuture<T>> asyncCall);
+
+    /**
+     * 名称
+     *
+     * @return {@code String }
+     */
+    String getName();
+
+    /**
+     * 最大并发调用数
+     *
+     * @return int
+     */
+    int getMaxConcurrentCalls();
+
+    /**
+     * 当前正在执行的调用数
+     *
+     * @return int
+     */
+    int getActiveCalls();
+
+    /**
+     * 累计拒绝次数
+     *
+     * @return long
+     */
+    long getRejectedCount();
+}
@@ -0,0 +1,267 @@
+package com.lidachui.simpleRequest.resilience;
+
+import com.lidachui.simpleRequest.annotation.Callback;
+import com.lidachui.simpleRequest.async.CancellationToken;
+import com.lidachui.simpleRequest.util.CacheKey;
+import com.lidachui.simpleRequest.util.ExceptionUtil;
+import com.lidachui.simpleRequest.util.HashBasedCacheKeyGenerator;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * RequestCoalescer 在途请求合并器
+ *
+ * <p>第一个调用方成为发起者并真正发出请求，其余相同 key 的调用方只等待同一个结果；请求完成后 key 立即移除，不缓存结果。
+ *
+ * <p>共享调用使用合并器自己的取消令牌，每个调用方的令牌只取消该调用方自己的 Future；所有调用方都取消后才取消共享调用，
+ * 之后到达的相同调用会重新发起。
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 16:00
+ * @version: 1.0
+ */
+public class RequestCoalescer {
+
+    private final Map<Key, InFlight> inflight = new ConcurrentHashMap<>();
+
+    private final LongAdder leaderCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+
+    /**
+     * 同步执行，相同 key 的调用在途时等待其结果。
+     *
+     * <p>发起者在当前线程执行调用，其他调用方仍在等待时发起者取消不会中止共享调用，发起者在调用结束后以 {@link
+     * CancellationException} 返回
+     *
+     * @param key 调用 key
+     * @param callerToken 调用方的取消令牌，可以为 null
+     * @param call 实际调用，参数为共享调用的取消令牌
+     * @return 结果
+     */
+    public Object execute(
+            Key key, CancellationToken callerToken, Function<CancellationToken, Object> call) {
+        InFlight created = new InFlight();
+        InFlight joined = join(key, created);
+        if (joined != null) {
+            return await(subscribe(key, joined, callerToken));
+        }
+        CompletableFuture<Object> own = subscribe(key, created, callerToken);
+        try {
+            created.future.complete(call.apply(created.token));
+        } catch (Throwable t) {
+            created.future.completeExceptionally(t);
+        }
+        return await(own);
+    }
+
+    /**
+     * 异步执行，相同 key 的调用在途时共享同一个调用
+     *
+     * @param key 调用 key
+     * @param callerToken 调用方的取消令牌，可以为 null
+     * @param call 实际调用，参数为共享调用的取消令牌
+     * @return 调用方自己的 Future，取消它只影响该调用方
+     */
+    public CompletableFuture<Object> executeAsync(
+            Key key,
+            CancellationToken callerToken,
+            Function<CancellationToken, CompletableFuture<Object>> call) {
+        InFlight created = new InFlight();
+        InFlight joined = join(key, created);
+        if (joined != null) {
+            return subscribe(key, joined, callerToken);
+        }
+        CompletableFuture<Object> own = subscribe(key, created, callerToken);
+        try {
+            CompletableFuture<Object> future = call.apply(created.token);
+            created.token.onCancel(() -> future.cancel(true));
+            future.whenComplete(
+                    (result, throwable) -> {
+                        if (throwable == null) {
+                            created.future.complete(result);
+                        } else {
+                            created.future.completeExceptionally(ExceptionUtil.unwrap(throwable));
+                        }
+                    });
+        } catch (Throwable t) {
+            created.future.completeExceptionally(t);
+        }
+        return own;
+    }
+
+    /**
+     * 加入在途调用；没有可加入的调用时登记 {@code created} 并返回 null，由当前调用方发起
+     *
+     * @param key 调用 key
+     * @param created 新建的在途调用
+     * @return 加入的在途调用，当前调用方成为发起者时为 null
+     */
+    private InFlight join(Key key, InFlight created) {
+        while (true) {
+            InFlight existing = inflight.putIfAbsent(key, created);
+            if (existing == null) {
+                leaderCount.increment();
+                created.future.whenComplete((result, throwable) -> inflight.remove(key, created));
+                return null;
+            }
+            if (existing.tryJoin()) {
+                coalescedCount.increment();
+                return existing;
+            }
+            // 所有调用方都已取消，共享调用正在中止，重新发起
+            inflight.remove(key, existing);
+        }
+    }
+
+    /**
+     * 为调用方创建独立的 Future，调用方的令牌只取消这个 Future
+     *
+     * @param key 调用 key
+     * @param call 在途调用
+     * @param callerToken 调用方的取消令牌
+     * @return {@code CompletableFuture<Object> }
+     */
+    private CompletableFuture<Object> subscribe(
+            Key key, InFlight call, CancellationToken callerToken) {
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        call.future.whenComplete(
+                (result, throwable) -> {
+                    if (throwable == null) {
+                        own.complete(result);
+                    } else {
+                        own.completeExceptionally(ExceptionUtil.unwrap(throwable));
+                    }
+                });
+        own.whenComplete(
+                (result, throwable) -> {
+                    if (own.isCancelled()) {
+                        leave(key, call);
+                    }
+                });
+        if (callerToken != null) {
+            callerToken.cancelOnCancel(own);
+        }
+        return own;
+    }
+
+    private void leave(Key key, InFlight call) {
+        if (call.callers.decrementAndGet() == 0 && !call.future.isDone()) {
+            inflight.remove(key, call);
+            call.token.cancel();
+            call.future.cancel(true);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            return ExceptionUtil.rethrow(ExceptionUtil.unwrap(e));
+        }
+    }
+
+    /**
+     * 当前在途的合并请求数
+     *
+     * @return int
+     */
+    public int getInflightCount() {
+        return inflight.size();
+    }
+
+    /**
+     * 实际发出的请求数
+     *
+     * @return long
+     */
+    public long getLeaderCount() {
+        return leaderCount.sum();
+    }
+
+    /**
+     * 被合并、未单独发出的调用数
+     *
+     * @return long
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    /** 一次共享的在途调用 */
+    private static final class InFlight {
+
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+
+        /** 共享调用的取消令牌，所有调用方都取消后触发 */
+        private final CancellationToken token = new CancellationToken();
+
+        /** 未取消的调用方数，降到 0 后不再接收新的调用方 */
+        private final AtomicInteger callers = new AtomicInteger(1);
+
+        boolean tryJoin() {
+            int count;
+            do {
+                count = callers.get();
+                if (count <= 0) {
+                    return false;
+                }
+            } while (!callers.compareAndSet(count, count + 1));
+            return true;
+        }
+    }
+
+    /**
+     * 调用 key，取方法签名与参数的 128 位规范哈希，与 {@code @Cacheable} 的缓存键算法相同，按参数内容而不是 hashCode 计算
+     */
+    public static final class Key {
+
+        private final CacheKey hash;
+
+        private Key(CacheKey hash) {
+            this.hash = hash;
+        }
+
+        /**
+         * 创建调用 key，{@link Callback} 和取消令牌参数每个调用方各不相同，不参与计算
+         *
+         * @param method 方法
+         * @param args 参数
+         * @return {@code Key }
+         */
+        public static Key of(Method method, Object[] args) {
+            Object[] canonical = args != null ? args.clone() : new Object[0];
+            Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+            for (int i = 0; i < parameterAnnotations.length && i < canonical.length; i++) {
+                for (Annotation annotation : parameterAnnotations[i]) {
+                    if (annotation instanceof Callback) {
+                        canonical[i] = null;
+                    }
+                }
+            }
+            // 取消令牌由规范编码跳过
+            return new Key(HashBasedCacheKeyGenerator.generateCanonicalKey(method, canonical));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            return o instanceof Key && hash.equals(((Key) o).hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash.hashCode();
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.lidachui.simpleRequest.resilience;
+
+import com.lidachui.simpleRequest.annotation.Collapse;
+import com.lidachui.simpleRequest.async.CancellationToken;
+import com.lidachui.simpleRequest.async.SharedTimer;
+import com.lidachui.simpleRequest.util.ExceptionUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.BeanWrapperImpl;
+
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * RequestCollapser 请求折叠器，按窗口或批量大小把单条调用合并为一次批量调用
+ *
+ * <p>窗口由共享定时器触发，批量调用提交到方法的发送执行器执行，定时线程不做任何 I/O。同一批中重复的 key 只请求一次。
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 16:30
+ * @version: 1.0
+ */
+@Slf4j
+public class RequestCollapser {
+
+    private final String name;
+    private final Collapse config;
+
+    /** 批量调用，参数为去重后的 key 列表，返回 Map 或集合 */
+    private final Function<List<Object>, Object> batchCall;
+
+    /** 执行批量调用的执行器 */
+    private final Executor executor;
+
+    /** 正在攒的批次，由 this 保护 */
+    private Batch current;
+
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder requestCount = new LongAdder();
+
+    public RequestCollapser(
+            String name,
+            Collapse config,
+            Function<List<Object>, Object> batchCall,
+            Executor executor) {
+        this.name = name;
+        this.config = config;
+        this.batchCall = batchCall;
+        this.executor = executor;
+    }
+
+    /**
+     * 提交一个 key，返回该调用方自己的结果 Future，超过 timeout 未完成时以 {@link TimeoutException} 失败
+     *
+     * @param key 数据 key
+     * @return {@code CompletableFuture<Object> }
+     */
+    public CompletableFuture<Object> submit(Object key) {
+        return submit(key, null);
+    }
+
+    /**
+     * 提交一个 key，调用方的令牌只取消该调用方自己的 Future；批次发出前其中的调用方全部取消时不再发出批量调用
+     *
+     * @param key 数据 key
+     * @param token 调用方的取消令牌，可以为 null
+     * @return {@code CompletableFuture<Object> }
+     */
+    public CompletableFuture<Object> submit(Object key, CancellationToken token) {
+        requestCount.increment();
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        Batch full = null;
+        synchronized (this) {
+            if (current == null) {
+                Batch batch = new Batch();
+                current = batch;
+                SharedTimer.schedule(() -> flush(batch), config.window(), TimeUnit.MILLISECONDS);
+            }
+            current.add(key, future);
+            if (current.size() >= config.maxBatchSize()) {
+                full = current;
+                current = null;
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        ScheduledFuture<?> timeout =
+                SharedTimer.schedule(
+                        () ->
+                                future.completeExceptionally(
+                                        new TimeoutException(
+                                                "Collapsed request '"
+                                                        + name
+                                                        + "' timed out for key "
+                                                        + key)),
+                        config.timeout(),
+                        TimeUnit.MILLISECONDS);
+        future.whenComplete((result, throwable) -> timeout.cancel(false));
+        if (token != null) {
+            token.cancelOnCancel(future);
+        }
+        return future;
+    }
+
+    /**
+     * 同步等待结果
+     *
+     * @param key 数据 key
+     * @return 结果
+     */
+    public Object execute(Object key) {
+        return execute(key, null);
+    }
+
+    /**
+     * 同步等待结果，令牌取消时以 {@link java.util.concurrent.CancellationException} 返回
+     *
+     * @param key 数据 key
+     * @param token 调用方的取消令牌，可以为 null
+     * @return 结果
+     */
+    public Object execute(Object key, CancellationToken token) {
+        try {
+            return submit(key, token).join();
+        } catch (RuntimeException e) {
+            return ExceptionUtil.rethrow(ExceptionUtil.unwrap(e));
+        }
+    }
+
+    private void flush(Batch batch) {
+        synchronized (this) {
+            if (current != batch) {
+                // 已因达到批量大小提前发出
+                return;
+            }
+            current = null;
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Batch batch) {
+        List<Object> keys = batch.pendingKeys();
+        if (keys.isEmpty()) {
+            // 批次中的调用方都已取消或超时
+            return;
+        }
+        batchCount.increment();
+        CompletableFuture<Object> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> batchCall.apply(keys), executor);
+        } catch (RejectedExecutionException e) {
+            // 执行器已满或已关闭，整批失败，不能让等待者一直挂起
+            batch.fail(e);
+            return;
+        }
+        future.whenComplete(
+                (result, throwable) -> {
+                    if (throwable != null) {
+                        batch.fail(ExceptionUtil.unwrap(throwable));
+                        return;
+                    }
+                    try {
+                        batch.complete(index(result));
+                    } catch (Throwable t) {
+                        batch.fail(t);
+                    }
+                });
+    }
+
+    /**
+     * 把批量结果整理为 key 字符串到数据的映射，key 统一按字符串比较以兼容数字类型的差异
+     *
+     * @param result 批量结果
+     * @return {@code Map<String, Object> }
+     */
+    private Map<String, Object> index(Object result) {
+        Map<String, Object> indexed = new HashMap<>();
+        if (result == null) {
+            return indexed;
+        }
+        if (result instanceof Map) {
+            ((Map<?, ?>) result).forEach((k, v) -> indexed.put(String.valueOf(k), v));
+            return indexed;
+        }
+        Collection<?> items;
+        if (result instanceof Collection) {
+            items = (Collection<?>) result;
+        } else if (result.getClass().isArray()) {
+            items = toList(result);
+        } else {
+            throw new IllegalStateException(
+                    "Batch method of '" + name + "' must return a Map, Collection or array");
+        }
+        if (config.keyProperty().isEmpty()) {
+            throw new IllegalStateException(
+                    "@Collapse on '" + name + "' requires keyProperty for collection results");
+        }
+        for (Object item : items) {
+            if (item != null) {
+                Object key = new BeanWrapperImpl(item).getPropertyValue(config.keyProperty());
+                indexed.put(String.valueOf(key), item);
+            }
+        }
+        return indexed;
+    }
+
+    private static List<Object> toList(Object array) {
+        int length = Array.getLength(array);
+        List<Object> list = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            list.add(Array.get(array, i));
+        }
+        return list;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 已发出的批量调用数
+     *
+     * @return long
+     */
+    public long getBatchCount() {
+        return batchCount.sum();
+    }
+
+    /**
+     * 收到的单条调用数
+     *
+     * @return long
+     */
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    /** 一个批次：key 到等待该 key 的调用方 */
+    private final class Batch {
+
+        private final Map<Object, List<CompletableFuture<Object>>> waiters = new LinkedHashMap<>();
+
+        void add(Object key, CompletableFuture<Object> future) {
+            waiters.computeIfAbsent(key, k -> new ArrayList<>(1)).add(future);
+        }
+
+        int size() {
+            return waiters.size();
+        }
+
+        /** 仍有调用方在等待的 key，批次发出后不再修改，无需加锁 */
+        List<Object> pendingKeys() {
+            List<Object> keys = new ArrayList<>(waiters.size());
+            waiters.forEach(
+                    (key, futures) -> {
+                        for (CompletableFuture<Object> future : futures) {
+                            if (!future.isDone()) {
+                                keys.add(key);
+                                return;
+                            }
+                        }
+                    });
+            return keys;
+        }
+
+        void complete(Map<String, Object> results) {
+            waiters.forEach(
+                    (key, futures) -> {
+                        String indexKey = String.valueOf(key);
+                        if (!results.containsKey(indexKey) && config.failOnMissing()) {
+                            NoSuchElementException missing =
+                                    new NoSuchElementException(
+                                            "Batch result of '" + name + "' has no key " + key);
+                            futures.forEach(f -> f.completeExceptionally(missing));
+                        } else {
+                            Object value = results.get(indexKey);
+                            futures.forEach(f -> f.complete(value));
+                        }
+                    });
+        }
+
+        void fail(Throwable throwable) {
+            waiters.values()
+                    .forEach(futures -> futures.forEach(f -> f.completeExceptionally(throwable)));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.lidachui.simpleRequest.resilience;
+
+import com.lidachui.simpleRequest.annotation.Hedge;
+import com.lidachui.simpleRequest.async.SharedTimer;
+import com.lidachui.simpleRequest.retry.TokenBucketBudget;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * RequestHedger 单个方法的对冲执行器
+ *
+ * <p>首个请求发出后启动定时器，到期仍未完成且对冲预算充足时发出第二个请求。 任一请求成功即完成并取消另一个；全部失败时以最后一个异常结束。
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 11:40
+ * @version: 1.0
+ */
+public class RequestHedger {
+
+    private static final int WINDOW_SIZE = 512;
+
+    private final Hedge hedge;
+    private final LatencyTracker latencyTracker;
+    private final TokenBucketBudget budget;
+
+    private final LongAdder hedgedCount = new LongAdder();
+    private final LongAdder hedgeWinCount = new LongAdder();
+
+    public RequestHedger(Hedge hedge) {
+        this.hedge = hedge;
+        this.latencyTracker = new LatencyTracker(WINDOW_SIZE, hedge.percentile());
+        this.budget = new TokenBucketBudget(Math.min(100, hedge.budgetPercent()), 0, 100);
+    }
+
+    /**
+     * 执行对冲请求
+     *
+     * @param attempt 发起一次请求
+     * @return 先成功的结果
+     */
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> attempt) {
+        budget.deposit();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        CompletableFuture<T> primary = launch(attempt, result, pending, false);
+
+        ScheduledFuture<?> timer =
+                SharedTimer.schedule(
+                        () -> {
+                            if (result.isDone() || !budget.tryWithdraw()) {
+                                return;
+                            }
+                            hedgedCount.increment();
+                            pending.incrementAndGet();
+                            CompletableFuture<T> backup = launch(attempt, result, pending, true);
+                            result.whenComplete((r, t) -> backup.cancel(true));
+                        },
+                        currentDelayMillis(),
+                        TimeUnit.MILLISECONDS);
+        result.whenComplete(
+                (r, t) -> {
+                    timer.cancel(false);
+                    primary.cancel(true);
+                });
+        return result;
+    }
+
+    private <T> CompletableFuture<T> launch(
+            Supplier<CompletableFuture<T>> attempt,
+            CompletableFuture<T> result,
+            AtomicInteger pending,
+            boolean hedged) {
+        long start = System.nanoTime();
+        CompletableFuture<T> future = attempt.get();
+        future.whenComplete(
+                (r, t) -> {
+                    if (t == null) {
+                        latencyTracker.record(System.nanoTime() - start);
+                        if (result.complete(r) && hedged) {
+                            hedgeWinCount.increment();
+                        }
+                    } else if (pending.decrementAndGet() == 0) {
+                        result.completeExceptionally(t);
+                    }
+                });
+        return future;
+    }
+
+    /**
+     * 当前对冲延迟（毫秒）
+     *
+     * @return long
+     */
+    public long currentDelayMillis() {
+        if (hedge.delay() > 0) {
+            return hedge.delay();
+        }
+        long observed = latencyTracker.getPercentileMillis();
+        return observed < 0 ? hedge.initialDelay() : observed;
+    }
+
+    public long getHedgedCount() {
+        return hedgedCount.sum();
+    }
+
+    public long getHedgeWinCount() {
+        return hedgeWinCount.sum();
+    }
+
+    public LatencyTracker getLatencyTracker() {
+        return latencyTracker;
+    }
+}
@@ -0,0 +1,24 @@
+package com.lidachui.simpleRequest.resilience;
+
+/**
+ * RequestRejectedException 请求在发出前被本地保护机制拒绝（熔断、h2c 流上限等）
+ *
+ * <p>此类异常表示调用方应当快速失败，不会触发重试，也不会被计入熔断统计。 拒绝路径不填充异常栈，避免过载期间的额外开销。
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 10:20
+ * @version: 1.0
+ */
+public class RequestRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public RequestRejectedException(String message) {
+        super(message);
+    }
+
+    @Override
+    public Throwable fillInStackTrace() {
+        return this;
+    }
+}
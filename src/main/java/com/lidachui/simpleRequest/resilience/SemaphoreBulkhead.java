@@ -0,0 +1,99 @@
+package com.lidachui.simpleRequest.resilience;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * SemaphoreBulkhead 信号量舱壁，调用仍在原线程执行，只限制并发数
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 14:00
+ * @version: 1.0
+ */
+public class SemaphoreBulkhead implements RequestBulkhead {
+
+    private final String name;
+    private final int maxConcurrentCalls;
+    private final long maxWaitMillis;
+    private final Semaphore semaphore;
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public SemaphoreBulkhead(String name, int maxConcurrentCalls, long maxWaitMillis) {
+        this.name = name;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWaitMillis = maxWaitMillis;
+        this.semaphore = new Semaphore(maxConcurrentCalls);
+    }
+
+    @Override
+    public <T> T execute(Supplier<T> call) {
+        if (!acquire(maxWaitMillis)) {
+            throw reject();
+        }
+        try {
+            return call.get();
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<T> executeAsync(
+            Supplier<T> blockingCall, Supplier<CompletableFuture<T>> asyncCall) {
+        if (!semaphore.tryAcquire()) {
+            CompletableFuture<T> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(reject());
+            return rejected;
+        }
+        CompletableFuture<T> future;
+        try {
+            future = asyncCall.get();
+        } catch (Throwable t) {
+            semaphore.release();
+            throw t;
+        }
+        future.whenComplete((result, throwable) -> semaphore.release());
+        return future;
+    }
+
+    private boolean acquire(long waitMillis) {
+        if (waitMillis <= 0) {
+            return semaphore.tryAcquire();
+        }
+        try {
+            return semaphore.tryAcquire(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private BulkheadFullException reject() {
+        rejectedCount.increment();
+        return new BulkheadFullException(name);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    @Override
+    public int getActiveCalls() {
+        return maxConcurrentCalls - semaphore.availablePermits();
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+}
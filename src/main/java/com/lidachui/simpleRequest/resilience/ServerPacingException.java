@@ -0,0 +1,29 @@
+package com.lidachui.simpleRequest.resilience;
+
+/**
+ * ServerPacingException 服务端要求的冷却时间超过允许等待的上限，请求未发出即失败
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 15:30
+ * @version: 1.0
+ */
+public class ServerPacingException extends RequestRejectedException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterMillis;
+
+    public ServerPacingException(String host, long retryAfterMillis) {
+        super("Host '" + host + "' asked to retry after " + retryAfterMillis + " ms");
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * 距离服务端允许再次请求的毫秒数
+     *
+     * @return long
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
@@ -0,0 +1,58 @@
+package com.lidachui.simpleRequest.resilience;
+
+/**
+ * SlidingWindow 记录调用结果与耗时的滑动窗口
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 13:10
+ * @version: 1.0
+ */
+public interface SlidingWindow {
+
+    /**
+     * 记录一次调用
+     *
+     * @param durationNanos 耗时（纳秒）
+     * @param failure 是否失败
+     * @param slow 是否慢调用
+     */
+    void record(long durationNanos, boolean failure, boolean slow);
+
+    /**
+     * 当前窗口内的统计
+     *
+     * @return {@code Snapshot }
+     */
+    Snapshot snapshot();
+
+    /** 窗口统计快照 */
+    final class Snapshot {
+        private final long calls;
+        private final long failures;
+        private final long slowCalls;
+        private final long totalDurationNanos;
+
+        public Snapshot(long calls, long failures, long slowCalls, long totalDurationNanos) {
+            this.calls = calls;
+            this.failures = failures;
+            this.slowCalls = slowCalls;
+            this.totalDurationNanos = totalDurationNanos;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public float getFailureRate() {
+            return calls == 0 ? 0 : failures * 100f / calls;
+        }
+
+        public float getSlowCallRate() {
+            return calls == 0 ? 0 : slowCalls * 100f / calls;
+        }
+
+        public long getAverageDurationNanos() {
+            return calls == 0 ? 0 : totalDurationNanos / calls;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.lidachui.simpleRequest.resilience;
+
+import com.lidachui.simpleRequest.annotation.CircuitBreaker;
+import com.lidachui.simpleRequest.constants.CircuitState;
+import com.lidachui.simpleRequest.constants.SlidingWindowType;
+import com.lidachui.simpleRequest.util.ExceptionUtil;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SlidingWindowCircuitBreaker 基于滑动窗口的无锁熔断器
+ *
+ * <p>状态及其窗口封装在不可变的 {@link StateHolder} 中，通过 CAS 整体替换；
+ * 打开状态下的判断只有一次 volatile 读和一次时间比较，失败路径在微秒级完成。
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 13:10
+ * @version: 1.0
+ */
+public class SlidingWindowCircuitBreaker {
+
+    private final String name;
+    private final CircuitBreaker config;
+    private final long slowCallThresholdNanos;
+    private final long waitDurationNanos;
+    private final CircuitBreakerRegistry registry;
+
+    private final AtomicReference<StateHolder> state;
+
+    private final LongAdder notPermittedCount = new LongAdder();
+
+    public SlidingWindowCircuitBreaker(
+            String name, CircuitBreaker config, CircuitBreakerRegistry registry) {
+        this.name = name;
+        this.config = config;
+        this.registry = registry;
+        this.slowCallThresholdNanos =
+                TimeUnit.MILLISECONDS.toNanos(config.slowCallDurationThreshold());
+        this.waitDurationNanos = TimeUnit.MILLISECONDS.toNanos(config.waitDurationInOpenState());
+        this.state = new AtomicReference<>(closed());
+    }
+
+    /**
+     * 申请调用许可，不允许时抛出 {@link CallNotPermittedException}
+     */
+    public void acquirePermission() {
+        if (!tryAcquirePermission()) {
+            throw newCallNotPermittedException();
+        }
+    }
+
+    /**
+     * 创建拒绝异常并计数，供异步调用方以失败的 Future 返回
+     *
+     * @return {@code CallNotPermittedException }
+     */
+    public CallNotPermittedException newCallNotPermittedException() {
+        notPermittedCount.increment();
+        return new CallNotPermittedException(name);
+    }
+
+    /**
+     * 尝试申请调用许可
+     *
+     * @return boolean
+     */
+    public boolean tryAcquirePermission() {
+        while (true) {
+            StateHolder current = state.get();
+            switch (current.state) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (System.nanoTime() - current.openedAtNanos < waitDurationNanos) {
+                        return false;
+                    }
+                    transition(current, halfOpen(), current.window.snapshot());
+                    break;
+                case HALF_OPEN:
+                    int permits;
+                    do {
+                        permits = current.halfOpenPermits.get();
+                        if (permits <= 0) {
+                            return false;
+                        }
+                    } while (!current.halfOpenPermits.compareAndSet(permits, permits - 1));
+                    return true;
+                default:
+                    return false;
+            }
+        }
+    }
+
+    /**
+     * 归还未记录结果的许可，用于本地拒绝和被取消的调用；半开状态下把探测名额还回去
+     */
+    public void releasePermission() {
+        StateHolder current = state.get();
+        if (current.state == CircuitState.HALF_OPEN) {
+            current.halfOpenPermits.incrementAndGet();
+        }
+    }
+
+    /**
+     * 记录调用成功
+     *
+     * @param durationNanos 耗时（纳秒）
+     */
+    public void onSuccess(long durationNanos) {
+        record(durationNanos, false);
+    }
+
+    /**
+     * 记录调用异常。本地拒绝（限流、舱壁、排队已满等）、取消以及不在 recordFor 中的异常不反映下游的健康状况，
+     * 只归还许可，不计入窗口；否则半开状态下它们会被当作成功的探测
+     *
+     * @param durationNanos 耗时（纳秒）
+     * @param throwable 异常
+     */
+    public void onError(long durationNanos, Throwable throwable) {
+        if (isRecorded(throwable)) {
+            record(durationNanos, true);
+        } else {
+            releasePermission();
+        }
+    }
+
+    private boolean isRecorded(Throwable throwable) {
+        Throwable cause = ExceptionUtil.unwrap(throwable);
+        if (cause instanceof RequestRejectedException || cause instanceof CancellationException) {
+            return false;
+        }
+        for (Class<? extends Throwable> type : config.recordFor()) {
+            if (type.isInstance(cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void record(long durationNanos, boolean failure) {
+        StateHolder current = state.get();
+        if (current.state == CircuitState.OPEN) {
+            return;
+        }
+        current.window.record(durationNanos, failure, durationNanos >= slowCallThresholdNanos);
+        SlidingWindow.Snapshot snapshot = current.window.snapshot();
+        boolean exceeded = exceedsThresholds(snapshot);
+
+        if (current.state == CircuitState.CLOSED) {
+            if (snapshot.getCalls() >= config.minimumNumberOfCalls() && exceeded) {
+                transition(current, open(), snapshot);
+            }
+        } else if (snapshot.getCalls() >= config.permittedCallsInHalfOpenState()) {
+            transition(current, exceeded ? open() : closed(), snapshot);
+        } else if (failure
+                && snapshot.getFailureRate() * snapshot.getCalls()
+                        >= config.failureRateThreshold() * config.permittedCallsInHalfOpenState()) {
+            // 剩余探测全部成功也无法低于阈值，提前打开
+            transition(current, open(), snapshot);
+        }
+    }
+
+    private boolean exceedsThresholds(SlidingWindow.Snapshot snapshot) {
+        return snapshot.getFailureRate() >= config.failureRateThreshold()
+                || snapshot.getSlowCallRate() >= config.slowCallRateThreshold();
+    }
+
+    private void transition(
+            StateHolder expected, StateHolder next, SlidingWindow.Snapshot snapshot) {
+        if (state.compareAndSet(expected, next)) {
+            registry.publish(
+                    new CircuitBreakerEvent(
+                            name,
+                            expected.state,
+                            next.state,
+                            snapshot.getFailureRate(),
+                            snapshot.getSlowCallRate(),
+                            System.currentTimeMillis()));
+        }
+    }
+
+    /** 手动重置为关闭状态 */
+    public void reset() {
+        StateHolder current = state.get();
+        transition(current, closed(), current.window.snapshot());
+    }
+
+    private StateHolder closed() {
+        SlidingWindow window =
+                config.slidingWindowType() == SlidingWindowType.TIME_BASED
+                        ? new TimeBasedSlidingWindow(config.slidingWindowSize())
+                        : new CountBasedSlidingWindow(config.slidingWindowSize());
+        return new StateHolder(CircuitState.CLOSED, window, 0, 0);
+    }
+
+    private StateHolder open() {
+        return new StateHolder(
+                CircuitState.OPEN, new CountBasedSlidingWindow(1), System.nanoTime(), 0);
+    }
+
+    private StateHolder halfOpen() {
+        int permitted = config.permittedCallsInHalfOpenState();
+        return new StateHolder(
+                CircuitState.HALF_OPEN, new CountBasedSlidingWindow(permitted), 0, permitted);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CircuitState getState() {
+        return state.get().state;
+    }
+
+    public SlidingWindow.Snapshot getMetrics() {
+        return state.get().window.snapshot();
+    }
+
+    public long getNotPermittedCount() {
+        return notPermittedCount.sum();
+    }
+
+    private static final class StateHolder {
+        private final CircuitState state;
+        private final SlidingWindow window;
+        private final long openedAtNanos;
+        private final AtomicInteger halfOpenPermits;
+
+        private StateHolder(
+                CircuitState state, SlidingWindow window, long openedAtNanos, int halfOpenPermits) {
+            this.state = state;
+            this.window = window;
+            this.openedAtNanos = openedAtNanos;
+            this.halfOpenPermits = new AtomicInteger(halfOpenPermits);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.lidachui.simpleRequest.resilience;
+
+/**
+ * StreamLimitExceededException h2c 连接上的并发流已满，等待可用流超时
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 10:20
+ * @version: 1.0
+ */
+public class StreamLimitExceededException extends RequestRejectedException {
+
+    private static final long serialVersionUID = 1L;
+
+    public StreamLimitExceededException(String host, long timeoutMillis) {
+        super("No HTTP/2 stream available for " + host + " within " + timeoutMillis + " ms");
+    }
+}
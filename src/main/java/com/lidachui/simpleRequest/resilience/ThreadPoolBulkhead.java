@@ -0,0 +1,125 @@
+package com.lidachui.simpleRequest.resilience;
+
+import com.lidachui.simpleRequest.util.ExceptionUtil;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * ThreadPoolBulkhead 线程池舱壁，调用在独立的有界线程池中执行，队列满时直接拒绝
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 14:00
+ * @version: 1.0
+ */
+public class ThreadPoolBulkhead implements RequestBulkhead {
+
+    private final String name;
+    private final int maxConcurrentCalls;
+    private final int queueCapacity;
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public ThreadPoolBulkhead(String name, int maxConcurrentCalls, int queueCapacity) {
+        this.name = name;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.queueCapacity = queueCapacity;
+        BlockingQueue<Runnable> queue =
+                queueCapacity > 0
+                        ? new ArrayBlockingQueue<>(queueCapacity)
+                        : new SynchronousQueue<>();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor =
+                new ThreadPoolExecutor(
+                        maxConcurrentCalls,
+                        maxConcurrentCalls,
+                        60,
+                        TimeUnit.SECONDS,
+                        queue,
+                        runnable -> {
+                            Thread thread =
+                                    new Thread(
+                                            runnable,
+                                            "simple-request-bulkhead-"
+                                                    + name
+                                                    + "-"
+                                                    + threadIndex.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        },
+                        new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public <T> T execute(Supplier<T> call) {
+        CompletableFuture<T> future = submit(call);
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            return ExceptionUtil.rethrow(ExceptionUtil.unwrap(e));
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<T> executeAsync(
+            Supplier<T> blockingCall, Supplier<CompletableFuture<T>> asyncCall) {
+        try {
+            return submit(blockingCall);
+        } catch (BulkheadFullException e) {
+            CompletableFuture<T> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(e);
+            return rejected;
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> call) {
+        try {
+            return CompletableFuture.supplyAsync(call, executor);
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            throw new BulkheadFullException(name);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    @Override
+    public int getActiveCalls() {
+        return executor.getActiveCount();
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * 当前排队的调用数
+     *
+     * @return int
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * 队列容量
+     *
+     * @return int
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+}
@@ -0,0 +1,90 @@
+package com.lidachui.simpleRequest.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TimeBasedSlidingWindow 最近 N 秒的无锁分桶窗口
+ *
+ * <p>每秒一个桶，桶内记录所属的秒和各项计数。 进入新的一秒时用 CAS 整体换上新桶，而不是原地清零，
+ * 并发记录的线程要么写入旧桶、要么写入新桶，不会写进清零到一半的桶
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 13:10
+ * @version: 1.0
+ */
+public class TimeBasedSlidingWindow implements SlidingWindow {
+
+    private final int seconds;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    public TimeBasedSlidingWindow(int seconds) {
+        this.seconds = seconds;
+        this.buckets = new AtomicReferenceArray<>(seconds);
+        for (int i = 0; i < seconds; i++) {
+            buckets.set(i, new Bucket(Long.MIN_VALUE));
+        }
+    }
+
+    @Override
+    public void record(long durationNanos, boolean failure, boolean slow) {
+        long second = currentSecond();
+        int index = (int) Math.floorMod(second, (long) seconds);
+        Bucket bucket = buckets.get(index);
+        while (bucket.epoch < second) {
+            Bucket fresh = new Bucket(second);
+            if (buckets.compareAndSet(index, bucket, fresh)) {
+                bucket = fresh;
+            } else {
+                bucket = buckets.get(index);
+            }
+        }
+        bucket.calls.increment();
+        if (failure) {
+            bucket.failures.increment();
+        }
+        if (slow) {
+            bucket.slowCalls.increment();
+        }
+        bucket.duration.add(durationNanos);
+    }
+
+    @Override
+    public Snapshot snapshot() {
+        long oldest = currentSecond() - seconds;
+        long calls = 0;
+        long failures = 0;
+        long slowCalls = 0;
+        long duration = 0;
+        for (int i = 0; i < seconds; i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket.epoch > oldest) {
+                // 记录时先增加调用数，这里最后读调用数，失败率不会超过 100%
+                failures += bucket.failures.sum();
+                slowCalls += bucket.slowCalls.sum();
+                duration += bucket.duration.sum();
+                calls += bucket.calls.sum();
+            }
+        }
+        return new Snapshot(calls, failures, slowCalls, duration);
+    }
+
+    private static long currentSecond() {
+        return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+    }
+
+    /** 一秒内的计数，epoch 不变，计数只增不减 */
+    private static final class Bucket {
+
+        private final long epoch;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder slowCalls = new LongAdder();
+        private final LongAdder duration = new LongAdder();
+
+        Bucket(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+}
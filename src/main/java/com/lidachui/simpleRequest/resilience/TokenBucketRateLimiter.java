@@ -0,0 +1,154 @@
+package com.lidachui.simpleRequest.resilience;
+
+import com.lidachui.simpleRequest.async.SharedTimer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TokenBucketRateLimiter 无锁令牌桶限流器
+ *
+ * <p>只维护一个“下一个许可的理论发放时间”，申请许可时通过 CAS 预约，令牌随时间连续补充，最多累积 burst 个。
+ * 预约成功后同步调用在当前线程等待，异步调用由共享定时器到期后继续，不占用任何线程。
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 14:30
+ * @version: 1.0
+ */
+public class TokenBucketRateLimiter {
+
+    private final String name;
+    private final double permitsPerSecond;
+    private final int burst;
+    private final long timeoutNanos;
+
+    /** 发放一个许可的间隔（纳秒） */
+    private final long intervalNanos;
+
+    /** 桶满时可提前发放的时间跨度（纳秒） */
+    private final long burstNanos;
+
+    /** 已预约许可的理论发放时间，落后当前时间 burstNanos 以上即桶满 */
+    private final AtomicLong nextPermitNanos;
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public TokenBucketRateLimiter(
+            String name, double permitsPerSecond, int burst, long timeoutMillis) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        this.name = name;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst > 0 ? burst : (int) Math.max(1, Math.ceil(permitsPerSecond));
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstNanos = intervalNanos * this.burst;
+        this.nextPermitNanos = new AtomicLong(System.nanoTime() - burstNanos);
+    }
+
+    /**
+     * 同步申请许可，超过等待时间时抛出 {@link RateLimitExceededException}
+     */
+    public void acquire() {
+        long waitNanos = reserve();
+        if (waitNanos < 0) {
+            throw reject();
+        }
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                refund();
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * 异步申请许可，需要等待时由共享定时器到期后完成，拿不到许可时返回失败的 Future。
+     *
+     * <p>返回的 Future 在定时线程上完成，后续动作应切回执行器；到期前被取消时归还预约的许可
+     *
+     * @return {@code CompletableFuture<Void> }
+     */
+    public CompletableFuture<Void> acquireAsync() {
+        long waitNanos = reserve();
+        if (waitNanos < 0) {
+            CompletableFuture<Void> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(reject());
+            return rejected;
+        }
+        // 向上取整到毫秒，保证不早于预约时间发出
+        CompletableFuture<Void> permit = SharedTimer.delay((waitNanos + 999_999) / 1_000_000);
+        permit.whenComplete(
+                (v, t) -> {
+                    if (permit.isCancelled()) {
+                        refund();
+                    }
+                });
+        return permit;
+    }
+
+    /** 归还一个已预约但不再使用的许可，让后续申请提前一个间隔拿到 */
+    private void refund() {
+        nextPermitNanos.addAndGet(-intervalNanos);
+    }
+
+    /**
+     * 预约一个许可
+     *
+     * @return 需要等待的纳秒数，超过等待上限时为 -1
+     */
+    private long reserve() {
+        while (true) {
+            long now = System.nanoTime();
+            long previous = nextPermitNanos.get();
+            long permitAt = Math.max(previous, now - burstNanos) + intervalNanos;
+            long waitNanos = Math.max(0, permitAt - now);
+            if (waitNanos > timeoutNanos) {
+                return -1;
+            }
+            if (nextPermitNanos.compareAndSet(previous, permitAt)) {
+                return waitNanos;
+            }
+        }
+    }
+
+    private RateLimitExceededException reject() {
+        rejectedCount.increment();
+        return new RateLimitExceededException(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    /**
+     * 当前可立即获取的许可数（近似值）
+     *
+     * @return int
+     */
+    public int getAvailablePermits() {
+        long idleNanos = System.nanoTime() - nextPermitNanos.get();
+        if (idleNanos <= 0) {
+            return 0;
+        }
+        return (int) Math.min(burst, idleNanos / intervalNanos);
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+}
@@ -0,0 +1,62 @@
+package com.lidachui.simpleRequest.resilience.limit;
+
+/**
+ * AbstractAdaptiveLimit 自适应限制算法基类，负责限制的上下界和指标记录
+ *
+ * <p>每个样本的调整在对象锁内完成，读取限制只是一次 volatile 读。
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 15:00
+ * @version: 1.0
+ */
+public abstract class AbstractAdaptiveLimit implements AdaptiveLimit {
+
+    protected final int minLimit;
+    protected final int maxLimit;
+
+    private volatile int limit;
+    private volatile long rttNanos;
+    protected volatile long baselineRttNanos;
+
+    protected AbstractAdaptiveLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = clamp(initialLimit);
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized void onSample(long rttNanos, int inflight, boolean dropped) {
+        this.rttNanos = rttNanos;
+        limit = clamp(update(limit, rttNanos, inflight, dropped));
+    }
+
+    /**
+     * 根据样本计算新的限制
+     *
+     * @param limit 当前限制
+     * @param rttNanos 往返耗时（纳秒）
+     * @param inflight 请求开始时的在途请求数
+     * @param dropped 是否出现过载信号
+     * @return 新的限制，超出上下界的部分会被截断
+     */
+    protected abstract int update(int limit, long rttNanos, int inflight, boolean dropped);
+
+    private int clamp(int value) {
+        return Math.min(maxLimit, Math.max(minLimit, value));
+    }
+
+    @Override
+    public long getRttNanos() {
+        return rttNanos;
+    }
+
+    @Override
+    public long getBaselineRttNanos() {
+        return baselineRttNanos;
+    }
+}
@@ -0,0 +1,41 @@
+package com.lidachui.simpleRequest.resilience.limit;
+
+/**
+ * AdaptiveLimit 自适应并发限制算法
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 15:00
+ * @version: 1.0
+ */
+public interface AdaptiveLimit {
+
+    /**
+     * 当前并发限制
+     *
+     * @return int
+     */
+    int getLimit();
+
+    /**
+     * 记录一次请求的结果并调整限制
+     *
+     * @param rttNanos 往返耗时（纳秒）
+     * @param inflight 请求开始时的在途请求数
+     * @param dropped 是否出现过载信号（超时、连接失败、5xx、429）
+     */
+    void onSample(long rttNanos, int inflight, boolean dropped);
+
+    /**
+     * 最近一次 RTT（纳秒）
+     *
+     * @return long
+     */
+    long getRttNanos();
+
+    /**
+     * 算法使用的基准 RTT（纳秒），即无排队时的 RTT 估计
+     *
+     * @return long
+     */
+    long getBaselineRttNanos();
+}
@@ -0,0 +1,32 @@
+package com.lidachui.simpleRequest.resilience.limit;
+
+/**
+ * AimdLimit 加性增、乘性减：无过载时在用满一半以上限制的情况下加一，出现过载信号时乘以回退系数
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 15:00
+ * @version: 1.0
+ */
+public class AimdLimit extends AbstractAdaptiveLimit {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit) {
+        super(initialLimit, minLimit, maxLimit);
+    }
+
+    @Override
+    protected int update(int limit, long rttNanos, int inflight, boolean dropped) {
+        if (baselineRttNanos == 0 || rttNanos < baselineRttNanos) {
+            baselineRttNanos = rttNanos;
+        }
+        if (dropped) {
+            return (int) (limit * BACKOFF_RATIO);
+        }
+        // 实际并发远低于限制时继续增长没有意义
+        if (inflight * 2 >= limit) {
+            return limit + 1;
+        }
+        return limit;
+    }
+}
@@ -0,0 +1,55 @@
+package com.lidachui.simpleRequest.resilience.limit;
+
+/**
+ * GradientLimit 梯度算法：以长期 RTT 的指数移动平均为基准，按 长期 RTT / 当前 RTT 的比值（梯度）缩放限制，
+ * 再加上 sqrt(limit) 的排队余量，最后做平滑
+ *
+ * <p>RTT 平稳时梯度为 1，限制以排队余量缓慢增长；排队导致 RTT 上升时梯度小于 1，限制随之收缩。
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 15:00
+ * @version: 1.0
+ */
+public class GradientLimit extends AbstractAdaptiveLimit {
+
+    private static final int LONG_WINDOW = 600;
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit) {
+        super(initialLimit, minLimit, maxLimit);
+        this.estimatedLimit = getLimit();
+    }
+
+    @Override
+    protected int update(int limit, long rttNanos, int inflight, boolean dropped) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            double factor = 2.0 / (LONG_WINDOW + 1);
+            longRttNanos = longRttNanos * (1 - factor) + rttNanos * factor;
+        }
+        // 长期 RTT 明显高于当前值说明负载已经下降，加快基准回落
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+        baselineRttNanos = (long) longRttNanos;
+
+        // 实际并发远低于限制时无法判断上限，保持不变
+        if (!dropped && inflight < estimatedLimit / 2) {
+            return limit;
+        }
+        double gradient = MIN_GRADIENT;
+        if (!dropped) {
+            gradient = Math.max(gradient, Math.min(1.0, RTT_TOLERANCE * longRttNanos / rttNanos));
+        }
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        return (int) estimatedLimit;
+    }
+}
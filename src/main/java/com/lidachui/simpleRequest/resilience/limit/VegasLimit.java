@@ -0,0 +1,54 @@
+package com.lidachui.simpleRequest.resilience.limit;
+
+/**
+ * VegasLimit 参考 TCP Vegas：以最小 RTT 作为无负载 RTT，按 limit × (1 - rttNoLoad / rtt) 估算排队长度，
+ * 排队少于 alpha 时增长，多于 beta 时收缩
+ *
+ * <p>每经过约 30 × limit 个样本重新探测一次无负载 RTT，避免网络变化后基准失真。
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 15:00
+ * @version: 1.0
+ */
+public class VegasLimit extends AbstractAdaptiveLimit {
+
+    private static final int PROBE_MULTIPLIER = 30;
+
+    private long samplesSinceProbe;
+
+    public VegasLimit(int initialLimit, int minLimit, int maxLimit) {
+        super(initialLimit, minLimit, maxLimit);
+    }
+
+    @Override
+    protected int update(int limit, long rttNanos, int inflight, boolean dropped) {
+        if (++samplesSinceProbe >= (long) PROBE_MULTIPLIER * limit) {
+            samplesSinceProbe = 0;
+            baselineRttNanos = rttNanos;
+            return limit;
+        }
+        if (baselineRttNanos == 0 || rttNanos < baselineRttNanos) {
+            baselineRttNanos = rttNanos;
+            return limit;
+        }
+
+        int log = Math.max(1, (int) Math.log10(limit));
+        if (dropped) {
+            return limit - log;
+        }
+        if (inflight * 2 < limit) {
+            return limit;
+        }
+        int queueSize = (int) Math.ceil(limit * (1 - (double) baselineRttNanos / rttNanos));
+        int alpha = 3 * log;
+        int beta = 6 * log;
+        if (queueSize <= log) {
+            return limit + beta;
+        } else if (queueSize < alpha) {
+            return limit + log;
+        } else if (queueSize > beta) {
+            return limit - log;
+        }
+        return limit;
+    }
+}
@@ -1,6 +1,7 @@
 package com.lidachui.simpleRequest.resolver;
 
 import com.lidachui.simpleRequest.annotation.*;
+import com.lidachui.simpleRequest.async.CancellationToken;
 import com.lidachui.simpleRequest.entity.QueryEntity;
 import com.lidachui.simpleRequest.util.*;
 
@@ -118,7 +119,9 @@ public class HttpRequestBuilder implements RequestBuilder {
                                   parameter.isAnnotationPresent(QueryParam.class) ||
                                   parameter.isAnnotationPresent(HeaderParam.class) ||
                                   parameter.isAnnotationPresent(BodyParam.class) ||
-                                  parameter.isAnnotationPresent(Host.class);
+                                  parameter.isAnnotationPresent(Host.class) ||
+                                  parameter.isAnnotationPresent(TenantKey.class) ||
+                                  CancellationToken.class.isAssignableFrom(parameter.getType());
 
             if (!hasAnnotation && args[i] != null) {
                 String paramName = parameter.getName();
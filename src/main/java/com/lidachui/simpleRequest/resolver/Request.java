@@ -1,6 +1,9 @@
 package com.lidachui.simpleRequest.resolver;
 
+import com.lidachui.simpleRequest.async.CancellationToken;
+import com.lidachui.simpleRequest.constants.RequestPriority;
 import com.lidachui.simpleRequest.entity.QueryEntity;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -38,4 +41,60 @@ public class Request {
 
     /** 查询参数实体 */
     private List<QueryEntity> queryEntities;
+
+    /** 优先级 */
+    private RequestPriority priority;
+
+    /** 租户 */
+    private String tenant;
+
+    /** 本次发送的取消令牌，传输层据此中止调用；不随 {@link #copy()} 复制，见 {@link #copyForAttempt} */
+    private transient CancellationToken cancellationToken;
+
+    /** 本次发送开始排队的时间（纳秒），在申请限流和舱壁许可之前记录，0 表示未记录；不随 {@link #copy()} 复制 */
+    private transient long queuedAtNanos;
+
+    /** 拿到连接或传输许可时的一次性回调，由处理器设置、传输层触发；不随 {@link #copy()} 复制 */
+    private transient Runnable dequeueListener;
+
+    /** 通知请求已拿到连接或传输许可、排队结束，回调只触发一次 */
+    public void markDequeued() {
+        Runnable listener = dequeueListener;
+        dequeueListener = null;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    /**
+     * 复制请求，请求头单独复制一份，避免并发发送时过滤器互相修改
+     *
+     * @return {@code Request }
+     */
+    public Request copy() {
+        Request copy = new Request();
+        copy.setUrl(url);
+        copy.setMethod(method);
+        copy.setHeaders(headers != null ? new HashMap<>(headers) : null);
+        copy.setQueryParams(queryParams);
+        copy.setBody(body);
+        copy.setSerializer(serializer);
+        copy.setQueryEntities(queryEntities);
+        copy.setPriority(priority);
+        copy.setTenant(tenant);
+        return copy;
+    }
+
+    /**
+     * 为单次发送复制请求，带上排队起点并使用新的取消令牌。并发或先后进行的多次发送各自持有令牌，不会互相覆盖
+     *
+     * @param token 本次发送的取消令牌
+     * @return {@code Request }
+     */
+    public Request copyForAttempt(CancellationToken token) {
+        Request copy = copy();
+        copy.setQueuedAtNanos(queuedAtNanos);
+        copy.setCancellationToken(token);
+        return copy;
+    }
 }
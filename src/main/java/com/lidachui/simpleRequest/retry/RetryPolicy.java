@@ -0,0 +1,121 @@
+package com.lidachui.simpleRequest.retry;
+
+import com.lidachui.simpleRequest.annotation.Retry;
+import com.lidachui.simpleRequest.constants.BackoffStrategy;
+import com.lidachui.simpleRequest.resilience.HostPacer;
+import com.lidachui.simpleRequest.resilience.RequestRejectedException;
+import com.lidachui.simpleRequest.util.ExceptionUtil;
+
+import lombok.Getter;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * RetryPolicy 单次调用的重试策略，由 {@link Retry} 注解和客户端重试预算组合而成
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 11:05
+ * @version: 1.0
+ */
+@Getter
+public class RetryPolicy {
+
+    /** 未配置 {@link Retry} 时的策略：不重试 */
+    @SuppressWarnings("unchecked")
+    private static final RetryPolicy NONE =
+            new RetryPolicy(
+                    0,
+                    1000,
+                    Long.MAX_VALUE,
+                    new Class[] {Exception.class},
+                    BackoffStrategy.FIXED,
+                    null);
+
+    private final int maxRetries;
+    private final long baseDelay;
+    private final long maxDelay;
+    private final Class<? extends Throwable>[] retryFor;
+    private final BackoffStrategy backoff;
+
+    /** 客户端重试预算，可能为 null */
+    private final TokenBucketBudget budget;
+
+    private RetryPolicy(
+            int maxRetries,
+            long baseDelay,
+            long maxDelay,
+            Class<? extends Throwable>[] retryFor,
+            BackoffStrategy backoff,
+            TokenBucketBudget budget) {
+        this.maxRetries = maxRetries;
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+        this.retryFor = retryFor;
+        this.backoff = backoff;
+        this.budget = budget;
+    }
+
+    /**
+     * 根据注解创建重试策略
+     *
+     * @param retry 重试注解，可能为 null
+     * @param budget 重试预算，可能为 null
+     * @return {@code RetryPolicy }
+     */
+    public static RetryPolicy of(Retry retry, TokenBucketBudget budget) {
+        if (retry == null) {
+            return NONE;
+        }
+        return new RetryPolicy(
+                retry.maxRetries(),
+                retry.delay(),
+                retry.maxDelay(),
+                retry.retryFor(),
+                retry.backoff(),
+                budget);
+    }
+
+    /**
+     * 判断异常是否需要重试，本地拒绝（{@link RequestRejectedException}）不重试
+     *
+     * @param throwable 异常
+     * @return boolean
+     */
+    public boolean shouldRetry(Throwable throwable) {
+        Throwable cause = ExceptionUtil.unwrap(throwable);
+        if (cause instanceof RequestRejectedException || cause instanceof CancellationException) {
+            return false;
+        }
+        for (Class<? extends Throwable> retryException : retryFor) {
+            if (retryException.isInstance(cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 从重试预算中申请一次重试，没有配置预算时总是允许
+     *
+     * @return boolean
+     */
+    public boolean tryAcquireBudget() {
+        return budget == null || budget.tryWithdraw();
+    }
+
+    /**
+     * 计算下一次重试的等待时间，服务端通过 Retry-After 指定了等待时间时以服务端为准
+     *
+     * @param previousDelay 上一次的等待时间
+     * @param attempt 第几次重试
+     * @param cause 本次失败的异常
+     * @return 毫秒数
+     */
+    public long nextDelay(long previousDelay, int attempt, Throwable cause) {
+        long retryAfter = HostPacer.retryAfterMillis(cause);
+        if (retryAfter >= 0) {
+            return retryAfter;
+        }
+        return backoff.nextDelay(baseDelay, previousDelay, attempt, maxDelay);
+    }
+}
@@ -0,0 +1,145 @@
+package com.lidachui.simpleRequest.retry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TokenBucketBudget 无锁令牌桶预算
+ *
+ * <p>每个正常请求存入 {@code percent / 100} 个令牌，每次额外请求（重试等）取出 1 个令牌， 另外按 {@code minPerSecond}
+ * 持续补充保底令牌。桶容量有限，因此额外请求数最终被限制在近期请求量的固定比例内， 上游故障时不会被 {@code maxRetries} 成倍放大。
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 11:05
+ * @version: 1.0
+ */
+public class TokenBucketBudget {
+
+    /** 令牌定点精度，1 个令牌 = 1000 */
+    private static final long SCALE = 1000L;
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long depositPerRequest;
+    private final long refillPerSecond;
+    private final long capacity;
+
+    /** 从空桶补满所需的纳秒数 */
+    private final long nanosToFill;
+
+    private final AtomicLong balance;
+    private final AtomicLong lastRefillNanos;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder granted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param percent 额外请求占正常请求的百分比
+     * @param minPerSecond 每秒保底令牌数
+     * @param maxTokens 桶容量
+     */
+    public TokenBucketBudget(double percent, int minPerSecond, int maxTokens) {
+        if (percent < 0 || minPerSecond < 0 || maxTokens <= 0) {
+            throw new IllegalArgumentException(
+                    "Invalid budget: percent=" + percent
+                            + ", minPerSecond=" + minPerSecond
+                            + ", maxTokens=" + maxTokens);
+        }
+        this.depositPerRequest = (long) (percent / 100 * SCALE);
+        this.refillPerSecond = minPerSecond * SCALE;
+        this.capacity = maxTokens * SCALE;
+        this.nanosToFill =
+                refillPerSecond > 0
+                        ? (long) (capacity * (double) NANOS_PER_SECOND / refillPerSecond)
+                        : Long.MAX_VALUE;
+        this.balance = new AtomicLong(Math.min(refillPerSecond, capacity));
+        this.lastRefillNanos = new AtomicLong(System.nanoTime());
+    }
+
+    /** 记录一次正常请求 */
+    public void deposit() {
+        requests.increment();
+        add(depositPerRequest);
+    }
+
+    /**
+     * 尝试取出 1 个令牌
+     *
+     * @return 是否获得额外请求的配额
+     */
+    public boolean tryWithdraw() {
+        refill();
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                rejected.increment();
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        granted.increment();
+        return true;
+    }
+
+    private void refill() {
+        if (refillPerSecond <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long last = lastRefillNanos.get();
+        long elapsed = now - last;
+        // 不足 1 毫秒不补充，减少竞争
+        if (elapsed < TimeUnit.MILLISECONDS.toNanos(1)) {
+            return;
+        }
+        long amount;
+        long next;
+        if (elapsed >= nanosToFill) {
+            // 足以补满整个桶，不必保留零头
+            amount = capacity;
+            next = now;
+        } else {
+            amount = (long) (elapsed * (double) refillPerSecond / NANOS_PER_SECOND);
+            // 只推进已折算成令牌的时间，不足一个定点单位的零头留到下次补充
+            next = last + (long) (amount * (double) NANOS_PER_SECOND / refillPerSecond);
+        }
+        if (amount > 0 && lastRefillNanos.compareAndSet(last, next)) {
+            add(amount);
+        }
+    }
+
+    private void add(long amount) {
+        if (amount <= 0) {
+            return;
+        }
+        long current;
+        long next;
+        do {
+            current = balance.get();
+            next = Math.min(capacity, current + amount);
+        } while (current != next && !balance.compareAndSet(current, next));
+    }
+
+    /**
+     * 当前可用令牌数
+     *
+     * @return double
+     */
+    public double getAvailableTokens() {
+        return (double) balance.get() / SCALE;
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public long getGrantedCount() {
+        return granted.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+}
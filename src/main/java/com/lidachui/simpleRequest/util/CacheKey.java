@@ -0,0 +1,76 @@
+package com.lidachui.simpleRequest.util;
+
+/**
+ * CacheKey 128 位缓存键
+ *
+ * <p>只保存两个 long，{@link #toString()} 生成带框架前缀的 32 位十六进制键供 Redis 等远端缓存使用；
+ * {@link #toBinaryString()} 把 128 位直接放进 8 个 char，作为本地缓存键时省去前缀和十六进制展开
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 23:10
+ * @version: 1.0
+ */
+public final class CacheKey {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final String PREFIX = HashBasedCacheKeyGenerator.FRAMEWORK_IDENTIFIER + ":";
+
+    private final long high;
+    private final long low;
+
+    public CacheKey(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    public long getHigh() {
+        return high;
+    }
+
+    public long getLow() {
+        return low;
+    }
+
+    /**
+     * 紧凑形式：每个 char 存 16 位，共 8 个 char，不含前缀，只适合进程内使用
+     *
+     * @return {@code String }
+     */
+    public String toBinaryString() {
+        char[] chars = new char[8];
+        for (int i = 0; i < 4; i++) {
+            chars[i] = (char) (high >>> (48 - (i << 4)));
+            chars[i + 4] = (char) (low >>> (48 - (i << 4)));
+        }
+        return new String(chars);
+    }
+
+    @Override
+    public String toString() {
+        int offset = PREFIX.length();
+        char[] chars = new char[offset + 32];
+        PREFIX.getChars(0, offset, chars, 0);
+        for (int i = 0; i < 16; i++) {
+            chars[offset + i] = HEX[(int) (high >>> (60 - (i << 2))) & 0xF];
+            chars[offset + 16 + i] = HEX[(int) (low >>> (60 - (i << 2))) & 0xF];
+        }
+        return new String(chars);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CacheKey)) {
+            return false;
+        }
+        CacheKey other = (CacheKey) o;
+        return high == other.high && low == other.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (low ^ (low >>> 32));
+    }
+}
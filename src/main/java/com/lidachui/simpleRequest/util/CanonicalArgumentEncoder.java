@@ -0,0 +1,411 @@
+package com.lidachui.simpleRequest.util;
+
+import com.lidachui.simpleRequest.async.CancellationToken;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CanonicalArgumentEncoder 把方法参数按规范编码流式写入 {@link Murmur3Hash128}
+ *
+ * <p>每个值先写类型标记，变长内容再写长度，因此 {@code ["ab", "c"]} 与 {@code ["a", "bc"]}、{@code 1} 与 {@code 1L}
+ * 不会得到相同的编码。各类型的处理方式：
+ *
+ * <ul>
+ *   <li>基本类型及包装类、字符串、枚举（类名 + 名称）直接写入
+ *   <li>数组、List 等有序集合按顺序写入元素
+ *   <li>Set 和 Map 与迭代顺序无关：每个元素（或键值对）单独求 128 位哈希后求和
+ *   <li>Date 写时间戳，其他 JDK 值类型（BigDecimal、UUID、java.time 等）写类名和 toString
+ *   <li>其他对象按 Bean 处理：类名加上全部非 static、非 transient 字段，按字段名排序后逐个写入，不依赖 hashCode 的实现
+ * </ul>
+ *
+ * <p>对象图中出现环时写入回指标记，嵌套超过 {@link #MAX_DEPTH} 层的部分只写类名。 每个线程复用一个实例，编码过程中不创建中间字符串。
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 23:10
+ * @version: 1.0
+ */
+final class CanonicalArgumentEncoder {
+
+    static final int MAX_DEPTH = 32;
+
+    private static final byte NULL = 0;
+    private static final byte BOOLEAN = 1;
+    private static final byte BYTE = 2;
+    private static final byte SHORT = 3;
+    private static final byte CHAR = 4;
+    private static final byte INT = 5;
+    private static final byte LONG = 6;
+    private static final byte FLOAT = 7;
+    private static final byte DOUBLE = 8;
+    private static final byte STRING = 9;
+    private static final byte ENUM = 10;
+    private static final byte ARRAY = 11;
+    private static final byte ORDERED = 12;
+    private static final byte UNORDERED = 13;
+    private static final byte MAP = 14;
+    private static final byte OPTIONAL = 15;
+    private static final byte DATE = 16;
+    private static final byte VALUE = 17;
+    private static final byte BEAN = 18;
+    private static final byte FILE = 19;
+    private static final byte CYCLE = 20;
+    private static final byte TOO_DEEP = 21;
+    private static final byte OPAQUE = 22;
+
+    private static final ThreadLocal<CanonicalArgumentEncoder> ENCODER =
+            ThreadLocal.withInitial(CanonicalArgumentEncoder::new);
+
+    private static final Map<Method, CacheKey> METHOD_KEYS = new ConcurrentHashMap<>();
+
+    private static final ClassValue<Field[]> FIELDS =
+            new ClassValue<Field[]>() {
+                @Override
+                protected Field[] computeValue(Class<?> type) {
+                    return collectFields(type);
+                }
+            };
+
+    /** 按嵌套深度分配的哈希器，无序集合的元素在下一层的哈希器中单独计算 */
+    private final Murmur3Hash128[] hashers = new Murmur3Hash128[MAX_DEPTH + 2];
+
+    /** 当前路径上的容器和 Bean，用于检测环 */
+    private final IdentityHashMap<Object, Integer> path = new IdentityHashMap<>();
+
+    private boolean active;
+
+    private CanonicalArgumentEncoder() {}
+
+    /**
+     * 计算方法签名与参数的 128 位哈希，{@link CancellationToken} 不参与计算
+     *
+     * @param method 方法
+     * @param args 参数
+     * @return {@code CacheKey }
+     */
+    static CacheKey hash(Method method, Object[] args) {
+        CanonicalArgumentEncoder encoder = ENCODER.get();
+        if (encoder.active) {
+            // 参数的 toString 等回调里再次生成缓存键时不能复用正在使用的实例
+            encoder = new CanonicalArgumentEncoder();
+        }
+        encoder.active = true;
+        try {
+            return encoder.encode(method, args);
+        } finally {
+            encoder.path.clear();
+            encoder.active = false;
+        }
+    }
+
+    private CacheKey encode(Method method, Object[] args) {
+        Murmur3Hash128 hasher = hasher(0);
+        hasher.putKey(METHOD_KEYS.computeIfAbsent(method, CanonicalArgumentEncoder::methodKey));
+        if (args != null) {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i] instanceof CancellationToken) {
+                    continue;
+                }
+                hasher.putInt(i);
+                write(hasher, args[i], 0);
+            }
+        }
+        return hasher.hash();
+    }
+
+    private static CacheKey methodKey(Method method) {
+        Murmur3Hash128 hasher = new Murmur3Hash128();
+        putString(hasher, method.getDeclaringClass().getName());
+        putString(hasher, method.getName());
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        hasher.putInt(parameterTypes.length);
+        for (Class<?> parameterType : parameterTypes) {
+            putString(hasher, parameterType.getName());
+        }
+        return hasher.hash();
+    }
+
+    private Murmur3Hash128 hasher(int depth) {
+        Murmur3Hash128 hasher = hashers[depth];
+        if (hasher == null) {
+            hasher = new Murmur3Hash128();
+            hashers[depth] = hasher;
+        }
+        return hasher.reset();
+    }
+
+    private void write(Murmur3Hash128 out, Object value, int depth) {
+        if (value == null) {
+            out.putByte(NULL);
+            return;
+        }
+        if (writeScalar(out, value)) {
+            return;
+        }
+        if (depth >= MAX_DEPTH) {
+            out.putByte(TOO_DEEP);
+            putString(out, value.getClass().getName());
+            return;
+        }
+        Integer seen = path.putIfAbsent(value, depth);
+        if (seen != null) {
+            out.putByte(CYCLE).putInt(depth - seen);
+            return;
+        }
+        try {
+            writeComposite(out, value, depth + 1);
+        } finally {
+            path.remove(value);
+        }
+    }
+
+    private static boolean writeScalar(Murmur3Hash128 out, Object value) {
+        if (value instanceof String) {
+            out.putByte(STRING);
+            putString(out, (String) value);
+        } else if (value instanceof Integer) {
+            out.putByte(INT).putInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.putByte(LONG).putLong((Long) value);
+        } else if (value instanceof Boolean) {
+            out.putByte(BOOLEAN).putByte((Boolean) value ? 1 : 0);
+        } else if (value instanceof Enum) {
+            Enum<?> constant = (Enum<?>) value;
+            out.putByte(ENUM);
+            putString(out, constant.getDeclaringClass().getName());
+            putString(out, constant.name());
+        } else if (value instanceof Double) {
+            out.putByte(DOUBLE).putLong(Double.doubleToLongBits((Double) value));
+        } else if (value instanceof Float) {
+            out.putByte(FLOAT).putInt(Float.floatToIntBits((Float) value));
+        } else if (value instanceof Short) {
+            out.putByte(SHORT).putShort((Short) value);
+        } else if (value instanceof Byte) {
+            out.putByte(BYTE).putByte((Byte) value);
+        } else if (value instanceof Character) {
+            out.putByte(CHAR).putShort((Character) value);
+        } else if (value instanceof Date) {
+            out.putByte(DATE).putLong(((Date) value).getTime());
+        } else if (value instanceof Class) {
+            out.putByte(VALUE);
+            putString(out, Class.class.getName());
+            putString(out, ((Class<?>) value).getName());
+        } else if (isJdkValue(value.getClass())) {
+            out.putByte(VALUE);
+            putString(out, value.getClass().getName());
+            putString(out, value.toString());
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private void writeComposite(Murmur3Hash128 out, Object value, int depth) {
+        Class<?> type = value.getClass();
+        if (type.isArray()) {
+            writeArray(out, value, depth);
+        } else if (value instanceof Set) {
+            writeUnordered(out, (Set<?>) value, depth);
+        } else if (value instanceof Map) {
+            writeMap(out, (Map<?, ?>) value, depth);
+        } else if (value instanceof Collection) {
+            Collection<?> collection = (Collection<?>) value;
+            out.putByte(ORDERED).putInt(collection.size());
+            for (Object element : collection) {
+                write(out, element, depth);
+            }
+        } else if (value instanceof Optional) {
+            out.putByte(OPTIONAL);
+            write(out, ((Optional<?>) value).orElse(null), depth);
+        } else if (type.getSimpleName().equals("StandardMultipartFile")) {
+            writeMultipartFile(out, value);
+        } else if (value instanceof CharSequence) {
+            out.putByte(STRING);
+            putString(out, (CharSequence) value);
+        } else if (isJdkType(type)) {
+            // 没有专门处理的 JDK 类型无法读取私有字段，退回 hashCode
+            writeOpaque(out, value);
+        } else {
+            writeBean(out, value, depth);
+        }
+    }
+
+    private void writeArray(Murmur3Hash128 out, Object array, int depth) {
+        Class<?> componentType = array.getClass().getComponentType();
+        int length = Array.getLength(array);
+        out.putByte(ARRAY);
+        putString(out, componentType.getName());
+        out.putInt(length);
+        if (componentType == byte.class) {
+            out.putBytes((byte[]) array, 0, length);
+        } else if (componentType == int.class) {
+            for (int value : (int[]) array) {
+                out.putInt(value);
+            }
+        } else if (componentType == long.class) {
+            for (long value : (long[]) array) {
+                out.putLong(value);
+            }
+        } else if (componentType == char.class) {
+            for (char value : (char[]) array) {
+                out.putShort(value);
+            }
+        } else if (componentType == double.class) {
+            for (double value : (double[]) array) {
+                out.putLong(Double.doubleToLongBits(value));
+            }
+        } else if (componentType == float.class) {
+            for (float value : (float[]) array) {
+                out.putInt(Float.floatToIntBits(value));
+            }
+        } else if (componentType == short.class) {
+            for (short value : (short[]) array) {
+                out.putShort(value);
+            }
+        } else if (componentType == boolean.class) {
+            for (boolean value : (boolean[]) array) {
+                out.putByte(value ? 1 : 0);
+            }
+        } else {
+            for (Object element : (Object[]) array) {
+                write(out, element, depth);
+            }
+        }
+    }
+
+    private void writeUnordered(Murmur3Hash128 out, Collection<?> collection, int depth) {
+        long high = 0;
+        long low = 0;
+        for (Object element : collection) {
+            Murmur3Hash128 elementHasher = hasher(depth);
+            write(elementHasher, element, depth);
+            CacheKey elementKey = elementHasher.hash();
+            high += elementKey.getHigh();
+            low += elementKey.getLow();
+        }
+        out.putByte(UNORDERED).putInt(collection.size()).putLong(high).putLong(low);
+    }
+
+    private void writeMap(Murmur3Hash128 out, Map<?, ?> map, int depth) {
+        long high = 0;
+        long low = 0;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            Murmur3Hash128 entryHasher = hasher(depth);
+            write(entryHasher, entry.getKey(), depth);
+            write(entryHasher, entry.getValue(), depth);
+            CacheKey entryKey = entryHasher.hash();
+            high += entryKey.getHigh();
+            low += entryKey.getLow();
+        }
+        out.putByte(MAP).putInt(map.size()).putLong(high).putLong(low);
+    }
+
+    private void writeBean(Murmur3Hash128 out, Object bean, int depth) {
+        Field[] fields = FIELDS.get(bean.getClass());
+        if (fields == null) {
+            writeOpaque(out, bean);
+            return;
+        }
+        out.putByte(BEAN);
+        putString(out, bean.getClass().getName());
+        out.putInt(fields.length);
+        for (Field field : fields) {
+            putString(out, field.getName());
+            Object fieldValue;
+            try {
+                fieldValue = field.get(bean);
+            } catch (IllegalAccessException e) {
+                fieldValue = null;
+            }
+            write(out, fieldValue, depth);
+        }
+    }
+
+    private static void writeMultipartFile(Murmur3Hash128 out, Object multipartFile) {
+        try {
+            Class<?> type = multipartFile.getClass();
+            String filename = (String) type.getMethod("getOriginalFilename").invoke(multipartFile);
+            byte[] bytes = (byte[]) type.getMethod("getBytes").invoke(multipartFile);
+            out.putByte(FILE);
+            putString(out, filename == null ? "" : filename);
+            out.putInt(bytes.length).putBytes(bytes, 0, bytes.length);
+        } catch (Exception e) {
+            writeOpaque(out, multipartFile);
+        }
+    }
+
+    private static void writeOpaque(Murmur3Hash128 out, Object value) {
+        out.putByte(OPAQUE);
+        putString(out, value.getClass().getName());
+        out.putInt(value.hashCode());
+    }
+
+    private static void putString(Murmur3Hash128 out, CharSequence value) {
+        out.putInt(value.length()).putChars(value);
+    }
+
+    private static boolean isJdkType(Class<?> type) {
+        String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("sun.");
+    }
+
+    /** toString 即值本身的 JDK 类型：数值、java.time、UUID、URI、Locale、File、Path 等 */
+    private static boolean isJdkValue(Class<?> type) {
+        String name = type.getName();
+        return Number.class.isAssignableFrom(type)
+                || name.startsWith("java.time.")
+                || type == java.util.UUID.class
+                || type == java.util.Locale.class
+                || type == java.util.Currency.class
+                || type == java.net.URI.class
+                || type == java.net.URL.class
+                || type == java.io.File.class
+                || java.nio.file.Path.class.isAssignableFrom(type)
+                || java.nio.charset.Charset.class.isAssignableFrom(type)
+                || java.util.TimeZone.class.isAssignableFrom(type);
+    }
+
+    /**
+     * 收集类及其父类的全部实例字段，按字段名排序；无法访问时返回 null
+     *
+     * @param type 类型
+     * @return {@code Field[] }
+     */
+    private static Field[] collectFields(Class<?> type) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> current = type;
+                current != null && current != Object.class;
+                current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers)
+                        || Modifier.isTransient(modifiers)
+                        || field.isSynthetic()) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                } catch (RuntimeException e) {
+                    return null;
+                }
+                fields.add(field);
+            }
+        }
+        fields.sort(
+                Comparator.comparing(Field::getName)
+                        .thenComparing(field -> field.getDeclaringClass().getName()));
+        return fields.toArray(new Field[0]);
+    }
+}
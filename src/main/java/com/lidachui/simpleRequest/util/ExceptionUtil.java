@@ -1,5 +1,8 @@
 package com.lidachui.simpleRequest.util;
 
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
 /**
  * ExceptionUtil
  *
@@ -14,6 +17,21 @@ public class ExceptionUtil {
     return (R) typeErasure(throwable);
   }
 
+  /**
+   * 剥离异步执行包装的异常，返回真实原因
+   *
+   * @param throwable 异常
+   * @return {@code Throwable }
+   */
+  public static Throwable unwrap(Throwable throwable) {
+    Throwable current = throwable;
+    while ((current instanceof CompletionException || current instanceof ExecutionException)
+        && current.getCause() != null) {
+      current = current.getCause();
+    }
+    return current;
+  }
+
   @SuppressWarnings("unchecked")
   private static <R, T extends Throwable> R typeErasure(Throwable throwable) throws T {
     throw (T) throwable;
@@ -8,6 +8,8 @@ package com.lidachui.simpleRequest.util;
  * @version: 1.0
  */
 
+import com.lidachui.simpleRequest.async.CancellationToken;
+
 import java.lang.reflect.Method;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -43,7 +45,7 @@ public class HashBasedCacheKeyGenerator {
     }
 
     /**
-     * 方案3：纯Hash - 最简洁的实现（推荐）
+     * 方案3：纯Hash - 最简洁的实现，只有 32 位，参数较多时容易冲突
      */
     public static String generatePureHashKey(Method method, Object[] args) {
         // 将方法信息和参数一起计算hash
@@ -68,6 +70,15 @@ public class HashBasedCacheKeyGenerator {
         return FRAMEWORK_IDENTIFIER + ":" + sha256Hash(combined);
     }
 
+    /**
+     * 方案5：规范编码 + Murmur3 128 位（推荐）- 按参数内容而不是 hashCode 计算，Bean、集合、数组、枚举都能得到稳定的键
+     *
+     * <p>方法签名包含参数类型，重载方法不会共用缓存；{@link CancellationToken} 不参与计算
+     */
+    public static CacheKey generateCanonicalKey(Method method, Object[] args) {
+        return CanonicalArgumentEncoder.hash(method, args);
+    }
+
     /**
      * 深度计算参数数组的HashCode，正确处理各种类型
      */
@@ -78,6 +89,10 @@ public class HashBasedCacheKeyGenerator {
 
         int result = 1;
         for (Object arg : args) {
+            if (arg instanceof CancellationToken) {
+                // 取消令牌每次调用都不同，不参与缓存键
+                continue;
+            }
             result = 31 * result + objectHashCode(arg);
         }
         return result;
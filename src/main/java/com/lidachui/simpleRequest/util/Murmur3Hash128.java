@@ -0,0 +1,191 @@
+package com.lidachui.simpleRequest.util;
+
+/**
+ * Murmur3Hash128 流式 MurmurHash3 x64 128 位哈希
+ *
+ * <p>输入按小端序写入 16 字节块缓冲区，每满一块立即混合，调用方无需先拼出完整的字节数组。 实例可通过 {@link #reset()}
+ * 重复使用，非线程安全。
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 23:10
+ * @version: 1.0
+ */
+public final class Murmur3Hash128 {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private final long seed;
+    private long h1;
+    private long h2;
+    private long k1;
+    private long k2;
+
+    /** 当前块中已写入的字节数，0~15 */
+    private int position;
+
+    private long length;
+
+    public Murmur3Hash128() {
+        this(0);
+    }
+
+    public Murmur3Hash128(long seed) {
+        this.seed = seed;
+        reset();
+    }
+
+    /**
+     * 重置为初始状态
+     *
+     * @return {@code Murmur3Hash128 }
+     */
+    public Murmur3Hash128 reset() {
+        h1 = seed;
+        h2 = seed;
+        k1 = 0;
+        k2 = 0;
+        position = 0;
+        length = 0;
+        return this;
+    }
+
+    public Murmur3Hash128 putByte(int b) {
+        long value = b & 0xFFL;
+        if (position < 8) {
+            k1 |= value << (position << 3);
+        } else {
+            k2 |= value << ((position - 8) << 3);
+        }
+        length++;
+        if (++position == 16) {
+            mixBlock();
+        }
+        return this;
+    }
+
+    public Murmur3Hash128 putBytes(byte[] bytes, int offset, int count) {
+        for (int i = offset, end = offset + count; i < end; i++) {
+            putByte(bytes[i]);
+        }
+        return this;
+    }
+
+    public Murmur3Hash128 putShort(int value) {
+        putByte(value);
+        return putByte(value >>> 8);
+    }
+
+    public Murmur3Hash128 putInt(int value) {
+        return putFixed(value & 0xFFFFFFFFL, 4);
+    }
+
+    public Murmur3Hash128 putLong(long value) {
+        if (position == 0) {
+            k1 = value;
+            position = 8;
+            length += 8;
+            return this;
+        }
+        if (position == 8) {
+            k2 = value;
+            length += 8;
+            mixBlock();
+            return this;
+        }
+        return putFixed(value, 8);
+    }
+
+    /**
+     * 写入字符串的 UTF-16 码元，不编码、不复制
+     *
+     * @param value 字符串
+     * @return {@code Murmur3Hash128 }
+     */
+    public Murmur3Hash128 putChars(CharSequence value) {
+        for (int i = 0, n = value.length(); i < n; i++) {
+            putShort(value.charAt(i));
+        }
+        return this;
+    }
+
+    /**
+     * 写入另一个 128 位哈希值，用于组合子结构的摘要
+     *
+     * @param key 哈希值
+     * @return {@code Murmur3Hash128 }
+     */
+    public Murmur3Hash128 putKey(CacheKey key) {
+        putLong(key.getHigh());
+        return putLong(key.getLow());
+    }
+
+    private Murmur3Hash128 putFixed(long value, int bytes) {
+        for (int i = 0; i < bytes; i++) {
+            putByte((int) (value >>> (i << 3)));
+        }
+        return this;
+    }
+
+    private void mixBlock() {
+        h1 ^= mixK1(k1);
+        h1 = Long.rotateLeft(h1, 27);
+        h1 += h2;
+        h1 = h1 * 5 + 0x52dce729;
+
+        h2 ^= mixK2(k2);
+        h2 = Long.rotateLeft(h2, 31);
+        h2 += h1;
+        h2 = h2 * 5 + 0x38495ab5;
+
+        k1 = 0;
+        k2 = 0;
+        position = 0;
+    }
+
+    /**
+     * 计算当前已写入内容的哈希值，不改变内部状态，之后可以继续写入
+     *
+     * @return {@code CacheKey }
+     */
+    public CacheKey hash() {
+        long r1 = h1;
+        long r2 = h2;
+        if (position > 8) {
+            r2 ^= mixK2(k2);
+        }
+        if (position > 0) {
+            r1 ^= mixK1(k1);
+        }
+        r1 ^= length;
+        r2 ^= length;
+        r1 += r2;
+        r2 += r1;
+        r1 = fmix64(r1);
+        r2 = fmix64(r2);
+        r1 += r2;
+        r2 += r1;
+        return new CacheKey(r1, r2);
+    }
+
+    private static long mixK1(long k) {
+        k *= C1;
+        k = Long.rotateLeft(k, 31);
+        return k * C2;
+    }
+
+    private static long mixK2(long k) {
+        k *= C2;
+        k = Long.rotateLeft(k, 33);
+        return k * C1;
+    }
+
+    private static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
@@ -1,6 +1,5 @@
 package com.lidachui.simpleRequest.util;
-import java.time.Instant;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicLong;
 /**
  * 高性能 RequestId 生成工具。
@@ -24,48 +23,53 @@ public class RequestIdGenerator {
     private static final long TIMESTAMP_SHIFT = SEQUENCE_BITS + MACHINE_ID_BITS + DATACENTER_ID_BITS;
     private static final long SEQUENCE_MASK = MAX_SEQUENCE;
     private static final int RANDOM_BITS = 32;
-    private static final Random random = new Random();
 
-    // 状态变量
-    private static volatile long lastTimestamp = -1L;
-    private static final AtomicLong sequence = new AtomicLong(0);
+    /**
+     * 状态变量：高位为相对 START_EPOCH 的毫秒数，低 SEQUENCE_BITS 位为序列号，
+     * 两者打包在一起用 CAS 更新，生成过程无锁，不会在虚拟线程上造成 pinning
+     */
+    private static final AtomicLong state = new AtomicLong(0);
 
     /**
      * 生成 Snowflake 风格的唯一 ID。
      *
      * @return 唯一的 Request ID
      */
-    public static synchronized String generate() {
-        long currentTimestamp = getCurrentEpochMilli();
-
-        if (currentTimestamp == lastTimestamp) {
-            long nextSequence = sequence.incrementAndGet() & SEQUENCE_MASK;
-            if (nextSequence == 0) {
-                currentTimestamp = waitNextMillis(currentTimestamp);
+    public static String generate() {
+        long next;
+        long prev;
+        do {
+            prev = state.get();
+            long lastTimestamp = prev >>> SEQUENCE_BITS;
+            long currentTimestamp = getCurrentEpochMilli() - START_EPOCH;
+            if (currentTimestamp > lastTimestamp) {
+                next = currentTimestamp << SEQUENCE_BITS;
+            } else {
+                // 同一毫秒或时钟回拨：沿用上次时间戳递增序列号，序列号用尽时借用下一毫秒
+                next = prev + 1;
             }
-        } else {
-            sequence.set(0);
-        }
+        } while (!state.compareAndSet(prev, next));
 
-        lastTimestamp = currentTimestamp;
-        long id = ((currentTimestamp - START_EPOCH) << TIMESTAMP_SHIFT)
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & SEQUENCE_MASK;
+        long id = (timestamp << TIMESTAMP_SHIFT)
             | (DATACENTER_ID << DATACENTER_ID_SHIFT)
             | (MACHINE_ID << MACHINE_ID_SHIFT)
-            | sequence.get();
+            | sequence;
 
-        long randomPart = random.nextLong() & ((1L << RANDOM_BITS) - 1);
+        long randomPart = ThreadLocalRandom.current().nextLong() & ((1L << RANDOM_BITS) - 1);
 
         String idString = Long.toString(id, 36).toUpperCase();
         String randomString = Long.toString(randomPart, 36).toUpperCase();
 
-        return String.format("REQ-%s-%s", idString, randomString);
+        return "REQ-" + idString + "-" + randomString;
     }
 
     /**
      * 获取当前毫秒级时间戳。
      */
     private static long getCurrentEpochMilli() {
-        return Instant.now().toEpochMilli();
+        return System.currentTimeMillis();
     }
 
     /**
@@ -85,14 +89,4 @@ public class RequestIdGenerator {
         }
         return 0; // 默认值
     }
-
-    /**
-     * 等待下一毫秒。
-     */
-    private static long waitNextMillis(long currentTimestamp) {
-        while (currentTimestamp <= lastTimestamp) {
-            currentTimestamp = getCurrentEpochMilli();
-        }
-        return currentTimestamp;
-    }
 }
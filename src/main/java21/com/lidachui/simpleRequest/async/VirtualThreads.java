@@ -0,0 +1,24 @@
+package com.lidachui.simpleRequest.async;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * VirtualThreads 虚拟线程支持（JDK 21 版本）
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 17:20
+ * @version: 1.0
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {}
+
+    static boolean isSupported() {
+        return true;
+    }
+
+    static ExecutorService newExecutor(String namePrefix) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix, 0).factory());
+    }
+}
@@ -0,0 +1,120 @@
+package com.lidachui.simpleRequest.async;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * CancellationTokenTest 回调只执行一次、注销、父子令牌与中断阻塞调用
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 18:40
+ * @version: 1.0
+ */
+class CancellationTokenTest {
+
+    @Test
+    void callbacksRunOnceOnFirstCancel() {
+        CancellationToken token = new CancellationToken();
+        AtomicInteger runs = new AtomicInteger();
+        Runnable callback = runs::incrementAndGet;
+        token.onCancel(callback);
+        token.onCancel(callback);
+
+        assertTrue(token.cancel());
+        assertFalse(token.cancel());
+        assertEquals(2, runs.get());
+        assertThrows(CancellationException.class, token::throwIfCancelled);
+    }
+
+    @Test
+    void lateRegistrationRunsImmediatelyAndRemovedOneNever() {
+        CancellationToken token = new CancellationToken();
+        AtomicInteger runs = new AtomicInteger();
+        token.onCancel(runs::incrementAndGet).remove();
+        token.cancel();
+        assertEquals(0, runs.get());
+
+        token.onCancel(runs::incrementAndGet);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void linkedChildFollowsParentOnly() {
+        CancellationToken parent = new CancellationToken();
+        CancellationToken child = new CancellationToken();
+        parent.link(child);
+        child.cancel();
+        assertFalse(parent.isCancelled());
+
+        CancellationToken other = new CancellationToken();
+        CancellationToken.Registration link = parent.link(other);
+        link.remove();
+        parent.cancel();
+        assertFalse(other.isCancelled());
+
+        CancellationToken next = new CancellationToken();
+        parent.link(next);
+        assertTrue(next.isCancelled());
+    }
+
+    @Test
+    void cancelOnCancelCancelsFuture() {
+        CancellationToken token = new CancellationToken();
+        CompletableFuture<Object> done = new CompletableFuture<>();
+        CompletableFuture<Object> pending = new CompletableFuture<>();
+        token.cancelOnCancel(done);
+        token.cancelOnCancel(pending);
+        done.complete("value");
+
+        token.cancel();
+        assertFalse(done.isCancelled());
+        assertTrue(pending.isCancelled());
+    }
+
+    @Test
+    void runInterruptiblyInterruptsBlockedCallAndClearsFlag() throws Exception {
+        CancellationToken token = new CancellationToken();
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Boolean> interrupted = new CompletableFuture<>();
+        CompletableFuture<Boolean> flagAfter = new CompletableFuture<>();
+        Thread worker =
+                new Thread(
+                        () -> {
+                            token.runInterruptibly(
+                                    () -> {
+                                        started.countDown();
+                                        try {
+                                            Thread.sleep(10_000);
+                                            interrupted.complete(false);
+                                        } catch (InterruptedException e) {
+                                            interrupted.complete(true);
+                                        }
+                                        return null;
+                                    });
+                            flagAfter.complete(Thread.currentThread().isInterrupted());
+                        });
+        worker.start();
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        token.cancel();
+        assertTrue(interrupted.get(1, TimeUnit.SECONDS));
+        assertFalse(flagAfter.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void runInterruptiblyRejectsCancelledToken() {
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        assertThrows(CancellationException.class, () -> token.runInterruptibly(() -> "value"));
+    }
+}
@@ -0,0 +1,143 @@
+package com.lidachui.simpleRequest.async;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * FuturesTest 组合后的 Future 把取消传给上游和内层，异步组合在指定执行器上继续
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 18:40
+ * @version: 1.0
+ */
+class FuturesTest {
+
+    @Test
+    void cancelReachesPendingSource() {
+        CompletableFuture<String> source = new CompletableFuture<>();
+        CompletableFuture<String> composed =
+                Futures.thenCompose(source, v -> CompletableFuture.completedFuture(v));
+
+        composed.cancel(true);
+        assertTrue(source.isCancelled());
+    }
+
+    @Test
+    void cancelReachesInnerFuture() {
+        CompletableFuture<String> source = new CompletableFuture<>();
+        CompletableFuture<String> inner = new CompletableFuture<>();
+        CompletableFuture<String> composed = Futures.thenCompose(source, v -> inner);
+        source.complete("value");
+
+        composed.cancel(true);
+        assertTrue(inner.isCancelled());
+    }
+
+    @Test
+    void failureOfEitherStageIsPropagatedUnwrapped() {
+        CompletableFuture<String> source = new CompletableFuture<>();
+        CompletableFuture<String> composed =
+                Futures.thenCompose(source, v -> CompletableFuture.completedFuture(v));
+        source.completeExceptionally(new IllegalStateException("boom"));
+        ExecutionException e = assertThrows(ExecutionException.class, composed::get);
+        assertTrue(e.getCause() instanceof IllegalStateException);
+
+        CompletableFuture<String> throwing =
+                Futures.thenCompose(
+                        CompletableFuture.completedFuture("value"),
+                        v -> {
+                            throw new IllegalArgumentException("bad");
+                        });
+        e = assertThrows(ExecutionException.class, throwing::get);
+        assertTrue(e.getCause() instanceof IllegalArgumentException);
+    }
+
+    @Test
+    void abandonedValueIsHandedBack() {
+        CompletableFuture<String> source =
+                new CompletableFuture<String>() {
+                    @Override
+                    public boolean cancel(boolean mayInterruptIfRunning) {
+                        return false;
+                    }
+                };
+        AtomicReference<String> abandoned = new AtomicReference<>();
+        AtomicBoolean ran = new AtomicBoolean();
+        CompletableFuture<String> composed =
+                Futures.thenCompose(
+                        source,
+                        v -> {
+                            ran.set(true);
+                            return CompletableFuture.completedFuture(v);
+                        },
+                        abandoned::set);
+
+        composed.cancel(true);
+        source.complete("permit");
+        assertFalse(ran.get());
+        assertEquals("permit", abandoned.get());
+    }
+
+    @Test
+    void asyncCompositionContinuesOnExecutor() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CompletableFuture<Void> timer = SharedTimer.delay(20);
+            AtomicReference<Thread> thread = new AtomicReference<>();
+            CompletableFuture<String> composed =
+                    Futures.thenComposeAsync(
+                            timer,
+                            v -> {
+                                thread.set(Thread.currentThread());
+                                return CompletableFuture.completedFuture("done");
+                            },
+                            executor);
+
+            assertEquals("done", composed.get(1, TimeUnit.SECONDS));
+            assertNotEquals("simple-request-timer", thread.get().getName());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void asyncCompositionCancelReachesSource() {
+        CompletableFuture<String> source = new CompletableFuture<>();
+        CompletableFuture<String> composed =
+                Futures.thenComposeAsync(
+                        source, v -> CompletableFuture.completedFuture(v), Runnable::run);
+
+        composed.cancel(true);
+        assertTrue(source.isCancelled());
+    }
+
+    @Test
+    void rejectedContinuationFailsComposedFuture() {
+        CompletableFuture<String> source = new CompletableFuture<>();
+        CompletableFuture<String> composed =
+                Futures.thenComposeAsync(
+                        source,
+                        v -> CompletableFuture.completedFuture(v),
+                        task -> {
+                            throw new RejectedExecutionException("full");
+                        });
+
+        source.complete("value");
+        ExecutionException e = assertThrows(ExecutionException.class, composed::get);
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+    }
+}
@@ -0,0 +1,43 @@
+package com.lidachui.simpleRequest.async;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * SharedTimerTest 延迟完成与可取消的同步等待
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 18:40
+ * @version: 1.0
+ */
+class SharedTimerTest {
+
+    @Test
+    void delayCompletesAfterInterval() throws Exception {
+        long start = System.nanoTime();
+        SharedTimer.delay(30).get(1, TimeUnit.SECONDS);
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(25));
+    }
+
+    @Test
+    void awaitWaitsWithoutToken() {
+        long start = System.nanoTime();
+        SharedTimer.await(30, null);
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(25));
+    }
+
+    @Test
+    void awaitEndsWhenTokenIsCancelled() {
+        CancellationToken token = new CancellationToken();
+        SharedTimer.delay(30).thenRun(token::cancel);
+
+        long start = System.nanoTime();
+        assertThrows(CancellationException.class, () -> SharedTimer.await(10_000, token));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+    }
+}
@@ -0,0 +1,132 @@
+package com.lidachui.simpleRequest.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * BoundedLocalCacheTest 容量上限与 W-TinyLFU 的抗扫描能力
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 19:40
+ * @version: 1.0
+ */
+class BoundedLocalCacheTest {
+
+    private static final long NEVER = Long.MAX_VALUE;
+
+    @Test
+    void sizeStaysWithinMaximum() {
+        List<BoundedLocalCache.Node> evicted = new ArrayList<>();
+        BoundedLocalCache cache = new BoundedLocalCache(sizeConfig(100), evicted::add);
+        for (int i = 0; i < 1000; i++) {
+            cache.put("key-" + i, i, NEVER);
+        }
+        cache.cleanUp();
+
+        assertEquals(100, cache.size());
+        assertEquals(900, cache.evictionCount());
+        assertEquals(900, evicted.size());
+        for (BoundedLocalCache.Node node : evicted) {
+            assertNull(cache.get(node.getKey()), node.getKey());
+        }
+    }
+
+    @Test
+    void weightStaysWithinMaximum() {
+        LocalCacheConfig config = new LocalCacheConfig();
+        config.setMaximumSize(0);
+        config.setMaximumWeight(1000);
+        config.setWeigher((key, value) -> ((String) value).length());
+        BoundedLocalCache cache = new BoundedLocalCache(config, node -> {});
+        for (int i = 0; i < 200; i++) {
+            cache.put("key-" + i, repeat('x', 1 + i % 50), NEVER);
+        }
+        cache.cleanUp();
+
+        assertTrue(cache.weightedSize() <= 1000, "weightedSize " + cache.weightedSize());
+        assertTrue(cache.evictionCount() > 0);
+    }
+
+    @Test
+    void oversizedEntryDoesNotExceedWeight() {
+        LocalCacheConfig config = new LocalCacheConfig();
+        config.setMaximumSize(0);
+        config.setMaximumWeight(100);
+        config.setWeigher((key, value) -> ((String) value).length());
+        BoundedLocalCache cache = new BoundedLocalCache(config, node -> {});
+        cache.put("small", "x", NEVER);
+        cache.put("huge", repeat('x', 500), NEVER);
+        cache.cleanUp();
+
+        assertTrue(cache.weightedSize() <= 100, "weightedSize " + cache.weightedSize());
+    }
+
+    @Test
+    void scanDoesNotFlushFrequentlyReadEntries() {
+        BoundedLocalCache cache = new BoundedLocalCache(sizeConfig(100), node -> {});
+        int hot = 50;
+        for (int i = 0; i < hot; i++) {
+            cache.put("hot-" + i, i, NEVER);
+        }
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < hot; i++) {
+                assertNotNull(cache.get("hot-" + i));
+            }
+            // 读缓冲区是有损的，每轮回放一次保证访问都计入频率
+            cache.cleanUp();
+        }
+
+        // 一次性扫描远超容量的冷数据，每个只写一次
+        for (int i = 0; i < 10_000; i++) {
+            cache.put("scan-" + i, i, NEVER);
+            if (i % 64 == 0) {
+                cache.cleanUp();
+            }
+        }
+        cache.cleanUp();
+
+        int retained = 0;
+        for (int i = 0; i < hot; i++) {
+            if (cache.get("hot-" + i) != null) {
+                retained++;
+            }
+        }
+        assertTrue(retained >= hot * 9 / 10, "hot entries retained: " + retained);
+        assertEquals(100, cache.size());
+    }
+
+    @Test
+    void putIfAbsentKeepsLiveEntryAndReplacesExpiredOne() {
+        BoundedLocalCache cache = new BoundedLocalCache(sizeConfig(10), node -> {});
+        cache.put("live", "old", NEVER);
+        assertNull(cache.putIfAbsent("live", "new", NEVER));
+        assertEquals("old", cache.get("live").getValue());
+
+        cache.put("expired", "old", 0);
+        assertEquals("new", cache.putIfAbsent("expired", "new", NEVER).getValue());
+        assertEquals("new", cache.get("expired").getValue());
+
+        assertEquals("new", cache.putIfAbsent("missing", "new", NEVER).getValue());
+    }
+
+    private static LocalCacheConfig sizeConfig(long maximumSize) {
+        LocalCacheConfig config = new LocalCacheConfig();
+        config.setMaximumSize(maximumSize);
+        return config;
+    }
+
+    private static String repeat(char c, int count) {
+        StringBuilder builder = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,136 @@
+package com.lidachui.simpleRequest.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.lidachui.simpleRequest.serialize.JacksonSerializer;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * JacksonValueCodecTest 编解码往返、时间信息、压缩与按目标类型延迟反序列化
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 21:50
+ * @version: 1.0
+ */
+class JacksonValueCodecTest {
+
+    private static final Type ITEM_LIST = new TypeReference<List<Item>>() {}.getType();
+
+    private final JacksonValueCodec codec = new JacksonValueCodec();
+
+    @Test
+    void plainValueRoundTrips() {
+        Object decoded = codec.decode(codec.encode("hello"));
+
+        LazyCacheValue value = (LazyCacheValue) decoded;
+        assertEquals(String.class.getName(), value.getTypeName());
+        assertEquals("hello", value.get());
+        assertEquals("hello", LazyCacheValue.resolve(decoded, String.class));
+    }
+
+    @Test
+    void genericValueIsRestoredWithTargetType() {
+        List<Item> items = Arrays.asList(new Item("a", 1), new Item("b", 2));
+
+        Object decoded = codec.decode(codec.encode(items));
+        @SuppressWarnings("unchecked")
+        List<Item> restored = (List<Item>) LazyCacheValue.resolve(decoded, ITEM_LIST);
+        assertEquals(items, restored);
+    }
+
+    @Test
+    void cachedValueKeepsTimestamps() {
+        CachedValue original = new CachedValue(new Item("a", 1), 10L, 20L, 30L, 40L);
+
+        CachedValue decoded = (CachedValue) codec.decode(codec.encode(original));
+        assertEquals(10L, decoded.getRefreshAt());
+        assertEquals(20L, decoded.getExpireAt());
+        assertEquals(30L, decoded.getStaleUntil());
+        assertEquals(40L, decoded.getErrorUntil());
+        assertEquals(new Item("a", 1), LazyCacheValue.resolve(decoded.getValue(), Item.class));
+    }
+
+    @Test
+    void largeValueIsCompressedAndRestored() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            items.add(new Item("item", i));
+        }
+        JacksonValueCodec uncompressed = new JacksonValueCodec(JacksonSerializer.objectMapper, 0);
+
+        byte[] compressed = codec.encode(items);
+        assertTrue(compressed.length < uncompressed.encode(items).length / 2);
+        assertEquals(items, LazyCacheValue.resolve(codec.decode(compressed), ITEM_LIST));
+    }
+
+    @Test
+    void decodingIsDeferredAndCachedPerType() {
+        AtomicInteger decodes = new AtomicInteger();
+        LazyCacheValue value =
+                new LazyCacheValue(
+                        String.class.getName(),
+                        0,
+                        type -> {
+                            decodes.incrementAndGet();
+                            return "value";
+                        });
+        assertEquals(0, decodes.get());
+
+        value.get(String.class);
+        value.get(String.class);
+        assertEquals(1, decodes.get());
+        value.get(Object.class);
+        assertEquals(2, decodes.get());
+    }
+
+    @Test
+    void unrecognizedBytesDecodeAsMiss() {
+        assertNull(codec.decode(null));
+        assertNull(codec.decode(new byte[] {1, 2, 3, 4, 5}));
+        assertNull(LazyCacheValue.resolve(codec.decode(codec.encode(null)), String.class));
+    }
+
+    @Test
+    void typeMismatchFailsOnRead() {
+        Object decoded = codec.decode(codec.encode("not a number"));
+        assertThrows(
+                IllegalStateException.class, () -> LazyCacheValue.resolve(decoded, Item.class));
+    }
+
+    public static class Item {
+        public String name;
+        public int count;
+
+        public Item() {}
+
+        Item(String name, int count) {
+            this.name = name;
+            this.count = count;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Item)) {
+                return false;
+            }
+            Item other = (Item) o;
+            return count == other.count && name.equals(other.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode() * 31 + count;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.lidachui.simpleRequest.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * NearCacheStrategyTest 两级读写与节点间的失效广播，远端用本地缓存模拟共享的 Redis
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 21:10
+ * @version: 1.0
+ */
+class NearCacheStrategyTest {
+
+    private LocalCacheStrategy remote;
+    private NearCacheStrategy nodeA;
+    private NearCacheStrategy nodeB;
+
+    @BeforeEach
+    void setUp() {
+        String channel = "near-test-" + UUID.randomUUID();
+        remote = new LocalCacheStrategy();
+        nodeA = new NearCacheStrategy(remote, new LocalInvalidationBus(channel));
+        nodeB = new NearCacheStrategy(remote, new LocalInvalidationBus(channel));
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.shutdown();
+        nodeB.shutdown();
+        remote.shutdown();
+    }
+
+    @Test
+    void remoteHitFillsLocal() {
+        remote.put("key", "value", 1, TimeUnit.MINUTES);
+
+        assertEquals("value", nodeA.get("key"));
+        assertEquals(1, nodeA.getRemoteHitCount());
+        assertEquals("value", nodeA.get("key"));
+        assertEquals(1, nodeA.getRemoteHitCount());
+        assertEquals(1, nodeA.getLocalHitCount());
+
+        assertNull(nodeA.get("missing"));
+        assertEquals(1, nodeA.getMissCount());
+    }
+
+    @Test
+    void putOnOneNodeInvalidatesOtherNodesCopy() {
+        nodeA.put("key", "old", 1, TimeUnit.MINUTES);
+        assertEquals("old", nodeB.get("key"));
+
+        nodeA.put("key", "new", 1, TimeUnit.MINUTES);
+        assertEquals(2, nodeA.getInvalidationsPublished());
+        assertEquals(1, nodeB.getInvalidationsReceived());
+        assertNull(nodeB.getLocal().get("key"));
+        assertEquals("new", nodeB.get("key"));
+    }
+
+    @Test
+    void ownInvalidationsAreIgnored() {
+        nodeA.put("key", "value", 1, TimeUnit.MINUTES);
+
+        assertEquals(1, nodeA.getInvalidationsPublished());
+        assertEquals(0, nodeA.getInvalidationsReceived());
+        assertEquals("value", nodeA.getLocal().get("key"));
+    }
+
+    @Test
+    void removeOnOneNodeDropsOtherNodesCopy() {
+        nodeA.put("key", "value", 1, TimeUnit.MINUTES);
+        assertEquals("value", nodeB.get("key"));
+
+        nodeA.remove("key");
+        assertNull(nodeB.getLocal().get("key"));
+        assertNull(nodeB.get("key"));
+    }
+
+    @Test
+    void removeAllClearsOtherNodesLocalCache() {
+        nodeA.put("first", "1", 1, TimeUnit.MINUTES);
+        nodeA.put("second", "2", 1, TimeUnit.MINUTES);
+        assertEquals("1", nodeB.get("first"));
+        assertEquals("2", nodeB.get("second"));
+
+        nodeA.removeAll();
+        assertNull(nodeB.getLocal().get("first"));
+        assertNull(nodeB.getLocal().get("second"));
+        assertNull(nodeB.get("first"));
+    }
+
+    @Test
+    void localCopyExpiresAfterLocalTtl() throws Exception {
+        NearCacheConfig config = new NearCacheConfig();
+        config.setLocalTtlMillis(20);
+        NearCacheStrategy node =
+                new NearCacheStrategy(
+                        remote, new LocalInvalidationBus("near-ttl-" + UUID.randomUUID()), config);
+        try {
+            node.put("key", "value", 1, TimeUnit.MINUTES);
+            Thread.sleep(40);
+
+            assertNull(node.getLocal().get("key"));
+            assertEquals("value", node.get("key"));
+            assertEquals(1, node.getRemoteHitCount());
+        } finally {
+            node.shutdown();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.lidachui.simpleRequest.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.lidachui.simpleRequest.resilience.limit.AimdLimit;
+import java.net.SocketTimeoutException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+/**
+ * AdaptiveConcurrencyLimiterTest 达到限制时拒绝，只有过载信号才收缩限制
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 15:00
+ * @version: 1.0
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void rejectsOnceInflightReachesLimit() {
+        AdaptiveConcurrencyLimiter limiter =
+                new AdaptiveConcurrencyLimiter("test", new AimdLimit(2, 1, 10));
+        assertEquals(1, limiter.acquire());
+        int second = limiter.acquire();
+        assertEquals(2, second);
+
+        assertThrows(ConcurrencyLimitExceededException.class, limiter::acquire);
+        assertEquals(1, limiter.getRejectedCount());
+
+        limiter.release(second, 1_000, new IllegalArgumentException("not overload"));
+        assertEquals(1, limiter.getInflight());
+        assertEquals(2, limiter.acquire());
+    }
+
+    @Test
+    void overloadSignalsShrinkLimit() {
+        AdaptiveConcurrencyLimiter limiter =
+                new AdaptiveConcurrencyLimiter("test", new AimdLimit(100, 1, 200));
+
+        limiter.release(limiter.acquire(), 1_000, new SocketTimeoutException());
+        assertEquals(90, limiter.getLimit());
+
+        limiter.release(
+                limiter.acquire(),
+                1_000,
+                new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+        assertEquals(81, limiter.getLimit());
+
+        limiter.release(
+                limiter.acquire(), 1_000, new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS));
+        assertEquals(72, limiter.getLimit());
+    }
+
+    @Test
+    void clientErrorsDoNotAdjustLimit() {
+        AdaptiveConcurrencyLimiter limiter =
+                new AdaptiveConcurrencyLimiter("test", new AimdLimit(10, 1, 20));
+        limiter.release(
+                limiter.acquire(), 1_000, new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        assertEquals(10, limiter.getLimit());
+        assertEquals(0, limiter.getInflight());
+    }
+}
@@ -0,0 +1,91 @@
+package com.lidachui.simpleRequest.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * CoDelLoadShedderTest 持续超标一个间隔后丢弃，每个间隔放行一次探测，低于目标立即恢复
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 17:30
+ * @version: 1.0
+ */
+class CoDelLoadShedderTest {
+
+    private static final long TARGET_MILLIS = 10;
+    private static final long INTERVAL_MILLIS = 50;
+
+    @Test
+    void delayBelowTargetNeverDrops() {
+        CoDelLoadShedder shedder = shedder();
+        for (int i = 0; i < 100; i++) {
+            shedder.onDequeue(millis(5));
+            shedder.admit();
+        }
+        assertFalse(shedder.isDropping());
+        assertEquals(5, shedder.getLastQueueDelayMillis());
+    }
+
+    @Test
+    void sustainedDelayStartsDroppingAfterInterval() throws Exception {
+        CoDelLoadShedder shedder = shedder();
+        shedder.onDequeue(millis(20));
+        assertFalse(shedder.isDropping());
+        shedder.admit();
+
+        Thread.sleep(INTERVAL_MILLIS + 10);
+        shedder.onDequeue(millis(20));
+        assertTrue(shedder.isDropping());
+        LoadSheddingException e = assertThrows(LoadSheddingException.class, shedder::admit);
+        assertTrue(e.getMessage().contains("test"));
+        assertEquals(1, shedder.getShedCount());
+    }
+
+    @Test
+    void shortSpikeIsTolerated() throws Exception {
+        CoDelLoadShedder shedder = shedder();
+        shedder.onDequeue(millis(20));
+        shedder.onDequeue(millis(1));
+        Thread.sleep(INTERVAL_MILLIS + 10);
+        shedder.onDequeue(millis(20));
+        assertFalse(shedder.isDropping());
+    }
+
+    @Test
+    void onePerIntervalIsProbedAndGoodSampleRecovers() throws Exception {
+        CoDelLoadShedder shedder = dropping();
+        assertThrows(LoadSheddingException.class, shedder::admit);
+
+        Thread.sleep(INTERVAL_MILLIS + 10);
+        shedder.admit();
+        assertThrows(LoadSheddingException.class, shedder::admit);
+
+        shedder.onDequeue(millis(1));
+        assertFalse(shedder.isDropping());
+        shedder.admit();
+        assertEquals(2, shedder.getShedCount());
+    }
+
+    private static CoDelLoadShedder dropping() throws InterruptedException {
+        CoDelLoadShedder shedder = shedder();
+        shedder.onDequeue(millis(20));
+        Thread.sleep(INTERVAL_MILLIS + 10);
+        shedder.onDequeue(millis(20));
+        assertTrue(shedder.isDropping());
+        return shedder;
+    }
+
+    private static CoDelLoadShedder shedder() {
+        return new CoDelLoadShedder("test", TARGET_MILLIS, INTERVAL_MILLIS);
+    }
+
+    private static long millis(long value) {
+        return TimeUnit.MILLISECONDS.toNanos(value);
+    }
+}
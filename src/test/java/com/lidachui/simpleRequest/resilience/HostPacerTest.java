@@ -0,0 +1,134 @@
+package com.lidachui.simpleRequest.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+/**
+ * HostPacerTest Retry-After 冷却、配额分摊与等待上限
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 15:30
+ * @version: 1.0
+ */
+class HostPacerTest {
+
+    private static final String URL = "http://api.example.com:8080/users";
+
+    @Test
+    void unknownHostIsNotDelayed() {
+        assertEquals(0, new HostPacer().reserve(URL));
+    }
+
+    @Test
+    void retryAfterOn429CoolsDownTheWholeHost() {
+        HostPacer pacer = new HostPacer();
+        pacer.onError(URL, clientError(HttpStatus.TOO_MANY_REQUESTS, "2"));
+
+        long wait = pacer.reserve("http://api.example.com:8080/orders");
+        assertTrue(wait > 1500 && wait <= 2000, "wait=" + wait);
+        assertTrue(pacer.getCooldownMillis("api.example.com:8080") > 1500);
+        assertEquals(0, pacer.reserve("http://other.example.com/users"));
+    }
+
+    @Test
+    void retryAfterOnOtherStatusIsIgnored() {
+        HostPacer pacer = new HostPacer();
+        pacer.onError(URL, clientError(HttpStatus.NOT_FOUND, "5"));
+        assertEquals(0, pacer.reserve(URL));
+    }
+
+    @Test
+    void cooldownBeyondMaxWaitIsRejected() {
+        HostPacer pacer = new HostPacer();
+        pacer.setMaxWaitMillis(100);
+        pacer.onError(URL, clientError(HttpStatus.TOO_MANY_REQUESTS, "5"));
+
+        ServerPacingException e = assertThrows(ServerPacingException.class, () -> pacer.reserve(URL));
+        assertTrue(e.getRetryAfterMillis() > 4000);
+    }
+
+    @Test
+    void remainingQuotaIsSpreadUntilReset() {
+        HostPacer pacer = new HostPacer();
+        Map<String, String> headers = new HashMap<>();
+        headers.put("x-ratelimit-remaining", "10");
+        headers.put("x-ratelimit-reset", "1");
+        pacer.onResponse(URL, headers);
+
+        assertEquals(100, pacer.getHosts().get("api.example.com:8080").getSpacingMillis());
+        long first = pacer.reserve(URL);
+        long second = pacer.reserve(URL);
+        long third = pacer.reserve(URL);
+        assertTrue(first <= 100, "first=" + first);
+        assertTrue(second > first && third > second, first + " " + second + " " + third);
+        assertTrue(third - first >= 150, "spread=" + (third - first));
+    }
+
+    @Test
+    void exhaustedQuotaCoolsDownUntilReset() {
+        HostPacer pacer = new HostPacer();
+        Map<String, String> headers = new HashMap<>();
+        headers.put("X-RateLimit-Remaining", "0");
+        headers.put("X-RateLimit-Reset", "1");
+        pacer.onResponse(URL, headers);
+
+        long wait = pacer.reserve(URL);
+        assertTrue(wait > 500 && wait <= 1000, "wait=" + wait);
+    }
+
+    @Test
+    void responsesWithoutQuotaHeadersChangeNothing() {
+        HostPacer pacer = new HostPacer();
+        pacer.onResponse(URL, Collections.singletonMap("Content-Type", "application/json"));
+        assertEquals(0, pacer.reserve(URL));
+    }
+
+    @Test
+    void parsesRetryAfterSecondsAndHttpDate() {
+        assertEquals(3000, HostPacer.parseRetryAfter(" 3 "));
+        assertEquals(-1, HostPacer.parseRetryAfter("soon"));
+        assertEquals(-1, HostPacer.parseRetryAfter(null));
+
+        String date =
+                ZonedDateTime.now(ZoneOffset.UTC)
+                        .plusSeconds(10)
+                        .format(DateTimeFormatter.RFC_1123_DATE_TIME);
+        long millis = HostPacer.parseRetryAfter(date);
+        assertTrue(millis > 8000 && millis <= 10000, "millis=" + millis);
+    }
+
+    @Test
+    void readsRetryAfterFromWrappedStatusException() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Retry-After", "3");
+        HttpServerErrorException cause =
+                HttpServerErrorException.create(
+                        HttpStatus.SERVICE_UNAVAILABLE, "Unavailable", headers, null, null);
+
+        assertEquals(3000, HostPacer.retryAfterMillis(new RuntimeException(cause)));
+        assertEquals(-1, HostPacer.retryAfterMillis(new ServerPacingException("h", 1000)));
+        assertEquals(-1, HostPacer.retryAfterMillis(clientError(HttpStatus.TOO_MANY_REQUESTS, null)));
+    }
+
+    private static HttpClientErrorException clientError(HttpStatus status, String retryAfter) {
+        HttpHeaders headers = new HttpHeaders();
+        if (retryAfter != null) {
+            headers.set("Retry-After", retryAfter);
+        }
+        return HttpClientErrorException.create(status, status.getReasonPhrase(), headers, null, null);
+    }
+}
@@ -0,0 +1,171 @@
+package com.lidachui.simpleRequest.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.lidachui.simpleRequest.async.Futures;
+import com.lidachui.simpleRequest.constants.RequestPriority;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * PriorityDispatcherTest 优先级通道、租户加权公平、队列上限与排队超时；排队请求被取消时归还队列名额和并发名额
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 16:40
+ * @version: 1.0
+ */
+class PriorityDispatcherTest {
+
+    @Test
+    void higherLaneIsDispatchedFirst() {
+        PriorityDispatcher dispatcher = new PriorityDispatcher("test", () -> 1, 10, 0);
+        assertTrue(dispatcher.acquire(RequestPriority.NORMAL, null).isDone());
+        CompletableFuture<Void> low = dispatcher.acquire(RequestPriority.LOW, null);
+        CompletableFuture<Void> normal = dispatcher.acquire(RequestPriority.NORMAL, null);
+        CompletableFuture<Void> high = dispatcher.acquire(RequestPriority.HIGH, null);
+
+        dispatcher.release();
+        assertTrue(high.isDone());
+        assertFalse(normal.isDone());
+        dispatcher.release();
+        assertTrue(normal.isDone());
+        assertFalse(low.isDone());
+        dispatcher.release();
+        assertTrue(low.isDone());
+        assertEquals(1, dispatcher.getDispatchedCount(RequestPriority.HIGH));
+        assertEquals(2, dispatcher.getDispatchedCount(RequestPriority.NORMAL));
+        assertEquals(1, dispatcher.getDispatchedCount(RequestPriority.LOW));
+    }
+
+    @Test
+    void tenantsShareLaneByWeight() {
+        PriorityDispatcher dispatcher = new PriorityDispatcher("test", () -> 1, 100, 0);
+        dispatcher.setTenantWeight("big", 2);
+        dispatcher.acquire(RequestPriority.NORMAL, null);
+        List<String> order = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            dispatcher.acquire(RequestPriority.NORMAL, "big").thenRun(() -> order.add("big"));
+        }
+        for (int i = 0; i < 6; i++) {
+            dispatcher.acquire(RequestPriority.NORMAL, "small").thenRun(() -> order.add("small"));
+        }
+
+        for (int i = 0; i < 6; i++) {
+            dispatcher.release();
+        }
+        long big = order.stream().filter("big"::equals).count();
+        assertEquals(6, order.size());
+        assertEquals(4, big);
+    }
+
+    @Test
+    void fullQueueRejects() {
+        PriorityDispatcher dispatcher = new PriorityDispatcher("test", () -> 1, 1, 0);
+        dispatcher.acquire(RequestPriority.NORMAL, null);
+        dispatcher.acquire(RequestPriority.NORMAL, null);
+
+        CompletableFuture<Void> rejected = dispatcher.acquire(RequestPriority.HIGH, null);
+        ExecutionException e = assertThrows(ExecutionException.class, rejected::get);
+        assertTrue(e.getCause() instanceof DispatchQueueFullException);
+        assertEquals(1, dispatcher.getRejectedCount());
+    }
+
+    @Test
+    void queuedRequestTimesOut() throws Exception {
+        PriorityDispatcher dispatcher = new PriorityDispatcher("test", () -> 1, 10, 50);
+        dispatcher.acquire(RequestPriority.NORMAL, null);
+        CompletableFuture<Void> queued = dispatcher.acquire(RequestPriority.NORMAL, null);
+
+        ExecutionException e =
+                assertThrows(ExecutionException.class, () -> queued.get(1, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof TimeoutException);
+        assertEquals(0, dispatcher.getQueueSize(RequestPriority.NORMAL));
+        assertEquals(1, dispatcher.getInflight());
+    }
+
+    @Test
+    void releaseSkipsCancelledWaiters() {
+        PriorityDispatcher dispatcher = new PriorityDispatcher("test", () -> 1, 10, 0);
+        dispatcher.acquire(RequestPriority.NORMAL, null);
+        CompletableFuture<Void> cancelled = dispatcher.acquire(RequestPriority.HIGH, null);
+        CompletableFuture<Void> waiting = dispatcher.acquire(RequestPriority.NORMAL, null);
+        cancelled.cancel(true);
+
+        dispatcher.release();
+        assertTrue(waiting.isDone());
+        assertFalse(waiting.isCompletedExceptionally());
+        assertEquals(1, dispatcher.getInflight());
+
+        dispatcher.release();
+        assertEquals(0, dispatcher.getInflight());
+    }
+
+    @Test
+    void cancelledWaiterLeavesQueue() {
+        PriorityDispatcher dispatcher = new PriorityDispatcher("test", () -> 1, 10, 0);
+        assertTrue(dispatcher.acquire(RequestPriority.NORMAL, null).isDone());
+        CompletableFuture<Void> queued = dispatcher.acquire(RequestPriority.NORMAL, null);
+        assertEquals(1, dispatcher.getQueueSize(RequestPriority.NORMAL));
+
+        queued.cancel(true);
+        assertEquals(0, dispatcher.getQueueSize(RequestPriority.NORMAL));
+        assertEquals(1, dispatcher.getCancelledCount());
+
+        dispatcher.release();
+        assertEquals(0, dispatcher.getInflight());
+    }
+
+    @Test
+    void cancellingQueuedComposedCallDoesNotTakePermit() {
+        PriorityDispatcher dispatcher = new PriorityDispatcher("test", () -> 1, 10, 0);
+        dispatcher.acquire(RequestPriority.NORMAL, null);
+        CompletableFuture<Object> call =
+                Futures.thenCompose(
+                        dispatcher.acquire(RequestPriority.NORMAL, null),
+                        v -> new CompletableFuture<>(),
+                        v -> dispatcher.release());
+
+        call.cancel(true);
+        assertEquals(0, dispatcher.getQueueSize(RequestPriority.NORMAL));
+        dispatcher.release();
+        assertEquals(0, dispatcher.getInflight());
+    }
+
+    @Test
+    void permitGrantedAfterCallerCancelledIsReleased() {
+        PriorityDispatcher dispatcher = new PriorityDispatcher("test", () -> 1, 10, 0);
+        assertTrue(dispatcher.acquire(RequestPriority.NORMAL, null).isDone());
+        // 模拟放行与取消交错：取消传到上游时名额已经分配，上游的 cancel 不再生效
+        CompletableFuture<Void> grant =
+                new CompletableFuture<Void>() {
+                    @Override
+                    public boolean cancel(boolean mayInterruptIfRunning) {
+                        return false;
+                    }
+                };
+        AtomicBoolean sent = new AtomicBoolean();
+        CompletableFuture<Object> call =
+                Futures.thenCompose(
+                        grant,
+                        v -> {
+                            sent.set(true);
+                            return new CompletableFuture<>();
+                        },
+                        v -> dispatcher.release());
+
+        call.cancel(true);
+        grant.complete(null);
+        assertFalse(sent.get());
+        assertEquals(0, dispatcher.getInflight());
+    }
+}
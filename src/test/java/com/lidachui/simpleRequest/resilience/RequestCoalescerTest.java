@@ -0,0 +1,263 @@
+package com.lidachui.simpleRequest.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.lidachui.simpleRequest.annotation.Callback;
+import com.lidachui.simpleRequest.async.CancellationToken;
+import com.lidachui.simpleRequest.async.ResponseCallback;
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * RequestCoalescerTest 相同调用共享在途请求，完成后立即移除；调用方的取消只影响自己，所有调用方都取消后才中止共享调用
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 16:00
+ * @version: 1.0
+ */
+class RequestCoalescerTest {
+
+    interface Api {
+        String get(String id);
+
+        void getAsync(String id, @Callback ResponseCallback<String> callback);
+
+        String getCancellable(String id, CancellationToken token);
+
+        String search(Query query);
+    }
+
+    /** 没有重写 equals 的参数对象 */
+    static class Query {
+        private final String name;
+        private final int page;
+
+        Query(String name, int page) {
+            this.name = name;
+            this.page = page;
+        }
+    }
+
+    @Test
+    void concurrentCallersShareOneCall() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        CompletableFuture<Object> upstream = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<Object> first =
+                coalescer.executeAsync(key("1"), null, token -> count(calls, upstream));
+        CompletableFuture<Object> second =
+                coalescer.executeAsync(key("1"), null, token -> count(calls, upstream));
+        CompletableFuture<Object> other =
+                coalescer.executeAsync(
+                        key("2"), null, token -> CompletableFuture.completedFuture("other"));
+
+        assertEquals(1, calls.get());
+        assertEquals("other", other.join());
+        upstream.complete("value");
+        assertEquals("value", first.join());
+        assertEquals("value", second.join());
+        assertEquals(0, coalescer.getInflightCount());
+        assertEquals(2, coalescer.getLeaderCount());
+        assertEquals(1, coalescer.getCoalescedCount());
+    }
+
+    @Test
+    void failureReachesEveryCallerAndIsNotKept() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        CompletableFuture<Object> upstream = new CompletableFuture<>();
+        CompletableFuture<Object> shared =
+                coalescer.executeAsync(key("1"), null, token -> upstream);
+
+        upstream.completeExceptionally(new IllegalStateException("boom"));
+        CompletionException e = assertThrows(CompletionException.class, shared::join);
+        assertTrue(e.getCause() instanceof IllegalStateException);
+
+        CompletableFuture<Object> next =
+                coalescer.executeAsync(
+                        key("1"), null, token -> CompletableFuture.completedFuture("fresh"));
+        assertEquals("fresh", next.join());
+    }
+
+    @Test
+    void syncFollowerWaitsForLeaderResult() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        RequestCoalescer.Key key = key("1");
+        CompletableFuture<Object> leader =
+                CompletableFuture.supplyAsync(
+                        () ->
+                                coalescer.execute(
+                                        key,
+                                        null,
+                                        token -> {
+                                            calls.incrementAndGet();
+                                            leaderStarted.countDown();
+                                            await(release);
+                                            return "value";
+                                        }));
+        assertTrue(leaderStarted.await(1, TimeUnit.SECONDS));
+
+        CompletableFuture<Object> follower =
+                CompletableFuture.supplyAsync(
+                        () -> coalescer.execute(key, null, token -> calls.incrementAndGet()));
+        while (coalescer.getCoalescedCount() == 0) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        assertEquals("value", leader.get(1, TimeUnit.SECONDS));
+        assertEquals("value", follower.get(1, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void syncFailureIsRethrownUnwrapped() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        assertThrows(
+                IllegalStateException.class,
+                () ->
+                        coalescer.execute(
+                                key("1"),
+                                null,
+                                token -> {
+                                    throw new IllegalStateException("boom");
+                                }));
+        assertEquals(0, coalescer.getInflightCount());
+    }
+
+    @Test
+    void leaderCancelDoesNotAffectFollowers() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        CompletableFuture<Object> upstream = new CompletableFuture<>();
+        AtomicReference<CancellationToken> shared = new AtomicReference<>();
+        CancellationToken leaderToken = new CancellationToken();
+
+        CompletableFuture<Object> leader =
+                coalescer.executeAsync(
+                        key("1"),
+                        leaderToken,
+                        token -> {
+                            shared.set(token);
+                            return upstream;
+                        });
+        CompletableFuture<Object> follower =
+                coalescer.executeAsync(key("1"), new CancellationToken(), token -> upstream);
+
+        leaderToken.cancel();
+        assertTrue(leader.isCancelled());
+        assertFalse(shared.get().isCancelled());
+        assertFalse(upstream.isCancelled());
+
+        upstream.complete("value");
+        assertEquals("value", follower.join());
+    }
+
+    @Test
+    void sharedCallIsCancelledOnceAllCallersCancel() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        CompletableFuture<Object> upstream = new CompletableFuture<>();
+        AtomicReference<CancellationToken> shared = new AtomicReference<>();
+
+        CompletableFuture<Object> first =
+                coalescer.executeAsync(
+                        key("1"),
+                        null,
+                        token -> {
+                            shared.set(token);
+                            return upstream;
+                        });
+        CompletableFuture<Object> second =
+                coalescer.executeAsync(key("1"), null, token -> upstream);
+
+        first.cancel(true);
+        assertFalse(upstream.isCancelled());
+        second.cancel(true);
+        assertTrue(shared.get().isCancelled());
+        assertTrue(upstream.isCancelled());
+
+        // 中止后的新调用重新发起，而不是加入已取消的调用
+        CompletableFuture<Object> retry =
+                coalescer.executeAsync(
+                        key("1"), null, token -> CompletableFuture.completedFuture("fresh"));
+        assertEquals("fresh", retry.join());
+    }
+
+    @Test
+    void keyDependsOnArgumentContent() throws Exception {
+        assertEquals(key("1"), key(new String("1")));
+        assertNotEquals(key("1"), key("2"));
+    }
+
+    @Test
+    void beanArgumentsWithEqualFieldsShareKey() throws Exception {
+        Method method = Api.class.getMethod("search", Query.class);
+        assertEquals(
+                RequestCoalescer.Key.of(method, new Object[] {new Query("a", 1)}),
+                RequestCoalescer.Key.of(method, new Object[] {new Query("a", 1)}));
+        assertNotEquals(
+                RequestCoalescer.Key.of(method, new Object[] {new Query("a", 1)}),
+                RequestCoalescer.Key.of(method, new Object[] {new Query("a", 2)}));
+    }
+
+    @Test
+    void callbackArgumentIsIgnoredByKey() throws Exception {
+        Method method = Api.class.getMethod("getAsync", String.class, ResponseCallback.class);
+        RequestCoalescer.Key first =
+                RequestCoalescer.Key.of(method, new Object[] {"1", callback()});
+        RequestCoalescer.Key second =
+                RequestCoalescer.Key.of(method, new Object[] {"1", callback()});
+        assertEquals(first, second);
+    }
+
+    @Test
+    void cancellationTokenArgumentIsIgnoredByKey() throws Exception {
+        Method method =
+                Api.class.getMethod("getCancellable", String.class, CancellationToken.class);
+        assertEquals(
+                RequestCoalescer.Key.of(method, new Object[] {"1", new CancellationToken()}),
+                RequestCoalescer.Key.of(method, new Object[] {"1", new CancellationToken()}));
+    }
+
+    private static CompletableFuture<Object> count(
+            AtomicInteger calls, CompletableFuture<Object> upstream) {
+        calls.incrementAndGet();
+        return upstream;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ResponseCallback<String> callback() {
+        return new ResponseCallback<String>() {
+            @Override
+            public void onSuccess(String result) {}
+
+            @Override
+            public void onFailure(Throwable throwable) {}
+        };
+    }
+
+    private static RequestCoalescer.Key key(String id) throws Exception {
+        Method method = Api.class.getMethod("get", String.class);
+        return RequestCoalescer.Key.of(method, new Object[] {id});
+    }
+}
@@ -0,0 +1,69 @@
+package com.lidachui.simpleRequest.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * SemaphoreBulkheadTest 并发上限、等待超时与许可归还
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 14:00
+ * @version: 1.0
+ */
+class SemaphoreBulkheadTest {
+
+    @Test
+    void asyncCallsBeyondLimitFailFast() {
+        SemaphoreBulkhead bulkhead = new SemaphoreBulkhead("test", 1, 0);
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        CompletableFuture<String> first = bulkhead.executeAsync(() -> "sync", () -> upstream);
+        CompletableFuture<String> second =
+                bulkhead.executeAsync(() -> "sync", () -> CompletableFuture.completedFuture("x"));
+
+        assertEquals(1, bulkhead.getActiveCalls());
+        CompletionException e = assertThrows(CompletionException.class, second::join);
+        assertTrue(e.getCause() instanceof BulkheadFullException);
+        assertEquals(1, bulkhead.getRejectedCount());
+
+        upstream.complete("value");
+        assertEquals("value", first.join());
+        assertEquals(0, bulkhead.getActiveCalls());
+        assertEquals(
+                "x",
+                bulkhead.executeAsync(() -> "sync", () -> CompletableFuture.completedFuture("x"))
+                        .join());
+    }
+
+    @Test
+    void syncCallWaitsUpToMaxWait() {
+        SemaphoreBulkhead bulkhead = new SemaphoreBulkhead("test", 1, 50);
+        bulkhead.executeAsync(() -> "sync", CompletableFuture::new);
+
+        long start = System.nanoTime();
+        assertThrows(BulkheadFullException.class, () -> bulkhead.execute(() -> "blocked"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 45);
+        assertEquals(1, bulkhead.getRejectedCount());
+    }
+
+    @Test
+    void permitIsReleasedWhenCallFails() {
+        SemaphoreBulkhead bulkhead = new SemaphoreBulkhead("test", 1, 0);
+        assertThrows(
+                IllegalStateException.class,
+                () ->
+                        bulkhead.execute(
+                                () -> {
+                                    throw new IllegalStateException("boom");
+                                }));
+        assertEquals(0, bulkhead.getActiveCalls());
+        assertEquals("ok", bulkhead.execute(() -> "ok"));
+    }
+}
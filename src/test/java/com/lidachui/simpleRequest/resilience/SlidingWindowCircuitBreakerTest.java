@@ -0,0 +1,132 @@
+package com.lidachui.simpleRequest.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.lidachui.simpleRequest.annotation.CircuitBreaker;
+import com.lidachui.simpleRequest.constants.CircuitState;
+import java.util.concurrent.CancellationException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * SlidingWindowCircuitBreakerTest 打开条件与半开状态下的探测名额
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 13:10
+ * @version: 1.0
+ */
+class SlidingWindowCircuitBreakerTest {
+
+    interface Api {
+        @CircuitBreaker(
+                slidingWindowSize = 4,
+                minimumNumberOfCalls = 4,
+                waitDurationInOpenState = 0,
+                permittedCallsInHalfOpenState = 2)
+        void call();
+
+        @CircuitBreaker(
+                slidingWindowSize = 4,
+                minimumNumberOfCalls = 4,
+                waitDurationInOpenState = 60_000,
+                permittedCallsInHalfOpenState = 2)
+        void slowRecovery();
+    }
+
+    @Test
+    void opensOnlyAfterMinimumNumberOfCalls() throws Exception {
+        SlidingWindowCircuitBreaker breaker = breaker("slowRecovery");
+        for (int i = 0; i < 3; i++) {
+            breaker.acquirePermission();
+            breaker.onError(0, new IllegalStateException("boom"));
+        }
+        assertEquals(CircuitState.CLOSED, breaker.getState());
+
+        breaker.acquirePermission();
+        breaker.onError(0, new IllegalStateException("boom"));
+        assertEquals(CircuitState.OPEN, breaker.getState());
+        assertThrows(CallNotPermittedException.class, breaker::acquirePermission);
+        assertEquals(1, breaker.getNotPermittedCount());
+    }
+
+    @Test
+    void halfOpenAllowsOnlyPermittedProbes() throws Exception {
+        SlidingWindowCircuitBreaker breaker = openBreaker();
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(CircuitState.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void localRejectionReturnsProbeWithoutRecording() throws Exception {
+        SlidingWindowCircuitBreaker breaker = openBreaker();
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+
+        breaker.onError(0, new RequestRejectedException("test"));
+        breaker.onError(0, new CancellationException());
+
+        assertEquals(CircuitState.HALF_OPEN, breaker.getState());
+        assertEquals(0, breaker.getMetrics().getCalls());
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void releasedPermissionCanBeReacquired() throws Exception {
+        SlidingWindowCircuitBreaker breaker = openBreaker();
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+
+        breaker.releasePermission();
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void successfulProbesClose() throws Exception {
+        SlidingWindowCircuitBreaker breaker = openBreaker();
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onSuccess(0);
+        assertEquals(CircuitState.HALF_OPEN, breaker.getState());
+        breaker.onSuccess(0);
+        assertEquals(CircuitState.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getMetrics().getCalls());
+    }
+
+    @Test
+    void failedProbeReopensOnceThresholdCannotBeMet() throws Exception {
+        SlidingWindowCircuitBreaker breaker = openBreaker();
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+
+        // 默认阈值 50%，两次探测中已有一次失败，剩下的探测成功也无法低于阈值
+        breaker.onError(0, new IllegalStateException("boom"));
+        assertEquals(CircuitState.OPEN, breaker.getState());
+    }
+
+    private static SlidingWindowCircuitBreaker openBreaker() throws Exception {
+        SlidingWindowCircuitBreaker breaker = breaker("call");
+        for (int i = 0; i < 4; i++) {
+            breaker.acquirePermission();
+            breaker.onError(0, new IllegalStateException("boom"));
+        }
+        assertEquals(CircuitState.OPEN, breaker.getState());
+        return breaker;
+    }
+
+    private static SlidingWindowCircuitBreaker breaker(String methodName) throws Exception {
+        CircuitBreaker config =
+                Api.class.getMethod(methodName).getAnnotation(CircuitBreaker.class);
+        return new CircuitBreakerRegistry().circuitBreaker(methodName, config);
+    }
+}
@@ -0,0 +1,72 @@
+package com.lidachui.simpleRequest.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * ThreadPoolBulkheadTest 调用在独立线程池执行，线程和队列都满时拒绝
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 14:00
+ * @version: 1.0
+ */
+class ThreadPoolBulkheadTest {
+
+    @Test
+    void callRunsOnBulkheadThread() {
+        ThreadPoolBulkhead bulkhead = new ThreadPoolBulkhead("pool", 2, 0);
+        String thread = bulkhead.execute(() -> Thread.currentThread().getName());
+        assertTrue(thread.startsWith("simple-request-bulkhead-pool-"), thread);
+    }
+
+    @Test
+    void rejectsOnceThreadsAndQueueAreFull() throws Exception {
+        ThreadPoolBulkhead bulkhead = new ThreadPoolBulkhead("pool", 1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> running =
+                bulkhead.executeAsync(() -> await(started, release, "first"), null);
+        started.await();
+        CompletableFuture<String> queued = bulkhead.executeAsync(() -> "second", null);
+        CompletableFuture<String> rejected = bulkhead.executeAsync(() -> "third", null);
+
+        assertEquals(1, bulkhead.getQueueSize());
+        CompletionException e = assertThrows(CompletionException.class, rejected::join);
+        assertTrue(e.getCause() instanceof BulkheadFullException);
+        assertEquals(1, bulkhead.getRejectedCount());
+
+        release.countDown();
+        assertEquals("first", running.join());
+        assertEquals("second", queued.join());
+    }
+
+    @Test
+    void syncCallRethrowsOriginalException() {
+        ThreadPoolBulkhead bulkhead = new ThreadPoolBulkhead("pool", 1, 0);
+        assertThrows(
+                IllegalStateException.class,
+                () ->
+                        bulkhead.execute(
+                                () -> {
+                                    throw new IllegalStateException("boom");
+                                }));
+    }
+
+    private static String await(CountDownLatch started, CountDownLatch release, String value) {
+        started.countDown();
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,75 @@
+package com.lidachui.simpleRequest.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * TimeBasedSlidingWindowTest 并发记录不丢计数，失败率不超过 100%
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 13:10
+ * @version: 1.0
+ */
+class TimeBasedSlidingWindowTest {
+
+    @Test
+    void countsOutcomes() {
+        TimeBasedSlidingWindow window = new TimeBasedSlidingWindow(10);
+        window.record(100, false, false);
+        window.record(300, true, false);
+        window.record(200, false, true);
+        window.record(400, true, true);
+
+        SlidingWindow.Snapshot snapshot = window.snapshot();
+        assertEquals(4, snapshot.getCalls());
+        assertEquals(50f, snapshot.getFailureRate(), 0.001f);
+        assertEquals(50f, snapshot.getSlowCallRate(), 0.001f);
+        assertEquals(250, snapshot.getAverageDurationNanos());
+    }
+
+    @Test
+    void concurrentRecordsAreNotLost() throws Exception {
+        TimeBasedSlidingWindow window = new TimeBasedSlidingWindow(60);
+        int threads = 8;
+        int perThread = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean overflow = new AtomicBoolean();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker =
+                    new Thread(
+                            () -> {
+                                try {
+                                    start.await();
+                                } catch (InterruptedException e) {
+                                    return;
+                                }
+                                for (int i = 0; i < perThread; i++) {
+                                    window.record(1, i % 2 == 0, false);
+                                    if (window.snapshot().getFailureRate() > 100f) {
+                                        overflow.set(true);
+                                    }
+                                }
+                            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertFalse(overflow.get());
+        SlidingWindow.Snapshot snapshot = window.snapshot();
+        assertEquals(threads * perThread, snapshot.getCalls());
+        assertEquals(50f, snapshot.getFailureRate(), 0.001f);
+        assertEquals(1, snapshot.getAverageDurationNanos());
+    }
+}
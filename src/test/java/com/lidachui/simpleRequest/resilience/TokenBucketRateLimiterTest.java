@@ -0,0 +1,73 @@
+package com.lidachui.simpleRequest.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * TokenBucketRateLimiterTest 突发额度、等待上限与取消后归还许可
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 14:30
+ * @version: 1.0
+ */
+class TokenBucketRateLimiterTest {
+
+    @Test
+    void burstIsGrantedImmediatelyThenRejected() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("test", 10, 5, 0);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.acquireAsync().isDone());
+        }
+        assertThrows(RateLimitExceededException.class, limiter::acquire);
+        assertEquals(1, limiter.getRejectedCount());
+        assertEquals(0, limiter.getAvailablePermits());
+    }
+
+    @Test
+    void asyncPermitCompletesAfterInterval() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("test", 20, 1, 1000);
+        limiter.acquire();
+
+        long start = System.nanoTime();
+        CompletableFuture<Void> permit = limiter.acquireAsync();
+        assertFalse(permit.isDone());
+        permit.join();
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 40);
+    }
+
+    @Test
+    void syncAcquireWaitsForPermit() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("test", 20, 1, 1000);
+        limiter.acquire();
+
+        long start = System.nanoTime();
+        limiter.acquire();
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 40);
+    }
+
+    @Test
+    void cancelledWaitReturnsReservation() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("test", 10, 1, 150);
+        limiter.acquire();
+        CompletableFuture<Void> waiting = limiter.acquireAsync();
+        assertFalse(waiting.isDone());
+
+        // 下一个许可要等约 200ms，超过等待上限
+        CompletionException e =
+                assertThrows(CompletionException.class, () -> limiter.acquireAsync().join());
+        assertTrue(e.getCause() instanceof RateLimitExceededException);
+
+        waiting.cancel(true);
+        CompletableFuture<Void> next = limiter.acquireAsync();
+        assertFalse(next.isCompletedExceptionally());
+        next.join();
+    }
+}
@@ -0,0 +1,73 @@
+package com.lidachui.simpleRequest.resilience.limit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * AdaptiveLimitTest AIMD、Vegas、Gradient 三种算法的增减方向与上下界
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 15:00
+ * @version: 1.0
+ */
+class AdaptiveLimitTest {
+
+    private static final long RTT = 1_000_000;
+
+    @Test
+    void aimdGrowsAdditivelyAndBacksOffMultiplicatively() {
+        AimdLimit limit = new AimdLimit(10, 5, 12);
+        limit.onSample(RTT, 10, false);
+        assertEquals(11, limit.getLimit());
+        // 实际并发不到限制的一半，不再增长
+        limit.onSample(RTT, 2, false);
+        assertEquals(11, limit.getLimit());
+
+        limit.onSample(RTT, 11, false);
+        limit.onSample(RTT, 12, false);
+        assertEquals(12, limit.getLimit());
+
+        limit.onSample(RTT, 12, true);
+        assertEquals(10, limit.getLimit());
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(RTT, 10, true);
+        }
+        assertEquals(5, limit.getLimit());
+    }
+
+    @Test
+    void vegasShrinksWhenQueueBuildsAndGrowsWithoutQueue() {
+        VegasLimit limit = new VegasLimit(20, 1, 100);
+        limit.onSample(RTT, 20, false);
+        assertEquals(RTT, limit.getBaselineRttNanos());
+
+        // RTT 是基准的 10 倍，估算排队 18 个，超过 beta
+        limit.onSample(10 * RTT, 20, false);
+        assertEquals(19, limit.getLimit());
+
+        // RTT 回到基准，没有排队，按 beta 增长
+        limit.onSample(RTT, 19, false);
+        assertEquals(25, limit.getLimit());
+
+        limit.onSample(2 * RTT, 25, true);
+        assertEquals(24, limit.getLimit());
+    }
+
+    @Test
+    void gradientFollowsRttRatio() {
+        GradientLimit limit = new GradientLimit(50, 1, 200);
+        limit.onSample(RTT, 50, false);
+        int grown = limit.getLimit();
+        assertTrue(grown > 50, "limit should grow while RTT stays at baseline: " + grown);
+
+        limit.onSample(RTT, 50, true);
+        assertTrue(limit.getLimit() < grown, "limit should shrink on overload");
+
+        int current = limit.getLimit();
+        // 在途请求远低于限制时无法判断上限
+        limit.onSample(RTT, 1, false);
+        assertEquals(current, limit.getLimit());
+    }
+}
@@ -0,0 +1,126 @@
+package com.lidachui.simpleRequest.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.lidachui.simpleRequest.async.CancellationToken;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * CanonicalArgumentEncoderTest 规范编码的稳定性：Set、Map 与迭代顺序无关，有序集合和类型边界仍能区分
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 23:10
+ * @version: 1.0
+ */
+class CanonicalArgumentEncoderTest {
+
+    interface Api {
+        void find(Object arg);
+
+        void find(Object arg, CancellationToken token);
+    }
+
+    static class Query {
+        String name;
+        Map<String, Object> filters;
+        Set<String> tags;
+    }
+
+    @Test
+    void setIgnoresIterationOrder() throws Exception {
+        Set<String> forward = new LinkedHashSet<>(Arrays.asList("a", "b", "c", "d"));
+        Set<String> backward = new LinkedHashSet<>(Arrays.asList("d", "c", "b", "a"));
+        assertEquals(key(forward), key(backward));
+        assertEquals(key(forward), key(new HashSet<>(backward)));
+        assertNotEquals(key(forward), key(new LinkedHashSet<>(Arrays.asList("a", "b", "c"))));
+    }
+
+    @Test
+    void mapIgnoresIterationOrder() throws Exception {
+        Map<String, Object> forward = new LinkedHashMap<>();
+        forward.put("page", 1);
+        forward.put("size", 20);
+        forward.put("sort", "name");
+        Map<String, Object> backward = new LinkedHashMap<>();
+        backward.put("sort", "name");
+        backward.put("size", 20);
+        backward.put("page", 1);
+        assertEquals(key(forward), key(backward));
+        assertEquals(key(forward), key(new TreeMap<>(backward)));
+        assertEquals(key(forward), key(new HashMap<>(backward)));
+
+        // 键值交换或值不同都不能得到相同的键
+        Map<String, Object> swapped = new LinkedHashMap<>(forward);
+        swapped.put("page", 20);
+        swapped.put("size", 1);
+        assertNotEquals(key(forward), key(swapped));
+    }
+
+    @Test
+    void nestedCollectionsInBeanIgnoreIterationOrder() throws Exception {
+        Query first = new Query();
+        first.name = "orders";
+        first.filters = new LinkedHashMap<>();
+        first.filters.put("status", "PAID");
+        first.filters.put("tags", new LinkedHashSet<>(Arrays.asList("x", "y")));
+        first.tags = new LinkedHashSet<>(Arrays.asList("1", "2", "3"));
+
+        Query second = new Query();
+        second.name = "orders";
+        second.filters = new LinkedHashMap<>();
+        second.filters.put("tags", new LinkedHashSet<>(Arrays.asList("y", "x")));
+        second.filters.put("status", "PAID");
+        second.tags = new LinkedHashSet<>(Arrays.asList("3", "1", "2"));
+
+        assertEquals(key(first), key(second));
+        second.tags.add("4");
+        assertNotEquals(key(first), key(second));
+    }
+
+    @Test
+    void orderedCollectionsKeepOrder() throws Exception {
+        assertNotEquals(key(Arrays.asList("a", "b")), key(Arrays.asList("b", "a")));
+        assertNotEquals(key(new String[] {"a", "b"}), key(new String[] {"b", "a"}));
+    }
+
+    @Test
+    void lengthAndTypeBoundariesAreEncoded() throws Exception {
+        assertNotEquals(key(Arrays.asList("ab", "c")), key(Arrays.asList("a", "bc")));
+        assertNotEquals(key(1), key(1L));
+        assertNotEquals(key("1"), key(1));
+        assertNotEquals(key(null), key(""));
+    }
+
+    @Test
+    void cancellationTokenIsIgnored() throws Exception {
+        Method method = Api.class.getMethod("find", Object.class, CancellationToken.class);
+        assertEquals(
+                CanonicalArgumentEncoder.hash(method, new Object[] {"a", new CancellationToken()}),
+                CanonicalArgumentEncoder.hash(method, new Object[] {"a", new CancellationToken()}));
+    }
+
+    @Test
+    void overloadsDoNotShareKeys() throws Exception {
+        Method single = Api.class.getMethod("find", Object.class);
+        Method withToken = Api.class.getMethod("find", Object.class, CancellationToken.class);
+        assertNotEquals(
+                CanonicalArgumentEncoder.hash(single, new Object[] {"a"}),
+                CanonicalArgumentEncoder.hash(withToken, new Object[] {"a", null}));
+    }
+
+    private static CacheKey key(Object arg) throws Exception {
+        return HashBasedCacheKeyGenerator.generateCanonicalKey(
+                Api.class.getMethod("find", Object.class), new Object[] {arg});
+    }
+}
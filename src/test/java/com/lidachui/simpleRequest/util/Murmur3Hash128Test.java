@@ -0,0 +1,74 @@
+package com.lidachui.simpleRequest.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Murmur3Hash128Test 与 MurmurHash3_x64_128 参考实现的结果对照
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 23:10
+ * @version: 1.0
+ */
+class Murmur3Hash128Test {
+
+    @Test
+    void matchesReferenceVectors() {
+        assertHash(0, 0x0000000000000000L, 0x0000000000000000L, "");
+        assertHash(0, 0x629942693e10f867L, 0x92db0b82baeb5347L, "hell");
+        assertHash(1, 0xa78ddff5adae8d10L, 0x128900ef20900135L, "hello");
+        assertHash(2, 0x8a486b23f422e826L, 0xf962a2c58947765fL, "hello ");
+        assertHash(3, 0x2ea59f466f6bed8cL, 0xc610990acc428a17L, "hello w");
+        assertHash(4, 0x79f6305a386c572cL, 0x46305aed3483b94eL, "hello wo");
+        assertHash(5, 0xc2219d213ec1f1b5L, 0xa1d8e2e0a52785bdL, "hello wor");
+        assertHash(
+                0,
+                0xe34bbc7bbc071b6cL,
+                0x7a433ca9c49a9347L,
+                "The quick brown fox jumps over the lazy dog");
+        assertHash(
+                0,
+                0x658ca970ff85269aL,
+                0x43fee3eaa68e5c3eL,
+                "The quick brown fox jumps over the lazy cog");
+    }
+
+    @Test
+    void fixedWidthWritesMatchLittleEndianBytes() {
+        // 从块内各个偏移开始写入，覆盖 putLong 的对齐快路径和逐字节路径
+        for (int offset = 0; offset < 16; offset++) {
+            Murmur3Hash128 typed = new Murmur3Hash128();
+            Murmur3Hash128 bytes = new Murmur3Hash128();
+            for (int i = 0; i < offset; i++) {
+                typed.putByte(i);
+                bytes.putByte(i);
+            }
+            typed.putLong(0x0102030405060708L).putInt(0x0a0b0c0d).putShort(0x1e1f);
+            bytes.putBytes(
+                    new byte[] {8, 7, 6, 5, 4, 3, 2, 1, 0x0d, 0x0c, 0x0b, 0x0a, 0x1f, 0x1e},
+                    0,
+                    14);
+            assertEquals(bytes.hash(), typed.hash(), "offset " + offset);
+        }
+    }
+
+    @Test
+    void hashDoesNotChangeState() {
+        Murmur3Hash128 hasher = new Murmur3Hash128().putChars("prefix");
+        CacheKey first = hasher.hash();
+        assertEquals(first, hasher.hash());
+        hasher.putChars("-suffix");
+        assertEquals(new Murmur3Hash128().putChars("prefix-suffix").hash(), hasher.hash());
+        assertEquals(new Murmur3Hash128().hash(), hasher.reset().hash());
+    }
+
+    private static void assertHash(long seed, long h1, long h2, String input) {
+        byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+        CacheKey key = new Murmur3Hash128(seed).putBytes(bytes, 0, bytes.length).hash();
+        assertEquals(h1, key.getHigh(), input);
+        assertEquals(h2, key.getLow(), input);
+    }
+}
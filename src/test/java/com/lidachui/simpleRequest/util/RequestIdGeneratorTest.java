@@ -0,0 +1,76 @@
+package com.lidachui.simpleRequest.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * RequestIdGeneratorTest 无锁生成的 ID 格式、单调性与并发唯一性
+ *
+ * @author: lihuijie
+ * @date: 2026/10/19 17:20
+ * @version: 1.0
+ */
+class RequestIdGeneratorTest {
+
+    @Test
+    void idHasPrefixAndTwoBase36Parts() {
+        String id = RequestIdGenerator.generate();
+        assertTrue(id.matches("REQ-[0-9A-Z]+-[0-9A-Z]+"), id);
+    }
+
+    @Test
+    void idsFromOneThreadIncrease() {
+        long previous = -1;
+        for (int i = 0; i < 10_000; i++) {
+            long current = snowflakePart(RequestIdGenerator.generate());
+            assertTrue(current > previous, previous + " -> " + current);
+            previous = current;
+        }
+    }
+
+    @Test
+    void concurrentIdsAreUnique() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        AtomicBoolean duplicate = new AtomicBoolean();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(
+                            () -> {
+                                try {
+                                    start.await();
+                                    for (int i = 0; i < perThread; i++) {
+                                        String id = RequestIdGenerator.generate();
+                                        if (!ids.add(snowflakePart(id))) {
+                                            duplicate.set(true);
+                                        }
+                                    }
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                } finally {
+                                    done.countDown();
+                                }
+                            })
+                    .start();
+        }
+        start.countDown();
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        assertFalse(duplicate.get());
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    private static long snowflakePart(String id) {
+        return Long.parseLong(id.split("-")[1], 36);
+    }
+}